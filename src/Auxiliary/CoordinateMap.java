@@ -0,0 +1,246 @@
+package Auxiliary;
+
+import java.util.ArrayList;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Model;
+
+/**
+ * A class of maps linking pairs of long coordinates to values, without creating a key object for each lookup.
+ * The map uses open addressing with linear probing; its capacity is always a power of two.
+ *
+ * @invar	No value in this map is null.
+ * 			|for each index in 0..getCapacity()-1 :
+ * 			|	!isUsed(index) || values[index] != null
+ *
+ * @author 	Brecht Gossel & William Mauclet
+ * 			2BiR: wtk-cws (Gossel) en cws-elt(Mauclet)
+ * @version	3.0
+ */
+public class CoordinateMap<V> {
+
+	private long[] xs;
+	private long[] ys;
+	private Object[] values;
+	private int size = 0;
+
+	/**
+	 * Initialize this new coordinate map as an empty map.
+	 *
+	 * @post	...
+	 * 			|new.size() == 0
+	 */
+	public CoordinateMap() {
+		this(16);
+	}
+
+	/**
+	 * Initialize this new coordinate map as an empty map able to hold the given number of entries without growing.
+	 *
+	 * @param	expectedSize
+	 * 			...
+	 * @post	...
+	 * 			|new.size() == 0
+	 */
+	public CoordinateMap(int expectedSize) {
+		int capacity = 16;
+		while(capacity - (capacity >> 2) <= expectedSize)
+			capacity <<= 1;
+		allocate(capacity);
+	}
+
+	/**
+	 * ...
+	 */
+	@Basic
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * ...
+	 *
+	 * @return	...
+	 * 			|result == (size() == 0)
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Return the value linked to the given coordinates, or null if there is none.
+	 *
+	 * @param 	x
+	 * 			...
+	 * @param 	y
+	 * 			...
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long x, long y) {
+		int index = findSlot(x, y);
+		return (V) values[index];
+	}
+
+	/**
+	 * ...
+	 *
+	 * @return	...
+	 * 			|result == (get(x,y) != null)
+	 */
+	public boolean containsKey(long x, long y) {
+		return get(x, y) != null;
+	}
+
+	/**
+	 * Link the given value to the given coordinates.
+	 *
+	 * @param 	x
+	 * 			...
+	 * @param 	y
+	 * 			...
+	 * @param 	value
+	 * 			...
+	 * @post	...
+	 * 			|new.get(x,y) == value
+	 * @return	The value that was linked to the given coordinates before, or null if there was none.
+	 * 			|result == get(x,y)
+	 * @throws	NullPointerException
+	 * 			...
+	 * 			|value == null
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(long x, long y, V value) throws NullPointerException {
+		if(value == null)
+			throw new NullPointerException("Null values are not supported!");
+		int index = findSlot(x, y);
+		V previous = (V) values[index];
+		if(previous == null) {
+			if(size + 1 > values.length - (values.length >> 2)) {
+				resize(values.length << 1);
+				index = findSlot(x, y);
+			}
+			xs[index] = x;
+			ys[index] = y;
+			size++;
+		}
+		values[index] = value;
+		return previous;
+	}
+
+	/**
+	 * Remove the value linked to the given coordinates.
+	 *
+	 * @param 	x
+	 * 			...
+	 * @param 	y
+	 * 			...
+	 * @post	...
+	 * 			|new.get(x,y) == null
+	 * @return	The value that was linked to the given coordinates, or null if there was none.
+	 * 			|result == get(x,y)
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(long x, long y) {
+		int index = findSlot(x, y);
+		V previous = (V) values[index];
+		if(previous == null)
+			return null;
+		values[index] = null;
+		size--;
+		// Shift the following entries of the cluster back, so that no lookup stops too early.
+		int mask = values.length - 1;
+		int free = index;
+		int next = (index + 1) & mask;
+		while(values[next] != null) {
+			int home = indexFor(xs[next], ys[next], mask);
+			if(((next - home) & mask) >= ((next - free) & mask)) {
+				xs[free] = xs[next];
+				ys[free] = ys[next];
+				values[free] = values[next];
+				values[next] = null;
+				free = next;
+			}
+			next = (next + 1) & mask;
+		}
+		return previous;
+	}
+
+	/**
+	 * Remove all entries from this map.
+	 *
+	 * @post	...
+	 * 			|new.size() == 0
+	 */
+	public void clear() {
+		allocate(16);
+		size = 0;
+	}
+
+	/**
+	 * Return a list of all values in this map.
+	 *
+	 * @return	...
+	 * 			|for each value in result :
+	 * 			|	for some x, y : get(x,y) == value
+	 */
+	@SuppressWarnings("unchecked")
+	public ArrayList<V> values() {
+		ArrayList<V> result = new ArrayList<V>(size);
+		for(Object value : values)
+			if(value != null)
+				result.add((V) value);
+		return result;
+	}
+
+	/**
+	 * Return the index of the slot holding the given coordinates, or of the empty slot where they would be stored.
+	 */
+	@Model
+	private int findSlot(long x, long y) {
+		int mask = values.length - 1;
+		int index = indexFor(x, y, mask);
+		while(values[index] != null && (xs[index] != x || ys[index] != y))
+			index = (index + 1) & mask;
+		return index;
+	}
+
+	/**
+	 * Return the home slot of the given coordinates in a table with the given mask.
+	 */
+	@Model
+	private static int indexFor(long x, long y, int mask) {
+		long hash = x * 0x9E3779B97F4A7C15L + y;
+		hash = (hash ^ (hash >>> 29)) * 0xBF58476D1CE4E5B9L;
+		hash ^= hash >>> 32;
+		return (int) hash & mask;
+	}
+
+	/**
+	 * Move all entries to a new table with the given capacity.
+	 */
+	@Model
+	private void resize(int capacity) {
+		long[] oldXs = xs;
+		long[] oldYs = ys;
+		Object[] oldValues = values;
+		allocate(capacity);
+		int mask = capacity - 1;
+		for(int i = 0; i < oldValues.length; i++) {
+			if(oldValues[i] != null) {
+				int index = indexFor(oldXs[i], oldYs[i], mask);
+				while(values[index] != null)
+					index = (index + 1) & mask;
+				xs[index] = oldXs[i];
+				ys[index] = oldYs[i];
+				values[index] = oldValues[i];
+			}
+		}
+	}
+
+	@Model
+	private void allocate(int capacity) {
+		xs = new long[capacity];
+		ys = new long[capacity];
+		values = new Object[capacity];
+	}
+}
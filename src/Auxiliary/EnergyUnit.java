@@ -26,49 +26,44 @@ public enum EnergyUnit {
 	private final String symbol;
 
 	/**
-	 * Variable referencing a two-dimensional array registering
-	 * conversion rates between energy units. The first level is
-	 * indexed by the ordinal number of the energy unit to convert
-	 * from; the ordinal number to convert to is used to index
-	 * the second level.
+	 * Variable referencing an array registering the conversion rates between all energy units, row by row: the rate to convert
+	 * from one unit to another is at index (ordinal number to convert from) * number of units + (ordinal number to convert to).
+	 * The table is completely filled when this class is initialized and never changes afterwards, so any number of threads
+	 * can convert at the same time.
 	 */
-	private static double[][] conversionRates = new double[5][5];
+	private static final int nbUnits = values().length;
+	private static final double[] conversionRates = new double[nbUnits * nbUnits];
 
 	public double toEnergyUnit(EnergyUnit other)
 			throws IllegalArgumentException {
 		if (other == null)
 			throw new IllegalArgumentException("Non effective EnergyUnit!");
-		if (conversionRates[this.ordinal()][other.ordinal()] == 0)
-			conversionRates[this.ordinal()][other.ordinal()] = roundToClosestDouble(1 / conversionRates[other.ordinal()][this.ordinal()]);
-		return conversionRates[this.ordinal()][other.ordinal()];
+		return conversionRates[this.ordinal() * nbUnits + other.ordinal()];
 	}
 
 	static {
-		// Initialization of the upper part of the conversion table.
-		// Other rates are computed and registered the first time
-		// they are queried.
-		conversionRates[JOULE.ordinal()][JOULE.ordinal()] = 1;
-		conversionRates[JOULE.ordinal()][WATTSECOND.ordinal()] = 1;
-		conversionRates[JOULE.ordinal()][KJOULE.ordinal()] = 0.001;
-		conversionRates[JOULE.ordinal()][SUGARCUBE.ordinal()] = 1.818E-5;
-		conversionRates[JOULE.ordinal()][HORSEPOWER_FORTNIGHT.ordinal()] = 5.256E-10;
-		conversionRates[WATTSECOND.ordinal()][WATTSECOND.ordinal()] = 1;
-		conversionRates[WATTSECOND.ordinal()][KJOULE.ordinal()] = 0.001;
-		conversionRates[WATTSECOND.ordinal()][SUGARCUBE.ordinal()] = 1.818E-5;
-		conversionRates[WATTSECOND.ordinal()][HORSEPOWER_FORTNIGHT.ordinal()] = 5.256E-10;
-		conversionRates[KJOULE.ordinal()][KJOULE.ordinal()] = 1;
-		conversionRates[KJOULE.ordinal()][SUGARCUBE.ordinal()] = 0.01818;
-		conversionRates[KJOULE.ordinal()][HORSEPOWER_FORTNIGHT.ordinal()] = 5.256E-7;
-		conversionRates[SUGARCUBE.ordinal()][SUGARCUBE.ordinal()] = 1;
-		conversionRates[SUGARCUBE.ordinal()][HORSEPOWER_FORTNIGHT.ordinal()] = 2.891E-5;
-		conversionRates[HORSEPOWER_FORTNIGHT.ordinal()][HORSEPOWER_FORTNIGHT.ordinal()] = 1;
-		
+		// Initialization of the upper part of the conversion table; each rate also registers
+		// its exact inverse in the lower part.
+		setConversionRate(JOULE, JOULE, 1);
+		setConversionRate(JOULE, WATTSECOND, 1);
+		setConversionRate(JOULE, KJOULE, 0.001);
+		setConversionRate(JOULE, SUGARCUBE, 1.818E-5);
+		setConversionRate(JOULE, HORSEPOWER_FORTNIGHT, 5.256E-10);
+		setConversionRate(WATTSECOND, WATTSECOND, 1);
+		setConversionRate(WATTSECOND, KJOULE, 0.001);
+		setConversionRate(WATTSECOND, SUGARCUBE, 1.818E-5);
+		setConversionRate(WATTSECOND, HORSEPOWER_FORTNIGHT, 5.256E-10);
+		setConversionRate(KJOULE, KJOULE, 1);
+		setConversionRate(KJOULE, SUGARCUBE, 0.01818);
+		setConversionRate(KJOULE, HORSEPOWER_FORTNIGHT, 5.256E-7);
+		setConversionRate(SUGARCUBE, SUGARCUBE, 1);
+		setConversionRate(SUGARCUBE, HORSEPOWER_FORTNIGHT, 2.891E-5);
+		setConversionRate(HORSEPOWER_FORTNIGHT, HORSEPOWER_FORTNIGHT, 1);
 	}
 	
-	private static double roundToClosestDouble(double value){
-		double result = value*100;
-		result = Math.round(result);
-		return result/100;
+	private static void setConversionRate(EnergyUnit from, EnergyUnit to, double rate){
+		conversionRates[from.ordinal() * nbUnits + to.ordinal()] = rate;
+		conversionRates[to.ordinal() * nbUnits + from.ordinal()] = 1 / rate;
 	}
 	
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package Auxiliary;
+
+import be.kuleuven.cs.som.annotate.Immutable;
+
+/**
+ * A class of methods working on amounts of energy kept in primitive longs, counting micro-joules (a joule being a wattsecond).
+ * Objects that keep their energy this way only create an EnergyAmount when they are asked for one, and compare and add
+ * amounts without converting units.
+ * Just like an EnergyAmount, an amount in micro-joules is never negative; the arithmetic saturates at 0 and at Long.MAX_VALUE
+ * instead of wrapping around.
+ *
+ * @author 	Brecht Gossel & William Mauclet
+ * 			2BiR: wtk-cws (Gossel) en cws-elt(Mauclet)
+ * @version	3.0
+ */
+public final class MicroJoules {
+
+	/**
+	 * The number of micro-joules in one joule.
+	 */
+	public static final long PER_JOULE = 1000000L;
+
+	private MicroJoules() {
+	}
+
+	/**
+	 * Return the number of micro-joules closest to the given amount of energy.
+	 *
+	 * @param 	amount
+	 * 			...
+	 * @return	...
+	 * 			|result == fromJoules(amount.getAmountInSI_unit())
+	 */
+	public static long valueOf(EnergyAmount amount) {
+		return fromJoules(amount.getAmountInSI_unit());
+	}
+
+	/**
+	 * Return the number of micro-joules closest to the given number of joules.
+	 *
+	 * @param 	joules
+	 * 			...
+	 * @return	...
+	 * 			|result == Math.round(Math.abs(joules) * PER_JOULE)
+	 */
+	@Immutable
+	public static long fromJoules(double joules) {
+		return Math.round(Math.abs(joules) * PER_JOULE);
+	}
+
+	/**
+	 * Return the number of joules in the given number of micro-joules.
+	 *
+	 * @param 	microJoules
+	 * 			...
+	 * @return	...
+	 * 			|result == (double) microJoules / PER_JOULE
+	 */
+	@Immutable
+	public static double toJoules(long microJoules) {
+		return (double) microJoules / PER_JOULE;
+	}
+
+	/**
+	 * Return the given number of micro-joules as an amount of energy in the given unit.
+	 *
+	 * @param 	microJoules
+	 * 			...
+	 * @param 	unit
+	 * 			...
+	 * @return	...
+	 * 			|result.hasSameValueAs(new EnergyAmount(toJoules(microJoules), EnergyUnit.JOULE))
+	 */
+	public static EnergyAmount toEnergyAmount(long microJoules, EnergyUnit unit) {
+		if(unit == EnergyUnit.WATTSECOND || unit == EnergyUnit.JOULE)
+			return new EnergyAmount(toJoules(microJoules), unit);
+		return new EnergyAmount(toJoules(microJoules), EnergyUnit.JOULE).toEnergyUnit(unit);
+	}
+
+	/**
+	 * Return the sum of both given numbers of micro-joules, or Long.MAX_VALUE if that sum is larger.
+	 *
+	 * @pre		...
+	 * 			|first >= 0 && second >= 0
+	 * @return	...
+	 * 			|result == Math.min((BigInteger) first + second, Long.MAX_VALUE)
+	 */
+	@Immutable
+	public static long add(long first, long second) {
+		long sum = first + second;
+		return (sum < 0) ? Long.MAX_VALUE : sum;
+	}
+
+	/**
+	 * Return the second given number of micro-joules subtracted from the first one, or 0 if the second one is larger.
+	 *
+	 * @pre		...
+	 * 			|first >= 0 && second >= 0
+	 * @return	...
+	 * 			|result == Math.max(first - second, 0)
+	 */
+	@Immutable
+	public static long subtract(long first, long second) {
+		return (second >= first) ? 0 : first - second;
+	}
+
+	/**
+	 * Return the given number of micro-joules multiplied by the absolute value of the given factor, rounded, and at most Long.MAX_VALUE.
+	 *
+	 * @return	...
+	 * 			|result == Math.round((double) microJoules * Math.abs(factor))
+	 */
+	@Immutable
+	public static long scale(long microJoules, double factor) {
+		return Math.round((double) microJoules * Math.abs(factor));
+	}
+
+}
@@ -40,6 +40,36 @@ public enum Orientation {
 		return intOrientation;
 	}
 	
+	/**
+	 * Return the change of the x-coordinate when taking one step in this orientation.
+	 * 
+	 * @return	...
+	 * 			|if(this == RIGHT) then result == 1
+	 * 			|if(this == LEFT)  then result == -1
+	 * 			|else 			   then result == 0
+	 */
+	public int getXStep() {
+		return xSteps[getIntOrientation()];
+	}
+	
+	/**
+	 * Return the change of the y-coordinate when taking one step in this orientation.
+	 * 
+	 * @return	...
+	 * 			|if(this == DOWN) then result == 1
+	 * 			|if(this == UP)   then result == -1
+	 * 			|else 			  then result == 0
+	 */
+	public int getYStep() {
+		return ySteps[getIntOrientation()];
+	}
+	
+	/**
+	 * Arrays registering the steps in x and y of each orientation, indexed by the integer orientation.
+	 */
+	private static final int[] xSteps = {0, 1, 0, -1};
+	private static final int[] ySteps = {-1, 0, 1, 0};
+	
 	/**
 	 * ...
 	 * @param 	intOrientation
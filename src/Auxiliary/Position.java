@@ -1,9 +1,12 @@
 package Auxiliary;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 
 import be.kuleuven.cs.som.annotate.Basic;
 import be.kuleuven.cs.som.annotate.Immutable;
+import be.kuleuven.cs.som.annotate.Model;
 
 /**
  * ...
@@ -19,7 +22,34 @@ public class Position {
 	
 	private final long x;
 	private final long y;
-	private static ArrayList<Position> allPositions = new ArrayList<Position>();
+	
+	/**
+	 * Variable referencing the hash table in which all positions are registered. Each bucket
+	 * holds a chain of entries for the positions whose coordinates hash to that bucket.
+	 * The length of the table is always a power of two.
+	 * 
+	 * @note	The entries only refer weakly to their positions: a position that is no longer referenced
+	 * 			by any board, entity, inspector,... is dropped from the table by the garbage collector.
+	 * 			As long as a position is referenced somewhere, it stays the unique position with its coordinates.
+	 */
+	private static Entry[] allPositions = new Entry[64];
+	
+	/**
+	 * Variable referencing the queue on which the garbage collector puts the entries of
+	 * positions that have been collected.
+	 */
+	private static final ReferenceQueue<Position> collectedPositions = new ReferenceQueue<Position>();
+	
+	/**
+	 * Variable registering the number of entries in the table allPositions.
+	 */
+	private static int nbPositions = 0;
+	
+	/**
+	 * Variable registering the number of entries that have been removed from the table allPositions
+	 * because their position had been collected.
+	 */
+	private static long nbEvictedPositions = 0;
 	
 	/**
 	 * ...
@@ -38,7 +68,7 @@ public class Position {
 		assert !checkIfPositionExistsYet(x,y);
 		this.x = x;
 		this.y = y;
-		allPositions.add(this);
+		register(this);
 	}
 	
 	/**
@@ -72,12 +102,9 @@ public class Position {
 	 * 		|in
 	 * 		|	result == trueOrFalse
 	 */
-	 public static boolean checkIfPositionExistsYet(long x, long y){
-		 for(Position position : allPositions) {
-			 if(position.getX() == x && position.getY() == y)
-				 return true;
-		 }
-		 return false;
+	 public static synchronized boolean checkIfPositionExistsYet(long x, long y){
+		 expungeCollectedPositions();
+		 return lookUp(x,y) != null;
 	 }
 	 
 	/**
@@ -96,15 +123,193 @@ public class Position {
 	 * 			|	if(result != null) then result == position
 	 * 			|	else 			   then result == new Position(x,y)
 	 */
-	 public static Position returnUniquePosition(long x, long y) {
-		for(Position position : allPositions) {
-			if(position.getX() == x && position.getY() == y)
-				return position;
-		}
+	 public static synchronized Position returnUniquePosition(long x, long y) {
+		expungeCollectedPositions();
+		Position position = lookUp(x,y);
+		if(position != null)
+			return position;
 		return new Position(x,y);
 			 
 	 }
 	 
+	/**
+	 * Return the unique position with the given coordinates if it has already been created, without creating
+	 * a new position otherwise.
+	 * 
+	 * @param 	x
+	 * 			...
+	 * @param 	y
+	 * 			...
+	 * @return	...
+	 * 			|if(checkIfPositionExistsYet(x,y)) then result == returnUniquePosition(x,y)
+	 * 			|else 								then result == null
+	 * @note	Since every entity on a board refers to its position, there can be no entity on a square whose
+	 * 			position does not exist (yet).
+	 */
+	 public static synchronized Position returnExistingPosition(long x, long y) {
+		 expungeCollectedPositions();
+		 return lookUp(x,y);
+	 }
+	 
+	/**
+	 * Return the position with the given coordinates registered in allPositions, or null if there is none.
+	 * 
+	 * @param 	x
+	 * 			...
+	 * @param 	y
+	 * 			...
+	 * @return	...
+	 * 			|for each position in allPositions :
+	 * 			|	if(position.getX() == x && position.getY() == y) then result == position
+	 * 			|result == null
+	 */
+	 @Model
+	 private static Position lookUp(long x, long y) {
+		 for(Entry entry = allPositions[indexFor(x,y,allPositions.length)]; entry != null; entry = entry.next) {
+			 if(entry.x == x && entry.y == y) {
+				 Position position = entry.get();
+				 if(position != null)
+					 return position;
+			 }
+		 }
+		 return null;
+	 }
+	 
+	/**
+	 * Return the number of positions currently registered.
+	 * 
+	 * @note	Positions that have been collected, but whose entries have not been expunged yet, are still counted.
+	 */
+	 public static synchronized int getNbRegisteredPositions() {
+		 expungeCollectedPositions();
+		 return nbPositions;
+	 }
+	 
+	/**
+	 * Return the number of positions that have been dropped from the registry since the start of the program,
+	 * because they were no longer referenced.
+	 */
+	 public static synchronized long getNbEvictedPositions() {
+		 expungeCollectedPositions();
+		 return nbEvictedPositions;
+	 }
+	 
+	/**
+	 * Return the number of buckets in the table allPositions.
+	 */
+	 static synchronized int getTableLength() {
+		 return allPositions.length;
+	 }
+	 
+	/**
+	 * Remove the entries of all collected positions from the table allPositions, and halve the table as long as
+	 * it is mostly empty.
+	 * 
+	 * @post	...
+	 * 			|for each entry in allPositions :
+	 * 			|	!entry.isEnqueued()
+	 * @post	...
+	 * 			|new.getTableLength() == 64 || getNbRegisteredPositions() >= new.getTableLength() / 8
+	 */
+	 static synchronized void expungeCollectedPositions() {
+		 Object collected;
+		 while((collected = collectedPositions.poll()) != null) {
+			 Entry stale = (Entry) collected;
+			 int index = indexFor(stale.x, stale.y, allPositions.length);
+			 Entry previous = null;
+			 for(Entry entry = allPositions[index]; entry != null; previous = entry, entry = entry.next) {
+				 if(entry == stale) {
+					 if(previous == null)
+						 allPositions[index] = entry.next;
+					 else
+						 previous.next = entry.next;
+					 nbPositions--;
+					 nbEvictedPositions++;
+					 break;
+				 }
+			 }
+		 }
+		 // Give memory back once most positions have been dropped.
+		 while(allPositions.length > 64 && nbPositions < (allPositions.length >> 3))
+			 resize(allPositions.length >> 1);
+	 }
+	 
+	/**
+	 * Register the given position in allPositions, doubling the table when it gets too crowded.
+	 * 
+	 * @pre		...
+	 * 			|lookUp(position.getX(),position.getY()) == null
+	 * @param 	position
+	 * 			...
+	 * @post	...
+	 * 			|lookUp(position.getX(),position.getY()) == position
+	 */
+	 @Model
+	 private static void register(Position position) {
+		 if(nbPositions >= allPositions.length - (allPositions.length >> 2))
+			 resize(allPositions.length << 1);
+		 int index = indexFor(position.getX(), position.getY(), allPositions.length);
+		 allPositions[index] = new Entry(position, allPositions[index]);
+		 nbPositions++;
+	 }
+	 
+	/**
+	 * Rehash all registered positions into a new table with the given length.
+	 * 
+	 * @param 	length
+	 * 			...
+	 * @pre		...
+	 * 			|Long.bitCount(length) == 1
+	 */
+	 @Model
+	 private static void resize(int length) {
+		 Entry[] newTable = new Entry[length];
+		 for(Entry bucket : allPositions) {
+			 Entry entry = bucket;
+			 while(entry != null) {
+				 Entry next = entry.next;
+				 int index = indexFor(entry.x, entry.y, length);
+				 entry.next = newTable[index];
+				 newTable[index] = entry;
+				 entry = next;
+			 }
+		 }
+		 allPositions = newTable;
+	 }
+	 
+	/**
+	 * Return the index of the bucket for the given coordinates in a table with the given length.
+	 * Both coordinates are mixed so that neighbouring squares are spread over the whole table.
+	 * 
+	 * @pre		...
+	 * 			|Long.bitCount(length) == 1
+	 */
+	 @Model
+	 private static int indexFor(long x, long y, int length) {
+		 long hash = x * 0x9E3779B97F4A7C15L + y;
+		 hash = (hash ^ (hash >>> 29)) * 0xBF58476D1CE4E5B9L;
+		 hash ^= hash >>> 32;
+		 return (int) hash & (length - 1);
+	 }
+	 
+	/**
+	 * A class of entries in the chains of the hash table allPositions. The coordinates are copied into the
+	 * entry, so that the entry can still be found and unlinked after its position has been collected.
+	 */
+	 private static final class Entry extends WeakReference<Position> {
+		 
+		 private final long x;
+		 private final long y;
+		 private Entry next;
+		 
+		 private Entry(Position position, Entry next) {
+			 super(position, collectedPositions);
+			 this.x = position.getX();
+			 this.y = position.getY();
+			 this.next = next;
+		 }
+	 }
+	 
 	
 	/**
 	 * Return the Manhattan-distance between two positions.
@@ -0,0 +1,73 @@
+package Auxiliary;
+
+import static org.junit.Assert.*;
+
+import java.util.IdentityHashMap;
+
+import org.junit.Test;
+
+public class PositionTest {
+
+	@Test
+	public void returnUniquePosition_identityAcrossResizes() {
+		int nbPositions = 20000;
+		long[] xs = new long[nbPositions];
+		long[] ys = new long[nbPositions];
+		Position[] held = new Position[nbPositions];
+		for(int i = 0; i < nbPositions; i++) {
+			xs[i] = (i % 4 == 0) ? Long.MAX_VALUE - i : (i % 4 == 1) ? -i : i * 7919L;
+			ys[i] = (i % 3 == 0) ? Long.MAX_VALUE : (i % 3 == 1) ? -1 - i : i;
+			held[i] = Position.returnUniquePosition(xs[i], ys[i]);
+		}
+		IdentityHashMap<Position, Boolean> distinct = new IdentityHashMap<Position, Boolean>();
+		for(int i = 0; i < nbPositions; i++) {
+			assertTrue(held[i] == Position.returnUniquePosition(xs[i], ys[i]));
+			assertTrue(held[i] == Position.returnExistingPosition(xs[i], ys[i]));
+			assertTrue(Position.checkIfPositionExistsYet(xs[i], ys[i]));
+			assertEquals(xs[i], held[i].getX());
+			assertEquals(ys[i], held[i].getY());
+			distinct.put(held[i], Boolean.TRUE);
+		}
+		assertEquals(nbPositions, distinct.size());
+	}
+
+	@Test
+	public void returnUniquePosition_extremeCoordinates() {
+		Position max = Position.returnUniquePosition(Long.MAX_VALUE, Long.MAX_VALUE);
+		Position min = Position.returnUniquePosition(Long.MIN_VALUE, Long.MIN_VALUE);
+		Position mixed = Position.returnUniquePosition(Long.MAX_VALUE, Long.MIN_VALUE);
+		assertFalse(max == min);
+		assertFalse(max == mixed);
+		assertFalse(min == mixed);
+		assertTrue(max == Position.returnUniquePosition(Long.MAX_VALUE, Long.MAX_VALUE));
+		assertTrue(min == Position.returnUniquePosition(Long.MIN_VALUE, Long.MIN_VALUE));
+		assertTrue(mixed == Position.returnUniquePosition(Long.MAX_VALUE, Long.MIN_VALUE));
+	}
+
+	@Test
+	public void expungeCollectedPositions_droppedPositionsEvicted() throws InterruptedException {
+		Position held = Position.returnUniquePosition(123456789L, -987654321L);
+		long evictedBefore = Position.getNbEvictedPositions();
+		Position[] dropped = new Position[200000];
+		for(int i = 0; i < dropped.length; i++)
+			dropped[i] = Position.returnUniquePosition(1000000000000L + i, 42);
+		int registeredPeak = Position.getNbRegisteredPositions();
+		long evictedPeak = Position.getNbEvictedPositions();
+		int lengthPeak = Position.getTableLength();
+		assertTrue(registeredPeak >= 200000);
+		assertTrue(dropped[0] == Position.returnUniquePosition(1000000000000L, 42));
+		dropped = null;
+		for(int attempt = 0; attempt < 100 && Position.getNbEvictedPositions() - evictedBefore < 190000; attempt++) {
+			System.gc();
+			Thread.sleep(20);
+		}
+		assertTrue(Position.getNbEvictedPositions() - evictedBefore >= 190000);
+		Position.expungeCollectedPositions();
+		long evictedSincePeak = Position.getNbEvictedPositions() - evictedPeak;
+		assertEquals(registeredPeak - evictedSincePeak, Position.getNbRegisteredPositions());
+		assertTrue(Position.getTableLength() < lengthPeak / 8);
+		assertTrue(held == Position.returnUniquePosition(123456789L, -987654321L));
+		assertEquals(123456789L, held.getX());
+	}
+
+}
@@ -0,0 +1,151 @@
+package Auxiliary;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Immutable;
+
+/**
+ * A class of rays, running from a square in a given orientation up to the edge of an area of given width and height.
+ * The squares on a ray are only computed when asked for: they can be visited as positions with an iterator, or
+ * as coordinates through getX(distance) and getY(distance), without creating any position.
+ *
+ * @invar	The length of a ray is never negative.
+ * 			|getLength() >= 0
+ *
+ * @author 	Brecht Gossel & William Mauclet
+ * 			2BiR: wtk-cws (Gossel) en cws-elt(Mauclet)
+ * @version	3.0
+ */
+public class Ray implements Iterable<Position> {
+
+	private final long originX;
+	private final long originY;
+	private final Orientation orientation;
+	private final long length;
+
+	/**
+	 * Initialize this new ray as the ray starting next to the square with the given coordinates, in the given orientation,
+	 * in an area with the given width and height.
+	 *
+	 * @param 	x
+	 * 			...
+	 * @param 	y
+	 * 			...
+	 * @param 	orientation
+	 * 			...
+	 * @param 	width
+	 * 			...
+	 * @param 	height
+	 * 			...
+	 * @pre		...
+	 * 			|orientation != null
+	 * @pre		...
+	 * 			|x >= 0 && x <= width && y >= 0 && y <= height
+	 * @post	...
+	 * 			|new.getOrientation() == orientation
+	 * @post	...
+	 * 			|if(orientation == Orientation.UP)		then new.getLength() == y
+	 * 			|if(orientation == Orientation.RIGHT)	then new.getLength() == width - x
+	 * 			|if(orientation == Orientation.DOWN)	then new.getLength() == height - y
+	 * 			|if(orientation == Orientation.LEFT)	then new.getLength() == x
+	 */
+	public Ray(long x, long y, Orientation orientation, long width, long height) {
+		assert orientation != null;
+		assert x >= 0 && x <= width && y >= 0 && y <= height;
+		this.originX = x;
+		this.originY = y;
+		this.orientation = orientation;
+		if(orientation.getXStep() > 0)
+			this.length = width - x;
+		else if(orientation.getXStep() < 0)
+			this.length = x;
+		else if(orientation.getYStep() > 0)
+			this.length = height - y;
+		else
+			this.length = y;
+	}
+
+	/**
+	 * ...
+	 */
+	@Basic @Immutable
+	public Orientation getOrientation() {
+		return orientation;
+	}
+
+	/**
+	 * Return the number of squares on this ray.
+	 */
+	@Basic @Immutable
+	public long getLength() {
+		return length;
+	}
+
+	/**
+	 * Return the x-coordinate of the square at the given distance on this ray.
+	 *
+	 * @param 	distance
+	 * 			...
+	 * @pre		...
+	 * 			|distance >= 1 && distance <= getLength()
+	 * @return	...
+	 * 			|result == originX + distance * getOrientation().getXStep()
+	 */
+	public long getX(long distance) {
+		assert distance >= 1 && distance <= getLength();
+		return originX + distance * getOrientation().getXStep();
+	}
+
+	/**
+	 * Return the y-coordinate of the square at the given distance on this ray.
+	 *
+	 * @param 	distance
+	 * 			...
+	 * @pre		...
+	 * 			|distance >= 1 && distance <= getLength()
+	 * @return	...
+	 * 			|result == originY + distance * getOrientation().getYStep()
+	 */
+	public long getY(long distance) {
+		assert distance >= 1 && distance <= getLength();
+		return originY + distance * getOrientation().getYStep();
+	}
+
+	/**
+	 * Return an iterator over the positions of the squares on this ray, nearest first.
+	 * Each position is only looked up when the iterator reaches it.
+	 *
+	 * @return	...
+	 * 			|for each distance in 1..getLength() :
+	 * 			|	the distance'th element of result == Position.returnUniquePosition(getX(distance), getY(distance))
+	 */
+	@Override
+	public Iterator<Position> iterator() {
+		return new Iterator<Position>() {
+
+			@Override
+			public boolean hasNext() {
+				return distance < getLength();
+			}
+
+			@Override
+			public Position next() throws NoSuchElementException {
+				if(!hasNext())
+					throw new NoSuchElementException();
+				distance++;
+				return Position.returnUniquePosition(getX(distance), getY(distance));
+			}
+
+			@Override
+			public void remove() throws UnsupportedOperationException {
+				throw new UnsupportedOperationException();
+			}
+
+			private long distance = 0;
+
+		};
+	}
+
+}
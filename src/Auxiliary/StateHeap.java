@@ -0,0 +1,292 @@
+package Auxiliary;
+
+import java.util.Arrays;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Model;
+
+/**
+ * A class of binary min-heaps of states, numbered by non-negative integers and ordered by a key of type double.
+ * States with the same key are ordered by a second key, which is 0 unless it is given.
+ * Each state is at most once in a heap, and the key of a state in a heap can be lowered in place.
+ * All bookkeeping is done in arrays of primitives, which grow as states with higher numbers are added.
+ *
+ * @invar	The key of each state in a heap is not smaller than the key of its parent.
+ * 			|for each i in 1..size()-1 :
+ * 			|	getKey(heap[i]) >= getKey(heap[(i-1)/2])
+ *
+ * @author 	Brecht Gossel & William Mauclet
+ * 			2BiR: wtk-cws (Gossel) en cws-elt(Mauclet)
+ * @version	3.0
+ */
+public class StateHeap {
+
+	private int[] heap = new int[64];
+	private double[] keys = new double[64];
+	private double[] secondKeys = new double[64];
+	private int[] indexes = new int[64];
+	private int size = 0;
+
+	/**
+	 * Initialize this new heap as an empty heap.
+	 *
+	 * @post	...
+	 * 			|new.isEmpty()
+	 */
+	public StateHeap() {
+		Arrays.fill(indexes, -1);
+	}
+
+	/**
+	 * ...
+	 */
+	@Basic
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * ...
+	 *
+	 * @return	...
+	 * 			|result == (size() == 0)
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Check whether the given state is in this heap.
+	 *
+	 * @param 	state
+	 * 			...
+	 */
+	public boolean contains(int state) {
+		return state < indexes.length && indexes[state] != -1;
+	}
+
+	/**
+	 * Return the key of the given state in this heap.
+	 *
+	 * @param 	state
+	 * 			...
+	 * @pre		...
+	 * 			|contains(state)
+	 */
+	public double getKey(int state) {
+		assert contains(state);
+		return keys[indexes[state]];
+	}
+
+	/**
+	 * Return the second key of the given state in this heap.
+	 *
+	 * @param 	state
+	 * 			...
+	 * @pre		...
+	 * 			|contains(state)
+	 */
+	public double getSecondKey(int state) {
+		assert contains(state);
+		return secondKeys[indexes[state]];
+	}
+
+	/**
+	 * Return the smallest key in this heap.
+	 *
+	 * @pre		...
+	 * 			|!isEmpty()
+	 */
+	public double getMinKey() {
+		assert !isEmpty();
+		return keys[0];
+	}
+
+	/**
+	 * Return the second key of the state with the smallest key in this heap.
+	 *
+	 * @pre		...
+	 * 			|!isEmpty()
+	 */
+	public double getMinSecondKey() {
+		assert !isEmpty();
+		return secondKeys[0];
+	}
+
+	/**
+	 * Add the given state with the given key, or change the key of the given state if it is in this heap already.
+	 *
+	 * @param 	state
+	 * 			...
+	 * @param 	key
+	 * 			...
+	 * @effect	...
+	 * 			|put(state, key, 0)
+	 */
+	public void put(int state, double key) {
+		put(state, key, 0);
+	}
+
+	/**
+	 * Add the given state with the given keys, or change the keys of the given state if it is in this heap already.
+	 *
+	 * @param 	state
+	 * 			...
+	 * @param 	key
+	 * 			...
+	 * @param 	secondKey
+	 * 			...
+	 * @pre		...
+	 * 			|state >= 0
+	 * @post	...
+	 * 			|new.contains(state) && new.getKey(state) == key && new.getSecondKey(state) == secondKey
+	 */
+	public void put(int state, double key, double secondKey) {
+		assert state >= 0;
+		if(state >= indexes.length) {
+			int length = indexes.length;
+			while(length <= state)
+				length <<= 1;
+			int[] newIndexes = Arrays.copyOf(indexes, length);
+			Arrays.fill(newIndexes, indexes.length, length, -1);
+			indexes = newIndexes;
+		}
+		int index = indexes[state];
+		if(index == -1) {
+			if(size == heap.length) {
+				heap = Arrays.copyOf(heap, size << 1);
+				keys = Arrays.copyOf(keys, size << 1);
+				secondKeys = Arrays.copyOf(secondKeys, size << 1);
+			}
+			index = size++;
+			heap[index] = state;
+			keys[index] = key;
+			secondKeys[index] = secondKey;
+			indexes[state] = index;
+			siftUp(index);
+		}
+		else {
+			boolean lower = precedes(key, secondKey, keys[index], secondKeys[index]);
+			keys[index] = key;
+			secondKeys[index] = secondKey;
+			if(lower)
+				siftUp(index);
+			else
+				siftDown(index);
+		}
+	}
+
+	/**
+	 * Remove the state with the smallest key from this heap and return it.
+	 *
+	 * @pre		...
+	 * 			|!isEmpty()
+	 * @return	...
+	 * 			|getKey(result) == getMinKey()
+	 * @post	...
+	 * 			|!new.contains(result)
+	 */
+	public int removeMin() {
+		assert !isEmpty();
+		int state = heap[0];
+		removeAt(0);
+		return state;
+	}
+
+	/**
+	 * Remove the given state from this heap, if it is in it.
+	 *
+	 * @param 	state
+	 * 			...
+	 * @post	...
+	 * 			|!new.contains(state)
+	 */
+	public void remove(int state) {
+		if(contains(state))
+			removeAt(indexes[state]);
+	}
+
+	/**
+	 * Remove all states from this heap.
+	 *
+	 * @post	...
+	 * 			|new.isEmpty()
+	 */
+	public void clear() {
+		for(int i = 0; i < size; i++)
+			indexes[heap[i]] = -1;
+		size = 0;
+	}
+
+	@Model
+	private void removeAt(int index) {
+		indexes[heap[index]] = -1;
+		size--;
+		if(index == size)
+			return;
+		int moved = heap[size];
+		heap[index] = moved;
+		keys[index] = keys[size];
+		secondKeys[index] = secondKeys[size];
+		indexes[moved] = index;
+		siftUp(index);
+		siftDown(indexes[moved]);
+	}
+
+	/**
+	 * Check whether the first pair of keys comes before the second pair.
+	 */
+	@Model
+	private static boolean precedes(double key1, double secondKey1, double key2, double secondKey2) {
+		return key1 < key2 || (key1 == key2 && secondKey1 < secondKey2);
+	}
+
+	@Model
+	private void siftUp(int index) {
+		int state = heap[index];
+		double key = keys[index];
+		double secondKey = secondKeys[index];
+		while(index > 0) {
+			int parent = (index - 1) >>> 1;
+			if(!precedes(key, secondKey, keys[parent], secondKeys[parent]))
+				break;
+			move(parent, index);
+			index = parent;
+		}
+		heap[index] = state;
+		keys[index] = key;
+		secondKeys[index] = secondKey;
+		indexes[state] = index;
+	}
+
+	@Model
+	private void siftDown(int index) {
+		int state = heap[index];
+		double key = keys[index];
+		double secondKey = secondKeys[index];
+		while(true) {
+			int child = 2 * index + 1;
+			if(child >= size)
+				break;
+			if(child + 1 < size && precedes(keys[child + 1], secondKeys[child + 1], keys[child], secondKeys[child]))
+				child++;
+			if(!precedes(keys[child], secondKeys[child], key, secondKey))
+				break;
+			move(child, index);
+			index = child;
+		}
+		heap[index] = state;
+		keys[index] = key;
+		secondKeys[index] = secondKey;
+		indexes[state] = index;
+	}
+
+	@Model
+	private void move(int from, int to) {
+		heap[to] = heap[from];
+		keys[to] = keys[from];
+		secondKeys[to] = secondKeys[from];
+		indexes[heap[to]] = to;
+	}
+
+}
@@ -0,0 +1,113 @@
+package Auxiliary;
+
+import java.util.Arrays;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Model;
+
+/**
+ * A class of disjoint sets of elements, numbered by consecutive non-negative integers.
+ * Sets can only be joined, never split. Each set is represented by one of its elements, and all bookkeeping is done
+ * in arrays of primitives, using union by rank and path halving.
+ *
+ * @invar	Each element is in exactly one set.
+ * 			|for each element in 0..size()-1 :
+ * 			|	find(find(element)) == find(element)
+ *
+ * @author 	Brecht Gossel & William Mauclet
+ * 			2BiR: wtk-cws (Gossel) en cws-elt(Mauclet)
+ * @version	3.0
+ */
+public class UnionFind {
+
+	private int[] parents = new int[64];
+	private byte[] ranks = new byte[64];
+	private int size = 0;
+
+	/**
+	 * Return the number of elements in these sets.
+	 */
+	@Basic
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Add a new element in a set of its own, and return it.
+	 *
+	 * @return	...
+	 * 			|result == size()
+	 * @post	...
+	 * 			|new.size() == size() + 1 && new.find(result) == result
+	 */
+	public int add() {
+		if(size == parents.length) {
+			parents = Arrays.copyOf(parents, size << 1);
+			ranks = Arrays.copyOf(ranks, size << 1);
+		}
+		parents[size] = size;
+		ranks[size] = 0;
+		return size++;
+	}
+
+	/**
+	 * Return the element representing the set of the given element.
+	 *
+	 * @param 	element
+	 * 			...
+	 * @pre		...
+	 * 			|element >= 0 && element < size()
+	 */
+	public int find(int element) {
+		assert element >= 0 && element < size;
+		while(parents[element] != element) {
+			parents[element] = parents[parents[element]];
+			element = parents[element];
+		}
+		return element;
+	}
+
+	/**
+	 * Join the sets of both given elements, and return whether they were different sets.
+	 *
+	 * @param 	element1
+	 * 			...
+	 * @param 	element2
+	 * 			...
+	 * @return	...
+	 * 			|result == (find(element1) != find(element2))
+	 * @post	...
+	 * 			|new.find(element1) == new.find(element2)
+	 */
+	public boolean union(int element1, int element2) {
+		int root1 = find(element1);
+		int root2 = find(element2);
+		if(root1 == root2)
+			return false;
+		link(root1, root2);
+		return true;
+	}
+
+	/**
+	 * Remove all elements.
+	 *
+	 * @post	...
+	 * 			|new.size() == 0
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	@Model
+	private void link(int root1, int root2) {
+		if(ranks[root1] < ranks[root2])
+			parents[root1] = root2;
+		else if(ranks[root1] > ranks[root2])
+			parents[root2] = root1;
+		else {
+			parents[root2] = root1;
+			ranks[root1]++;
+		}
+	}
+
+}
@@ -28,7 +28,7 @@ public enum BasicCommand implements Command {
 		@Override
 		public void execute(Robot robot){
 			try{
-				if(robot.getEnergy().compareTo(robot.getEnergyToMove()) != -1)
+				if(robot.getEnergyInMicroJoules() >= robot.getEnergyToMoveInMicroJoules())
 					robot.move();
 			}
 			catch(NullPointerException exc){
@@ -103,7 +103,7 @@ public enum BasicCommand implements Command {
 		@Override
 		public void execute(Robot robot){
 			try{
-				if(robot.getEnergy().compareTo(Robot.getEnergyToShoot()) != -1)
+				if(robot.getEnergyInMicroJoules() >= Robot.getEnergyToShootInMicroJoules())
 					robot.shoot();
 			}
 			catch(NullPointerException exc){
@@ -130,7 +130,7 @@ public enum BasicCommand implements Command {
 		 */
 		@Override
 		public void execute(Robot robot){
-			if(robot.getEnergy().compareTo(Robot.getEnergyToTurn()) != -1 )
+			if(robot.getEnergyInMicroJoules() >= Robot.getEnergyToTurnInMicroJoules() )
 				robot.turnClockwise();
 		}
 		
@@ -153,7 +153,7 @@ public enum BasicCommand implements Command {
 		 */
 		@Override
 		public void execute(Robot robot){
-			if(robot.getEnergy().compareTo(Robot.getEnergyToTurn()) != -1)
+			if(robot.getEnergyInMicroJoules() >= Robot.getEnergyToTurnInMicroJoules())
 				robot.turnCounterclockwise();
 		}
 		
@@ -4,6 +4,7 @@ import core.Robot;
 import be.kuleuven.cs.som.annotate.*;
 import Auxiliary.EnergyAmount;
 import Auxiliary.EnergyUnit;
+import Auxiliary.MicroJoules;
 
 /**
  * A class representing energy-at-least conditions, conditions
@@ -16,6 +17,7 @@ import Auxiliary.EnergyUnit;
 public class EnergyAtLeastCondition implements Condition {
 
 	private EnergyAmount energy;
+	private long energyInMicroJoules;
 	
 	/**
 	 * Create a new energy-at-least condition is created, with the given reference energy.
@@ -46,6 +48,7 @@ public class EnergyAtLeastCondition implements Condition {
 	@Model
 	private void setEnergy(EnergyAmount energy){
 		this.energy = energy;
+		this.energyInMicroJoules = MicroJoules.valueOf(energy);
 	}
 	
 	/**
@@ -57,7 +60,7 @@ public class EnergyAtLeastCondition implements Condition {
 	 */
 	@Override
 	public boolean evaluate(Robot robot) {
-		return robot.getEnergy().compareTo(getEnergy()) >= 0;
+		return robot.getEnergyInMicroJoules() >= energyInMicroJoules;
 	}
 	
 	/**
@@ -8,8 +8,10 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.Writer;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Set;
-import java.util.HashSet;
 
 import core.*;
 
@@ -205,7 +207,7 @@ public class Facade implements IFacade<Board, Robot, Wall, Battery, RepairKit, S
 
 	@Override
 	public void move(Robot robot) {
-		if(robot.getEnergy().compareTo(robot.getEnergyToMove()) == -1) {
+		if(robot.getEnergyInMicroJoules() < robot.getEnergyToMoveInMicroJoules()) {
 			System.err.println("Insufficient energy to move!");
 		}
 		else {
@@ -219,7 +221,7 @@ public class Facade implements IFacade<Board, Robot, Wall, Battery, RepairKit, S
 
 	@Override
 	public void turn(Robot robot) {
-		if(robot.getEnergy().compareTo(Robot.getEnergyToTurn()) == -1)
+		if(robot.getEnergyInMicroJoules() < Robot.getEnergyToTurnInMicroJoules())
 			System.err.println("Insufficient energy-amount to turn!");
 		else
 			robot.turnClockwise();
@@ -334,6 +336,30 @@ public class Facade implements IFacade<Board, Robot, Wall, Battery, RepairKit, S
 		}
 	}
 
+	@Override
+	public double[][] getMinimalCostsToReach(List<Robot> robots, long[] xs, long[] ys) {
+		if(xs.length != ys.length) {
+			System.err.println("Every position needs both coordinates!");
+			return null;
+		}
+		Robot[] robotArray = robots.toArray(new Robot[robots.size()]);
+		double[][] result = new double[robotArray.length][];
+		//Each board computes the rows of its own robots, all in one go.
+		IdentityHashMap<Board, double[][]> costsOnBoard = new IdentityHashMap<Board, double[][]>();
+		for(int i = 0; i < robotArray.length; i++) {
+			Board board = robotArray[i].getBoard();
+			if(board == null) {
+				result[i] = new double[xs.length];
+				Arrays.fill(result[i], -1);
+				continue;
+			}
+			if(!costsOnBoard.containsKey(board))
+				costsOnBoard.put(board, board.getEnergiesRequiredToReach(robotArray, xs, ys));
+			result[i] = costsOnBoard.get(board)[i];
+		}
+		return result;
+	}
+
 	@Override
 	public int isMoveNextTo18Plus() {
 		return 1;
@@ -351,7 +377,7 @@ public class Facade implements IFacade<Board, Robot, Wall, Battery, RepairKit, S
 
 	@Override
 	public void shoot(Robot robot) throws UnsupportedOperationException {
-		if(robot.getEnergy().compareTo(Robot.getEnergyToShoot()) == -1)
+		if(robot.getEnergyInMicroJoules() < Robot.getEnergyToShootInMicroJoules())
 			System.err.println("Insufficient energy to shoot.");
 		else {
 			try {
@@ -401,46 +427,31 @@ public class Facade implements IFacade<Board, Robot, Wall, Battery, RepairKit, S
 	@Override
 	public Set<Robot> getRobots(Board board) {
 		assert board != null;
-		HashSet<Robot> robots = new HashSet<Robot>();
-		for(Entity entity : board.getEntitiesOfSpecifiedKindOnBoard(Robot.class))
-			robots.add((Robot) entity);
-		return robots;
+		return board.getEntitiesOfSpecifiedKindView(Robot.class);
 	}
 	
 	@Override
 	public Set<Wall> getWalls(Board board) throws UnsupportedOperationException {
 		assert board != null;
-		HashSet<Wall> walls = new HashSet<Wall>();
-		for(Entity entity : board.getEntitiesOfSpecifiedKindOnBoard(Wall.class))
-			walls.add((Wall) entity);
-		return walls;
+		return board.getEntitiesOfSpecifiedKindView(Wall.class);
 	}
 	
 	@Override
 	public Set<RepairKit> getRepairKits(Board board) {
 		assert board != null;
-		HashSet<RepairKit> repairKits = new HashSet<RepairKit>();
-		for(Entity entity : board.getEntitiesOfSpecifiedKindOnBoard(RepairKit.class))
-			repairKits.add((RepairKit) entity);
-		return repairKits;
+		return board.getEntitiesOfSpecifiedKindView(RepairKit.class);
 	}
 	
 	@Override
 	public Set<SurpriseBox> getSurpriseBoxes(Board board) {
 		assert board != null;
-		HashSet<SurpriseBox> surpriseBoxes = new HashSet<SurpriseBox>();
-		for(Entity entity : board.getEntitiesOfSpecifiedKindOnBoard(SurpriseBox.class))
-			surpriseBoxes.add((SurpriseBox) entity);
-		return surpriseBoxes;
+		return board.getEntitiesOfSpecifiedKindView(SurpriseBox.class);
 	}
 
 	@Override
 	public Set<Battery> getBatteries(Board board) {
 		assert board != null;
-		HashSet<Battery> batteries = new HashSet<Battery>();
-		for(Entity entity : board.getEntitiesOfSpecifiedKindOnBoard(Battery.class))
-			batteries.add((Battery) entity);
-		return batteries;
+		return board.getEntitiesOfSpecifiedKindView(Battery.class);
 	}
 
 	@Override
@@ -1,6 +1,7 @@
 package GUI;
 
 import java.io.Writer;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -242,6 +243,16 @@ public interface IFacade<Board, Robot, Wall, Battery, RepairKit, SurpriseBox> {
 	 */
 	public double getMinimalCostToReach(Robot robot, long x, long y);
 	
+	/**
+	 * Return the minimal amount of energy required for each robot in <code>robots</code> to reach each of the positions (<code>xs[j]</code>, <code>ys[j]</code>), as a matrix
+	 * with one row per robot and one column per position. Each element must equal what <code>getMinimalCostToReach</code> returns for that robot and that position, but the costs
+	 * of one robot are computed in a single search, and the searches of different robots may run in parallel.
+	 * <p>
+	 * This method must return <code>null</code> if <code>xs</code> and <code>ys</code> don't have the same length.
+	 * </p>
+	 */
+	public double[][] getMinimalCostsToReach(List<Robot> robots, long[] xs, long[] ys);
+	
 	/**
 	 * Return whether your implementation of <code>moveNextTo</code> takes into account other robots, walls and the fact that turning consumes energy (required to score 18+). The return
 	 * value of this method determines the expected effect of <code>moveNextTo</code> in the test suite.
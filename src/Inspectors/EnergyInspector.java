@@ -3,6 +3,7 @@ package Inspectors;
 import core.EnergyRelated;
 import core.Entity;
 import Auxiliary.EnergyAmount;
+import Auxiliary.MicroJoules;
 
 /**
  * @author 	Brecht Gossel & William Mauclet
@@ -11,17 +12,17 @@ import Auxiliary.EnergyAmount;
  */
 public class EnergyInspector implements Inspector {
 
-	EnergyAmount minimalEnergy;
+	long minimalEnergy;
 	
 	public EnergyInspector(EnergyAmount minimalEnergy) {
-		this.minimalEnergy = minimalEnergy;
+		this.minimalEnergy = MicroJoules.valueOf(minimalEnergy);
 	}
 	
 	@Override
 	public boolean inspect(Entity entity) {
 		if(!EnergyRelated.class.isInstance(entity))
 			return false;
-		return ((EnergyRelated)entity).getEnergy().compareTo(minimalEnergy) > -1;
+		return ((EnergyRelated)entity).getEnergyInMicroJoules() >= minimalEnergy;
 	}
 
 }
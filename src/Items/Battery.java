@@ -2,6 +2,7 @@ package Items;
 
 import core.Robot;
 import Auxiliary.EnergyAmount;
+import Auxiliary.MicroJoules;
 
 /**
  * ...
@@ -62,20 +63,20 @@ public class Battery extends EnergyHolder {
      * 			....
      * @effect	...
      * 			|let
-     * 			|	EnergyAmount transfer = EnergyAmount.getMin(robot.getCapacity().substract(robot.getEnergy()), getEnergy())
+     * 			|	long transfer = Math.min(MicroJoules.subtract(robot.getCapacityInMicroJoules(), robot.getEnergyInMicroJoules()), getEnergyInMicroJoules())
      * 			|in
      * 			|	consumeEnergy(transfer)
      * 			|	robot.charge(transfer)
      * @effect	...
-     * 			|if(getEnergy().hasSameValueAs(EnergyAmount.JOULE_0))
+     * 			|if(new.getEnergyInMicroJoules() == 0)
      *  		|	robot.removeItemFromLoad(this)
      *  		|	terminate()
      */
     public void useOn(Robot robot) throws IllegalArgumentException{        
-        EnergyAmount transfer = EnergyAmount.getMin(robot.getCapacity().substract(robot.getEnergy()), getEnergy());
+        long transfer = Math.min(MicroJoules.subtract(robot.getCapacityInMicroJoules(), robot.getEnergyInMicroJoules()), getEnergyInMicroJoules());
         consumeEnergy(transfer);
         robot.charge(transfer);
-        if(getEnergy().hasSameValueAs(EnergyAmount.JOULE_0)){
+        if(getEnergyInMicroJoules() == 0){
         	robot.dropItem(this);
         	terminate();
         }
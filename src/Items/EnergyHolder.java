@@ -3,6 +3,7 @@ package Items;
 import core.EnergyRelated;
 import Auxiliary.EnergyAmount;
 import Auxiliary.EnergyUnit;
+import Auxiliary.MicroJoules;
 import be.kuleuven.cs.som.annotate.Basic;
 import be.kuleuven.cs.som.annotate.Immutable;
 import be.kuleuven.cs.som.annotate.Model;
@@ -15,10 +16,11 @@ import be.kuleuven.cs.som.annotate.Raw;
  */
 public abstract class EnergyHolder extends Item implements EnergyRelated{
 
-	private EnergyAmount energy;
+	private long energy;
 	private static final EnergyUnit standardUnit = EnergyUnit.WATTSECOND;
 	private static final EnergyAmount energyGainedWhenHit = new EnergyAmount(500, getStandardUnit());
-	private EnergyAmount capacity;
+	private static final long energyGainedWhenHitInMicroJoules = MicroJoules.valueOf(energyGainedWhenHit);
+	private long capacity;
 	
 	
 	/**
@@ -55,7 +57,7 @@ public abstract class EnergyHolder extends Item implements EnergyRelated{
 	 */
 	private void setCapacity(EnergyAmount capacity) {
 		assert isValidCapacity(capacity);
-		this.capacity = capacity;		
+		this.capacity = MicroJoules.valueOf(capacity);
 	}
 
 	/**
@@ -79,7 +81,17 @@ public abstract class EnergyHolder extends Item implements EnergyRelated{
 	 * 			|result == (energy.isPositive()) && (energy.compare(getCapacity()) <= 0)
 	 */
 	public boolean canHaveAsEnergy(EnergyAmount energy){
-		return energy.compareTo(getCapacity()) <= 0;	
+		return canHaveAsEnergy(MicroJoules.valueOf(energy));
+	}
+	
+	/**
+	 * ...
+	 * 
+	 * @return	...
+	 * 			|result == (energy >= 0 && energy <= getCapacityInMicroJoules())
+	 */
+	public boolean canHaveAsEnergy(long energy){
+		return energy >= 0 && energy <= getCapacityInMicroJoules();
 	}
 
 	/**
@@ -93,17 +105,37 @@ public abstract class EnergyHolder extends Item implements EnergyRelated{
 	
 	/**
 	 * ...
+	 * 
+	 * @return	...
+	 * 			|result.hasSameValueAs(MicroJoules.toEnergyAmount(getCapacityInMicroJoules(), getStandardUnit()))
 	 */
-	@Basic
 	public EnergyAmount getCapacity() {
-		return capacity;
+		return MicroJoules.toEnergyAmount(getCapacityInMicroJoules(), getStandardUnit());
 	}
 
 	/**
 	 * ...
 	 */
 	@Basic
+	public long getCapacityInMicroJoules() {
+		return capacity;
+	}
+
+	/**
+	 * ...
+	 * 
+	 * @return	...
+	 * 			|result.hasSameValueAs(MicroJoules.toEnergyAmount(getEnergyInMicroJoules(), getStandardUnit()))
+	 */
 	public EnergyAmount getEnergy() {
+		return MicroJoules.toEnergyAmount(getEnergyInMicroJoules(), getStandardUnit());
+	}
+
+	/**
+	 * ...
+	 */
+	@Basic
+	public long getEnergyInMicroJoules() {
 		return energy;
 	}
 	
@@ -119,6 +151,20 @@ public abstract class EnergyHolder extends Item implements EnergyRelated{
 	 */
 	@Raw  @Model 
 	private void setEnergy(EnergyAmount energy) {
+		assert canHaveAsEnergy(energy);
+		setEnergy(MicroJoules.valueOf(energy));
+	}
+	
+	/**
+	 * ...
+	 *
+	 * @pre		...
+	 * 			|canHaveAsEnergy(energy)
+	 * @post	...
+	 * 			|new.getEnergyInMicroJoules() == energy
+	 */
+	@Raw  @Model 
+	private void setEnergy(long energy) {
 		assert canHaveAsEnergy(energy);
 		this.energy = energy;
 	}
@@ -126,16 +172,23 @@ public abstract class EnergyHolder extends Item implements EnergyRelated{
 	/**
 	 * ...
 	 * 
-	 * @pre		...
-	 * 			|canHaveAsEnergy(getEnergy().substract(energy))
 	 * @param 	energy
 	 * 			...
 	 * @effect	...
-	 * 			|setEnergy(getEnergy().substract(energy))
+	 * 			|consumeEnergy(MicroJoules.valueOf(energy))
 	 */
 	public void consumeEnergy(EnergyAmount energy) {
-		assert canHaveAsEnergy(getEnergy().substract(energy));
-		setEnergy(getEnergy().substract(energy));
+		consumeEnergy(MicroJoules.valueOf(energy));
+	}
+	
+	/**
+	 * ...
+	 * 
+	 * @effect	...
+	 * 			|setEnergy(MicroJoules.subtract(getEnergyInMicroJoules(), energy))
+	 */
+	public void consumeEnergy(long energy) {
+		setEnergy(MicroJoules.subtract(getEnergyInMicroJoules(), energy));
 	}
 
 	/**
@@ -150,14 +203,13 @@ public abstract class EnergyHolder extends Item implements EnergyRelated{
 	 * 
 	 * @effect	...
 	 * 			|let 
-	 * 			|	EnergyAmount newEnergy = EnergyAmount.getMin(getCapacity(), getEnergy().add(getEnergyGainWhenHit()))
+	 * 			|	long newEnergy = Math.min(getCapacityInMicroJoules(), MicroJoules.add(getEnergyInMicroJoules(), MicroJoules.valueOf(getEnergyGainWhenHit())))
 	 * 			|in
 	 * 			|	setEnergy(newEnergy)
 	 */
 	@Override
 	public void hit() {
-		EnergyAmount newEnergy = EnergyAmount.getMin(getCapacity(), getEnergy().add(getEnergyGainWhenHit()));
-		setEnergy(newEnergy);
+		setEnergy(Math.min(getCapacityInMicroJoules(), MicroJoules.add(getEnergyInMicroJoules(), energyGainedWhenHitInMicroJoules)));
 	}
 	
 }
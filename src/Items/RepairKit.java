@@ -2,6 +2,7 @@ package Items;
 
 import core.Robot;
 import Auxiliary.EnergyAmount;
+import Auxiliary.MicroJoules;
 import be.kuleuven.cs.som.annotate.Model;
 
 /**
@@ -54,21 +55,25 @@ public class RepairKit extends EnergyHolder{
      * 			....
      * @effect	...
      * 			|let
-     * 			|	EnergyAmount transfer = EnergyAmount.getMin(Robot.getMaxCapacity().substract(robot.getCapacity()), getEnergy().rescale(0.5))
+     * 			|	long missing = MicroJoules.subtract(Robot.getMaxCapacityInMicroJoules(), robot.getCapacityInMicroJoules())
+     * 			|	long transfer = Math.min(missing, getEnergyInMicroJoules() / 2)
      * 			|in
-     * 			|	consumeEnergy(transfer.rescale(2))
-     * 			|	robot.setCapacity(robot.getCapacity().add(transfer))
+     * 			|	if(transfer == getEnergyInMicroJoules() / 2) then consumeEnergy(getEnergyInMicroJoules())
+     * 			|	else consumeEnergy(2 * transfer)
+     * 			|	robot.setCapacity(MicroJoules.add(robot.getCapacityInMicroJoules(), transfer))
      * @effect	...
-     * 			|if(getEnergy().hasSameValueAs(EnergyAmount.JOULE_0))
+     * 			|if(new.getEnergyInMicroJoules() == 0)
      * 			|	robot.removeItemFromLoad(this)
      * 			|	terminate()
      */
     @Model
     public void useOn(Robot robot) throws IllegalArgumentException{
-        EnergyAmount transfer = EnergyAmount.getMin(Robot.getMaxCapacity().substract(robot.getCapacity()), getEnergy().rescale(0.5));
-        consumeEnergy(transfer.rescale(2));
-        robot.setCapacity(robot.getCapacity().add(transfer));
-        if(getEnergy().hasSameValueAs(EnergyAmount.JOULE_0)){
+        //Every micro-joule of capacity costs two of energy; a kit that gives all it has is empty, whatever half a micro-joule it rounds off.
+        long half = getEnergyInMicroJoules() / 2;
+        long transfer = Math.min(MicroJoules.subtract(Robot.getMaxCapacityInMicroJoules(), robot.getCapacityInMicroJoules()), half);
+        consumeEnergy(transfer == half ? getEnergyInMicroJoules() : MicroJoules.add(transfer, transfer));
+        robot.setCapacity(MicroJoules.add(robot.getCapacityInMicroJoules(), transfer));
+        if(getEnergyInMicroJoules() == 0){
         	robot.dropItem(this);
         	terminate();
         }
@@ -1,6 +1,12 @@
 package core;
 
+import java.math.BigInteger;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import Auxiliary.CoordinateMap;
+import Auxiliary.MicroJoules;
+import Auxiliary.Orientation;
 import Auxiliary.Position;
 import Inspectors.Inspector;
 import Items.Item;
@@ -11,22 +17,26 @@ import be.kuleuven.cs.som.annotate.Raw;
 
 /**
  * ...
+ * The entities on a board are stored in square tiles, which are only created for the regions of the board that
+ * contain entities. Boards of any size up to Long.MAX_VALUE by Long.MAX_VALUE therefore only take memory in proportion
+ * to the number of occupied regions.
+ * 
  * @invar 	One entity can't be twice on the same board. 
- * 			|for each position1 in getEntitiesOnBoard().keySet() : 
- * 			| 	for each entity1 in getEntitiesOnBoard().get(position1) : 
- * 			| 		for each position2 in getEntitiesOnBoard().keySet() : 
- * 			| 			for each entity2 in getEntitiesOnBoard().get(position2) : 
+ * 			|for each position1 in getOccupiedPositions() : 
+ * 			| 	for each entity1 in getEntitiesOnPosition(position1) : 
+ * 			| 		for each position2 in getOccupiedPositions() : 
+ * 			| 			for each entity2 in getEntitiesOnPosition(position2) : 
  * 			| 				! (entity1 == entity2 && position1 != position2)
  * @invar 	No two robots on the same position
  * 			|let 
  * 			| 	robot1, robot2 && Robot.class.isInstance(robot1) && Robot.class.isInstance(robot2) && robot1 != robot2 
  * 			|in 
- * 			| 	for each position in getEntitiesOnBoard().keySet() :
- *        	|		!(getEntitiesOnBoard().get(position).contains(robot1) && getEntitiesOnBoard().get(position).contains(robot2))
+ * 			| 	for each position in getOccupiedPositions() :
+ *        	|		!(getEntitiesOnPosition(position).contains(robot1) && getEntitiesOnPosition(position).contains(robot2))
  * @invar 	No wall and other entity on the same position. 
- * 			|for each position in getEntitiesOnBoard().keySet() : 
- * 			| 	for each entity in getEntitiesOnBoard().get(position) : 
- * 			| 		!(Wall.class.isInstance(entity) && getEntitiesOnBoard.get(position).size() > 1)
+ * 			|for each position in getOccupiedPositions() : 
+ * 			| 	for each entity in getEntitiesOnPosition(position) : 
+ * 			| 		!(Wall.class.isInstance(entity) && getEntitiesOnPosition(position).size() > 1)
  * @invar	One entity can't be located on two different boards.
  * 			|for each entity instanceof Entity :
  * 			|	for each board1 in Board :
@@ -34,7 +44,7 @@ import be.kuleuven.cs.som.annotate.Raw;
  * 			|			! ((board1.containsEntity(entity) && board2.containsEntity(entity)) && board1 != board2)
  * @invar	A board should not contain terminated entities.
  * 			|for each board in Board :
- * 			|	 for each position in board.getEntitiesOnBoard().keySet() :
+ * 			|	 for each position in board.getOccupiedPositions() :
  * 			|		for each entity in board.getEntitiesOnPosition(position) :
  * 			|			!entity.isTerminated()
  * 
@@ -49,7 +59,16 @@ public class Board extends Deletable {
 	private static final long maxY = Long.MAX_VALUE;
 	private final long height;
 	private final long width;
-	private HashMap<Position, ArrayList<Entity>> entitiesOnBoard;
+	private final CoordinateMap<Tile> tiles;
+	private final HashMap<Class<?>, Set<Entity>> entitiesOfKind;
+	private final IdentityHashMap<Entity, Position> positionsOfEntities;
+	private final HashMap<Long, TreeSet<Long>> occupiedInRows;
+	private final HashMap<Long, TreeSet<Long>> occupiedInColumns;
+	private static boolean auditing = false;
+	private long nbModifications = 0;
+	private final FreeSpace freeSpace;
+	private final ArrayList<BoardListener> listeners;
+	private static final ForkJoinPool searchPool = new ForkJoinPool();
 
 	/**
 	 * Initialize this new board with given height and given width.
@@ -64,8 +83,8 @@ public class Board extends Deletable {
 	 * 			|new.getHeight() == height
 	 * @post 	The width of this new board is the given width. 
 	 * 			|new.getWidth() == width
-	 * @post	This new board has an ArrayList entitiesOnBoard.
-	 * 			|new.getEntitiesOnBoard() != null
+	 * @post	This new board contains no entities.
+	 * 			|new.getOccupiedPositions().isEmpty()
 	 * @post	If an invalid value for the height and/or width is given, this board is terminated and has no height nor width.
 	 * 			|if(!(isValidHeight(height) && isValidWidth(width)))
 	 * 			|	then (new this).isTerminated()
@@ -77,13 +96,19 @@ public class Board extends Deletable {
 	 */
 	public Board(long width, long height) throws IllegalArgumentException  {
 		super();
-		this.entitiesOnBoard = new HashMap<Position, ArrayList<Entity>>();
+		this.tiles = new CoordinateMap<Tile>();
+		this.entitiesOfKind = new HashMap<Class<?>, Set<Entity>>();
+		this.positionsOfEntities = new IdentityHashMap<Entity, Position>();
+		this.occupiedInRows = new HashMap<Long, TreeSet<Long>>();
+		this.occupiedInColumns = new HashMap<Long, TreeSet<Long>>();
+		this.listeners = new ArrayList<BoardListener>();
 		if(!(isValidHeight(height) && isValidWidth(width))) {
 			this.terminate();
 			throw new IllegalArgumentException("Invalid height and/or width given!");
 		}
 		this.height = height;
 		this.width = width;
+		this.freeSpace = new FreeSpace(width, height);
 	}
 	
 	/**
@@ -127,11 +152,392 @@ public class Board extends Deletable {
 	}
 
 	/**
-	 * ...
+	 * Return the map linking the coordinates of each tile of this board that contains entities to that tile.
 	 */
 	@Basic @Model
-	private HashMap<Position, ArrayList<Entity>> getEntitiesOnBoard() {
-		return entitiesOnBoard;
+	private CoordinateMap<Tile> getTiles() {
+		return tiles;
+	}
+	
+	/**
+	 * Return the tile covering the square with the given coordinates, or null if that tile contains no entities.
+	 * 
+	 * @param	x
+	 * 			...
+	 * @param 	y
+	 * 			...
+	 */
+	@Model
+	private Tile getTile(long x, long y) {
+		return getTiles().get(Tile.toTileCoordinate(x), Tile.toTileCoordinate(y));
+	}
+	
+	/**
+	 * Return the map linking each entity on this board to the position of the square it is on.
+	 */
+	@Basic @Model
+	private IdentityHashMap<Entity, Position> getPositionsOfEntities() {
+		return positionsOfEntities;
+	}
+	
+	/**
+	 * Return the labelling of the squares of this board that contain no wall.
+	 */
+	@Basic @Model
+	private FreeSpace getFreeSpace() {
+		return freeSpace;
+	}
+	
+	/**
+	 * Return the map linking each y-coordinate to the sorted x-coordinates of the occupied squares in that row.
+	 */
+	@Basic @Model
+	private HashMap<Long, TreeSet<Long>> getOccupiedInRows() {
+		return occupiedInRows;
+	}
+	
+	/**
+	 * Return the map linking each x-coordinate to the sorted y-coordinates of the occupied squares in that column.
+	 */
+	@Basic @Model
+	private HashMap<Long, TreeSet<Long>> getOccupiedInColumns() {
+		return occupiedInColumns;
+	}
+	
+	/**
+	 * Register the square with the given coordinates as occupied in the row and column indexes of this board.
+	 * 
+	 * @post	...
+	 * 			|new.getOccupiedInRows().get(y).contains(x) && new.getOccupiedInColumns().get(x).contains(y)
+	 */
+	@Model
+	private void addToLineIndexes(long x, long y) {
+		addToLine(getOccupiedInRows(), y, x);
+		addToLine(getOccupiedInColumns(), x, y);
+	}
+	
+	/**
+	 * Register the square with the given coordinates as free in the row and column indexes of this board.
+	 * 
+	 * @post	...
+	 * 			|!new.getOccupiedInRows().get(y).contains(x) && !new.getOccupiedInColumns().get(x).contains(y)
+	 */
+	@Model
+	private void removeFromLineIndexes(long x, long y) {
+		removeFromLine(getOccupiedInRows(), y, x);
+		removeFromLine(getOccupiedInColumns(), x, y);
+	}
+	
+	@Model
+	private static void addToLine(HashMap<Long, TreeSet<Long>> lines, long line, long coordinate) {
+		TreeSet<Long> occupied = lines.get(line);
+		if(occupied == null) {
+			occupied = new TreeSet<Long>();
+			lines.put(line, occupied);
+		}
+		occupied.add(coordinate);
+	}
+	
+	@Model
+	private static void removeFromLine(HashMap<Long, TreeSet<Long>> lines, long line, long coordinate) {
+		TreeSet<Long> occupied = lines.get(line);
+		occupied.remove(coordinate);
+		if(occupied.isEmpty())
+			lines.remove(line);
+	}
+	
+	/**
+	 * Register the given listener, so that it is told about each square of this board on which an entity is put or from which
+	 * an entity is removed.
+	 * 
+	 * @param 	listener
+	 * 			...
+	 * @post	...
+	 * 			|new.hasAsListener(listener)
+	 */
+	public void addListener(BoardListener listener) {
+		if(!hasAsListener(listener))
+			listeners.add(listener);
+	}
+	
+	/**
+	 * Unregister the given listener.
+	 * 
+	 * @param 	listener
+	 * 			...
+	 * @post	...
+	 * 			|!new.hasAsListener(listener)
+	 */
+	public void removeListener(BoardListener listener) {
+		listeners.remove(listener);
+	}
+	
+	/**
+	 * Check whether the given listener is told about the changes of this board.
+	 */
+	public boolean hasAsListener(BoardListener listener) {
+		return listeners.contains(listener);
+	}
+	
+	/**
+	 * Tell all listeners of this board that the square with the given coordinates changed.
+	 */
+	@Model
+	private void notifyListeners(long x, long y) {
+		if(listeners.isEmpty())
+			return;
+		for(BoardListener listener : new ArrayList<BoardListener>(listeners))
+			listener.squareChanged(this, x, y);
+	}
+	
+	/**
+	 * Return the number of times an entity was put on or removed from this board.
+	 * Anything computed from the contents of this board stays valid as long as this number doesn't change.
+	 */
+	@Basic
+	public long getNbModifications() {
+		return nbModifications;
+	}
+	
+	/**
+	 * Return a snapshot of the walls and robots on this board as they are now.
+	 * 
+	 * @return	...
+	 * 			|for each x in 0..getWidth(), y in 0..getHeight() :
+	 * 			|	result.containsWallOrRobot(x, y) == 
+	 * 			|		(containsEntityOfSpecifiedKindOnPosition(Position.returnUniquePosition(x, y), Wall.class) ||
+	 * 			|		 containsEntityOfSpecifiedKindOnPosition(Position.returnUniquePosition(x, y), Robot.class))
+	 */
+	public BoardSnapshot getSnapshot() {
+		return new BoardSnapshot(getWidth(), getHeight(), getTiles().values());
+	}
+	
+	/**
+	 * Return the least energy in Ws each of the given robots needs to reach each of the given squares, given its current energy.
+	 * The costs of one robot are computed in one search, which stops as soon as it has settled all the given squares;
+	 * the searches of the different robots run at the same time, on one snapshot of this board.
+	 * 
+	 * @param 	robots
+	 * 			...
+	 * @param 	xs
+	 * 			The x coordinates of the squares to reach.
+	 * @param 	ys
+	 * 			The y coordinates of the squares to reach, in the same order.
+	 * @return	...
+	 * 			|result.length == robots.length && 
+	 * 			|for each i in 0..robots.length-1 :
+	 * 			|	result[i].length == xs.length
+	 * @return	A cost is -1 if the robot is not on this board, if the square is not on this board, or if the robot can't reach it.
+	 * 			|for each i in 0..robots.length-1, j in 0..xs.length-1 :
+	 * 			|	if(robots[i].getBoard() != this || !isValidPosition(xs[j], ys[j]))
+	 * 			|	then result[i][j] == -1
+	 * 			|	else result[i][j] == new PathFinder(robots[i]).searchTo(xs[j], ys[j])
+	 * @throws	IllegalArgumentException
+	 * 			...
+	 * 			|xs.length != ys.length
+	 */
+	public double[][] getEnergiesRequiredToReach(Robot[] robots, long[] xs, long[] ys) throws IllegalArgumentException {
+		if(xs.length != ys.length)
+			throw new IllegalArgumentException("Every square needs both coordinates!");
+		double[][] result = new double[robots.length][xs.length];
+		//The state of each robot is read in this thread: the searches only look at the snapshot and at these arrays.
+		long[] startXs = new long[robots.length];
+		long[] startYs = new long[robots.length];
+		Orientation[] orientations = new Orientation[robots.length];
+		double[] energiesToMove = new double[robots.length];
+		double[] energies = new double[robots.length];
+		for(int i = 0; i < robots.length; i++) {
+			Arrays.fill(result[i], -1);
+			if(robots[i].getBoard() == this) {
+				startXs[i] = robots[i].getPosition().getX();
+				startYs[i] = robots[i].getPosition().getY();
+				orientations[i] = robots[i].getOrientation();
+				energiesToMove[i] = MicroJoules.toJoules(robots[i].getEnergyToMoveInMicroJoules());
+				energies[i] = MicroJoules.toJoules(robots[i].getEnergyInMicroJoules());
+			}
+		}
+		CostSearches searches = new CostSearches(getSnapshot(), startXs, startYs, orientations, energiesToMove,
+				MicroJoules.toJoules(Robot.getEnergyToTurnInMicroJoules()), energies, xs, ys, result, 0, robots.length);
+		if(robots.length > 1)
+			getSearchPool().invoke(searches);
+		else
+			searches.compute();
+		return result;
+	}
+	
+	/**
+	 * Return the pool of threads in which searches on snapshots of boards run.
+	 */
+	@Basic
+	static ForkJoinPool getSearchPool() {
+		return searchPool;
+	}
+	
+	/**
+	 * A class of tasks filling the rows of a cost matrix for a range of robots, splitting the range over as many threads as
+	 * the pool of searches has.
+	 */
+	@SuppressWarnings("serial")
+	private static class CostSearches extends RecursiveAction {
+		
+		private final BoardSnapshot snapshot;
+		private final long[] startXs;
+		private final long[] startYs;
+		private final Orientation[] orientations;
+		private final double[] energiesToMove;
+		private final double energyToTurn;
+		private final double[] energies;
+		private final long[] xs;
+		private final long[] ys;
+		private final double[][] result;
+		private final int from;
+		private final int to;
+		
+		CostSearches(BoardSnapshot snapshot, long[] startXs, long[] startYs, Orientation[] orientations, double[] energiesToMove,
+				double energyToTurn, double[] energies, long[] xs, long[] ys, double[][] result, int from, int to) {
+			this.snapshot = snapshot;
+			this.startXs = startXs;
+			this.startYs = startYs;
+			this.orientations = orientations;
+			this.energiesToMove = energiesToMove;
+			this.energyToTurn = energyToTurn;
+			this.energies = energies;
+			this.xs = xs;
+			this.ys = ys;
+			this.result = result;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected void compute() {
+			if(to - from > 1) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new CostSearches(snapshot, startXs, startYs, orientations, energiesToMove, energyToTurn, energies, xs, ys, result, from, middle),
+						new CostSearches(snapshot, startXs, startYs, orientations, energiesToMove, energyToTurn, energies, xs, ys, result, middle, to));
+				return;
+			}
+			for(int i = from; i < to; i++) {
+				//Robots that are not on the board keep their row of -1.
+				if(orientations[i] == null)
+					continue;
+				PathFinder finder = new PathFinder(snapshot, startXs[i], startYs[i], orientations[i], energiesToMove[i], energyToTurn, energies[i]);
+				finder.searchWithin(energies[i], Long.MAX_VALUE, xs, ys);
+				for(int j = 0; j < xs.length; j++)
+					if(snapshot.isValidPosition(xs[j], ys[j]))
+						result[i][j] = finder.getCost(xs[j], ys[j]);
+			}
+		}
+		
+	}
+	
+	/**
+	 * Check whether all boards check their invariants on the squares they change.
+	 */
+	@Basic
+	public static boolean isAuditing() {
+		return auditing;
+	}
+	
+	/**
+	 * Set whether all boards check their invariants on the squares they change.
+	 * 
+	 * @param 	auditing
+	 * 			...
+	 * @post	...
+	 * 			|Board.isAuditing() == auditing
+	 */
+	public static void setAuditing(boolean auditing) {
+		Board.auditing = auditing;
+	}
+	
+	/**
+	 * Return the map linking each class of entities that was ever put on or asked of this board to the set of
+	 * entities of that class on this board.
+	 */
+	@Basic @Model
+	private HashMap<Class<?>, Set<Entity>> getEntitiesOfKind() {
+		return entitiesOfKind;
+	}
+	
+	/**
+	 * Return the set of entities on this board that are instances of the given class.
+	 * 
+	 * @param	clazz
+	 * 			...
+	 * @return	...
+	 * 			|for each entity in getEntities() :
+	 * 			|	result.contains(entity) == clazz.isInstance(entity)
+	 * @note	An entity is indexed under its own class and all its superclasses up to Entity, so the set of a class
+	 * 			no entity on this board belongs to is empty and can be created here.
+	 */
+	@Model
+	private Set<Entity> getKindIndex(Class<?> clazz) {
+		Set<Entity> entities = getEntitiesOfKind().get(clazz);
+		if(entities == null) {
+			entities = new LinkedHashSet<Entity>();
+			getEntitiesOfKind().put(clazz, entities);
+		}
+		return entities;
+	}
+	
+	/**
+	 * Add the given entity to the index of its class and of each of its superclasses up to Entity.
+	 * 
+	 * @post	...
+	 * 			|for each clazz in Class :
+	 * 			|	if(clazz.isInstance(entity))
+	 * 			|		then new.getKindIndex(clazz).contains(entity)
+	 */
+	@Model
+	private void addToKindIndexes(Entity entity) {
+		for(Class<?> clazz = entity.getClass(); clazz != Deletable.class; clazz = clazz.getSuperclass())
+			getKindIndex(clazz).add(entity);
+	}
+	
+	/**
+	 * Remove the given entity from the index of its class and of each of its superclasses up to Entity.
+	 * 
+	 * @post	...
+	 * 			|for each clazz in Class :
+	 * 			|	!new.getKindIndex(clazz).contains(entity)
+	 */
+	@Model
+	private void removeFromKindIndexes(Entity entity) {
+		for(Class<?> clazz = entity.getClass(); clazz != Deletable.class; clazz = clazz.getSuperclass())
+			getKindIndex(clazz).remove(entity);
+	}
+	
+	/**
+	 * Return all positions on this board containing at least one entity.
+	 * 
+	 * @return	...
+	 * 			|for each position in result :
+	 * 			|	containsEntity(position)
+	 */
+	@Model
+	private ArrayList<Position> getOccupiedPositions() {
+		ArrayList<Position> positions = new ArrayList<Position>();
+		for(Tile tile : getTiles().values())
+			for(int index = tile.nextOccupiedIndex(0); index != -1; index = tile.nextOccupiedIndex(index + 1))
+				positions.add(Position.returnUniquePosition(tile.getX(index), tile.getY(index)));
+		return positions;
+	}
+	
+	/**
+	 * Return all entities on this board.
+	 * 
+	 * @return	...
+	 * 			|for each position in getOccupiedPositions() :
+	 * 			|	for each entity in getEntitiesOnPosition(position) :
+	 * 			|		result.contains(entity)
+	 */
+	@Model
+	private ArrayList<Entity> getEntities() {
+		ArrayList<Entity> entities = new ArrayList<Entity>();
+		for(Tile tile : getTiles().values())
+			tile.collectEntities(entities);
+		return entities;
 	}
 
 	/**
@@ -148,7 +554,9 @@ public class Board extends Deletable {
 	 * @post	...
 	 * 			|!entity.getBoard().containsEntity(entity)
 	 * @post 	... 
-	 * 			|new.getEntitiesOnBoard().get(Position.returnUniquePosition(x,y)).contains(entity)
+	 * 			|new.getEntitiesOnPosition(position).contains(entity)
+	 * @post	...
+	 * 			|new.getNbModifications() > getNbModifications()
 	 * @throws 	NullPointerException
 	 *          ... 
 	 *         	|entity == null
@@ -184,18 +592,26 @@ public class Board extends Deletable {
 		if(entity.getBoard() != null)
 			entity.getBoard().removeEntity(entity);
 		
-		// If no "tuple" for this position yet, make a new one.
-		if (!this.getEntitiesOnBoard().containsKey(position)) {
-			ArrayList<Entity> entities = new ArrayList<Entity>();
-			entities.add(entity);
-			getEntitiesOnBoard().put(position, entities);
-		}
-		// If there already is a 'tuple' for this position, just add the entity to its ArrayList.
-		else {
-			getEntitiesOnBoard().get(position).add(entity);
+		// If no tile covers this position yet, make a new one.
+		Tile tile = getTile(position.getX(), position.getY());
+		if (tile == null) {
+			tile = new Tile(Tile.toTileCoordinate(position.getX()), Tile.toTileCoordinate(position.getY()));
+			getTiles().put(tile.getTileX(), tile.getTileY(), tile);
 		}
+		int index = Tile.toIndex(position.getX(), position.getY());
+		if (!tile.isOccupied(index))
+			addToLineIndexes(position.getX(), position.getY());
+		tile.addEntity(index, entity);
+		addToKindIndexes(entity);
+		getPositionsOfEntities().put(entity, position);
+		if (entity instanceof Wall)
+			getFreeSpace().addWall(position.getX(), position.getY());
+		nbModifications++;
 		// Change the data in entity.
 		entity.setPosition(this, position);
+		if (isAuditing())
+			audit(position);
+		notifyListeners(position.getX(), position.getY());
 	}
 
 	/**
@@ -209,7 +625,21 @@ public class Board extends Deletable {
 	 * 			| result == ((position.getX() <= getWidth()) && (position.getX() >= 0) && (position.getY() <= getHeight()) && (position.getY() >= 0))
 	 */
 	public boolean isValidPosition(Position position) {
-		return ((position.getX() <= getWidth()) && (position.getX() >= 0) && (position.getY() <= getHeight()) && (position.getY() >= 0));
+		return isValidPosition(position.getX(), position.getY());
+	}
+	
+	/**
+	 * ...
+	 * 
+	 * @param 	x
+	 * 			...
+	 * @param 	y
+	 * 			...
+	 * @return 	... 
+	 * 			| result == ((x <= getWidth()) && (x >= 0) && (y <= getHeight()) && (y >= 0))
+	 */
+	public boolean isValidPosition(long x, long y) {
+		return ((x <= getWidth()) && (x >= 0) && (y <= getHeight()) && (y >= 0));
 	}
 
 	/**
@@ -241,28 +671,87 @@ public class Board extends Deletable {
 	 * 			|let 
 	 * 			| 	 Position position = Position.returnUniquePosition(x,y) 
 	 * 			|in 
-	 *         	| 	if(!getEntitiesOnBoard().containsKey(position)) 
+	 *         	| 	if(!containsEntity(position)) 
 	 *         	| 		then result == false 
 	 *         	| 	else 
-	 *         	| 		for	each entities in getEntitiesOnBoard().get(position) : 
+	 *         	| 		for	each entities in getEntitiesOnPosition(position) : 
 	 *         	|			if(entities.isObstacleFor(entity)) 
 	 *         	| 				result == true
 	 *         	| 	if(result != true) 
 	 *         	| 		result == false
 	 */
 	public boolean containsObstacle(Position position, Entity entity) {
-		if (!getEntitiesOnBoard().containsKey(position)) {
+		return containsObstacle(position.getX(), position.getY(), entity);
+	}
+	
+	/**
+	 * ...
+	 * 
+	 * @param 	x
+	 * 			...
+	 * @param 	y
+	 * 			...
+	 * @param 	entity
+	 * 			...
+	 * @return 	... 
+	 * 			|result == containsObstacle(Position.returnUniquePosition(x,y), entity)
+	 * @note	No position is created to answer this question. For walls, robots and items, the answer
+	 * 			follows from the wall and robot bitmaps of the tile, according to the isObstacleFor rules of
+	 * 			walls, robots and items: everything blocks a wall, walls and other robots block a robot
+	 * 			and only walls block an item.
+	 */
+	public boolean containsObstacle(long x, long y, Entity entity) {
+		Tile tile = getTile(x, y);
+		if (tile == null)
 			return false;
-		} else {
-			for (Entity entities : getEntitiesOnBoard().get(position)) {
-				if (entities.isObstacleFor(entity)) {
-					return true;
-				}
+		int index = Tile.toIndex(x, y);
+		if (!tile.isOccupied(index))
+			return false;
+		if (entity instanceof Wall)
+			return true;
+		if (entity instanceof Item)
+			return tile.containsWall(index);
+		if (entity instanceof Robot)
+			return tile.containsWall(index) || (tile.containsRobot(index) && !isOnSquare(entity, x, y));
+		for (Entity onSquare : tile.getEntities(index)) {
+			if (onSquare.isObstacleFor(entity)) {
+				return true;
 			}
 		}
 		return false;
 	}
 	
+	/**
+	 * Check whether the given entity is on this board, on the square with the given coordinates.
+	 * 
+	 * @return	...
+	 * 			|result == (containsEntity(entity) && entity.getPosition() == Position.returnUniquePosition(x,y))
+	 */
+	@Model
+	private boolean isOnSquare(Entity entity, long x, long y) {
+		Position position = getPositionsOfEntities().get(entity);
+		return position != null && position.getX() == x && position.getY() == y;
+	}
+	
+	/**
+	 * Return a new list of the entities on the square with the given coordinates, or null if there are none.
+	 * 
+	 * @param 	x
+	 * 			...
+	 * @param 	y
+	 * 			...
+	 * @return	...
+	 * 			|result == getEntitiesOnPosition(Position.returnUniquePosition(x,y))
+	 * @note	The list is a copy, so the entities on the square may be hit or removed while iterating over it.
+	 */
+	@Model
+	private ArrayList<Entity> getEntitiesOnSquare(long x, long y) {
+		Tile tile = getTile(x, y);
+		if (tile == null)
+			return null;
+		return tile.getEntities(Tile.toIndex(x, y));
+	}
+	
 	/**
 	 * ...
 	 * 
@@ -276,12 +765,30 @@ public class Board extends Deletable {
      * 			There is no entity at all in the direction the robot is facing.
      * 			|for each position in getAllSquaresInDirection(robot)) :
      * 			|	!position.containsEntity()
+     * @note	The first occupied square is the successor or predecessor of the robot in the sorted index of
+     * 			its row or column, so the cost does not depend on the distance to that square.
 	 */
 	public Position returnFirstOccupiedPositionInDirection(Robot robot)	{
-		for(Position position : robot.getAllSquaresInDirection())
-			if(containsEntity(position))
-				return position;
-		throw new NullPointerException("Robot could not hit anything in front of it!");
+		long x = robot.getPosition().getX();
+		long y = robot.getPosition().getY();
+		Long found;
+		if(robot.getOrientation().getXStep() != 0) {
+			TreeSet<Long> occupied = getOccupiedInRows().get(y);
+			found = (occupied == null) ? null :
+				(robot.getOrientation().getXStep() > 0 ? occupied.higher(x) : occupied.lower(x));
+			if(found != null)
+				x = found;
+		}
+		else {
+			TreeSet<Long> occupied = getOccupiedInColumns().get(x);
+			found = (occupied == null) ? null :
+				(robot.getOrientation().getYStep() > 0 ? occupied.higher(y) : occupied.lower(y));
+			if(found != null)
+				y = found;
+		}
+		if(found == null)
+			throw new NullPointerException("Robot could not hit anything in front of it!");
+		return Position.returnExistingPosition(x, y);
 	}
 
 	/**
@@ -290,34 +797,130 @@ public class Board extends Deletable {
 	 * @param 	entity
 	 * 			...
 	 * @post 	...
-	 *       	|!new.getEntitiesOnBoard().get(entity.getPosition()).contains(entity)
-	 * @post 	... 
-	 * 			|if(getEntitiesOnBoard().get(entity.getPosition()).isEmpty()) 
-	 *       	|	then new.getEntitiesOnBoard().remove(entity.getPosition())
+	 *       	|!new.getEntitiesOnPosition(entity.getPosition()).contains(entity)
 	 * @post 	... 
 	 * 			|(new entity).getBoard() == null && (new entity).getPosition() == null
+	 * @post	...
+	 * 			|new.getNbModifications() == getNbModifications() + 1
 	 * @throws 	NullPointerException
 	 *          ... 
 	 *          |entity == null
 	 * @throws 	NullPointerException
 	 *          ...
-	 *          |!getEntitiesOnBoard().get(entity.getPosition()).contains(entity)
+	 *          |!containsEntity(entity)
 	 */
 	public void removeEntity(Entity entity) throws NullPointerException {
 		// Standard tests.
 		if (entity == null)
 			throw new NullPointerException();
-		if (!getEntitiesOnBoard().get(entity.getPosition()).contains(entity))
+		Position position = getPositionsOfEntities().remove(entity);
+		if (position == null)
 			throw new NullPointerException();
-		else
-			getEntitiesOnBoard().get(entity.getPosition()).remove(entity);
-			//Remove the entity out of the entitiesOnBoard (= HashMap)
+		Tile tile = getTile(position.getX(), position.getY());
+		int index = Tile.toIndex(position.getX(), position.getY());
+		boolean removed = tile.removeEntity(index, entity);
+		assert removed;
+		if (!tile.isOccupied(index))
+			removeFromLineIndexes(position.getX(), position.getY());
 
-		// If position ain't got no entities on it anymore, dump it.
-		if (getEntitiesOnBoard().get(entity.getPosition()).isEmpty())
-			getEntitiesOnBoard().remove(entity.getPosition());
+		removeFromKindIndexes(entity);
+		if (entity instanceof Wall)
+			getFreeSpace().removeWall(position.getX(), position.getY());
+
+		nbModifications++;
+
+		// If the tile ain't got no entities on it anymore, dump it.
+		if (tile.isEmpty())
+			getTiles().remove(tile.getTileX(), tile.getTileY());
 		// Remove all references to this board in the entity.
 		entity.removeFromBoard();
+		if (isAuditing())
+			audit(position);
+		notifyListeners(position.getX(), position.getY());
+	}
+	
+	/**
+	 * Check whether this board satisfies all its invariants.
+	 * 
+	 * @return	...
+	 * 			|result == (for each position in getOccupiedPositions() : satisfiesInvariantsOn(position))
+	 * 			|			&& (for each entity in Entity : containsEntity(entity) == getEntities().contains(entity))
+	 * @note	Each entity is looked up once in the index of this board, so this check takes time linear
+	 * 			in the number of entities on this board.
+	 */
+	public boolean satisfiesInvariants() {
+		int nbEntities = 0;
+		for(Tile tile : getTiles().values()) {
+			if(tile.isEmpty())
+				return false;
+			for(int index = tile.nextOccupiedIndex(0); index != -1; index = tile.nextOccupiedIndex(index + 1)) {
+				if(!satisfiesInvariantsOn(tile, index))
+					return false;
+				nbEntities += tile.getNbEntitiesOnSquare(index);
+			}
+		}
+		return nbEntities == getPositionsOfEntities().size() && nbEntities == getKindIndex(Entity.class).size();
+	}
+	
+	/**
+	 * Check whether the square with the given index on the given tile satisfies the invariants of this board.
+	 * 
+	 * @param 	tile
+	 * 			...
+	 * @param 	index
+	 * 			...
+	 * @return	...
+	 * 			|let
+	 * 			|	Position position = Position.returnUniquePosition(tile.getX(index), tile.getY(index))
+	 * 			|in
+	 * 			|result == (for each entity in getEntitiesOnPosition(position) :
+	 * 			|				containsEntity(entity) && entity.getBoard() == this && entity.getPosition() == position
+	 * 			|				&& !entity.isTerminated())
+	 * 			|			&& at most one robot is on the position
+	 * 			|			&& no wall shares the position with another entity
+	 */
+	@Model
+	private boolean satisfiesInvariantsOn(Tile tile, int index) {
+		Position position = Position.returnExistingPosition(tile.getX(index), tile.getY(index));
+		int nbEntities = tile.getNbEntitiesOnSquare(index);
+		int nbRobots = 0;
+		int nbWalls = 0;
+		for(int rank = 0; rank < nbEntities; rank++) {
+			Entity entity = tile.getEntity(index, rank);
+			if(getPositionsOfEntities().get(entity) != position || position == null)
+				return false;
+			if(entity.getBoard() != this || entity.getPosition() != position || entity.isTerminated())
+				return false;
+			if(entity instanceof Robot)
+				nbRobots++;
+			if(entity instanceof Wall)
+				nbWalls++;
+		}
+		if(tile.containsRobot(index) != (nbRobots > 0) || tile.containsWall(index) != (nbWalls > 0))
+			return false;
+		TreeSet<Long> row = getOccupiedInRows().get(position.getY());
+		TreeSet<Long> column = getOccupiedInColumns().get(position.getX());
+		if(row == null || !row.contains(position.getX()) || column == null || !column.contains(position.getY()))
+			return false;
+		return nbRobots <= 1 && (nbWalls == 0 || nbEntities == 1);
+	}
+	
+	/**
+	 * Check the invariants on the square with the given position, which has just been changed.
+	 * 
+	 * @param 	position
+	 * 			...
+	 * @throws	IllegalStateException
+	 * 			...
+	 * 			|containsEntity(position) && !satisfiesInvariantsOn(getTile(position.getX(),position.getY()),
+	 * 			|		Tile.toIndex(position.getX(),position.getY()))
+	 */
+	@Model
+	private void audit(Position position) throws IllegalStateException {
+		Tile tile = getTile(position.getX(), position.getY());
+		int index = Tile.toIndex(position.getX(), position.getY());
+		if(tile != null && tile.isOccupied(index) && !satisfiesInvariantsOn(tile, index))
+			throw new IllegalStateException("Board invariants violated on (" + position.getX() + "," + position.getY() + ")!");
 	}
 
 	/**
@@ -326,7 +929,7 @@ public class Board extends Deletable {
 	 * @param 	position
 	 * 			...
 	 * @pre 	... 
-	 * 			|!getEntitiesOnBoard().get(position).isEmpty()
+	 * 			|containsEntity(position)
 	 * @effect	...
 	 * 			|let
 	 * 			|	int index = randomGenerator.nextInt(getEntitiesOnPosition(position).size() - 1)
@@ -334,11 +937,12 @@ public class Board extends Deletable {
 	 * 			|	getEntitiesOnPosition(position).get(index).terminate()
 	 */
 	public void hitRandomEntity(Position position) {
-		assert !getEntitiesOnBoard().get(position).isEmpty();
+		ArrayList<Entity> entities = getEntitiesOnPosition(position);
+		assert entities != null;
 		Random randomGenerator = new Random();
-		int index = randomGenerator.nextInt(getEntitiesOnPosition(position).size());
+		int index = randomGenerator.nextInt(entities.size());
 		// Hit
-		getEntitiesOnPosition(position).get(index).hit();
+		entities.get(index).hit();
 	}
 	
 	/**
@@ -348,14 +952,15 @@ public class Board extends Deletable {
 	 * @param 	position
 	 * 			...
 	 * @effect	...
-	 * 			|if(getEntitiesOnBoard().containsKey(position))
+	 * 			|if(containsEntity(position))
 	 * 			|	for each entity in getEntitiesOnPosition(position))
 	 * 			|		entity.hit()
 	 */
 	public void hitAllEntitiesOnPosition(Position position) {
 		assert isValidPosition(position);
-		if(getEntitiesOnBoard().containsKey(position)){
-			for(Entity entity : getEntitiesOnPosition(position)){
+		ArrayList<Entity> entities = getEntitiesOnPosition(position);
+		if(entities != null){
+			for(Entity entity : entities){
 				entity.hit();
 			}
 		}
@@ -367,32 +972,130 @@ public class Board extends Deletable {
 	 * @param 	robot
 	 * 			...
 	 * @return	...
-	 * 			|let
-	 * 			|	Random rand = new Random()
-	 * 			|	Position position = robot.getPosition()
-	 * 			|in
-	 * 			|	for each i in 1..getHeight()*getWidth()
-	 * 			|		if(position == robot.getPosition())
-	 * 			|			then let
-	 * 			|					long x = rand.nextLong()
-	 * 			|					long y = rand.nextLong()
-	 * 			|				 in
-	 * 			|					Position tempPosition = Position.returnUniquePosition(x, y)
-	 * 			|					if(isValidPosition(tempPosition) && !containsObstacle(tempPosition, robot))
-	 * 			|						then position = tempPosition
-	 * 			|	result == position
-	 */
-	public Position getRandomFreePosition(Robot robot){
-		Random rand = new Random();
-		Position position = robot.getPosition();
-		while(position == robot.getPosition()){
-			long x = (rand.nextLong()/Long.MAX_VALUE)*getWidth();
-			long y = (rand.nextLong()/Long.MAX_VALUE)*getHeight();
-			Position tempPosition = Position.returnUniquePosition(x, y);
-			if(!containsObstacle(tempPosition, robot))
-				position = tempPosition;
+	 * 			|result == getRandomFreePosition(robot, new Random())
+	 * @throws	IllegalStateException
+	 * 			...
+	 * 			|for each position in Position :
+	 * 			|	!isValidPosition(position) || containsObstacle(position, robot) || position == robot.getPosition()
+	 */
+	public Position getRandomFreePosition(Robot robot) throws IllegalStateException {
+		return getRandomFreePosition(robot, new Random());
+	}
+	
+	/**
+	 * Return a position chosen uniformly among all positions on this board that contain no obstacle for the given
+	 * robot, other than the position of the robot itself.
+	 * 
+	 * @param 	robot
+	 * 			...
+	 * @param 	random
+	 * 			The source of randomness to use.
+	 * @return	...
+	 * 			|isValidPosition(result) && !containsObstacle(result, robot) && result != robot.getPosition()
+	 * @throws	IllegalStateException
+	 * 			...
+	 * 			|for each position in Position :
+	 * 			|	!isValidPosition(position) || containsObstacle(position, robot) || position == robot.getPosition()
+	 * @note	A few squares are drawn at random first. If the board is crowded, or if none of these squares is free,
+	 * 			a free square is picked by its rank among all free squares instead, in time linear in the number of
+	 * 			walls and robots on this board.
+	 */
+	public Position getRandomFreePosition(Robot robot, Random random) throws IllegalStateException {
+		BigInteger nbSquares = BigInteger.valueOf(getWidth()).add(BigInteger.ONE)
+				.multiply(BigInteger.valueOf(getHeight()).add(BigInteger.ONE));
+		long nbObstacles = getKindIndex(Wall.class).size() + getKindIndex(Robot.class).size() + 1;
+		// Only sample at random if at least half of the squares is surely free.
+		if(nbSquares.compareTo(BigInteger.valueOf(nbObstacles).shiftLeft(1)) >= 0) {
+			for(int attempt = 0; attempt < getMaxNbRandomAttempts(); attempt++) {
+				long x = nextLong(random, getWidth());
+				long y = nextLong(random, getHeight());
+				if(!isOwnPosition(robot, x, y) && !containsObstacle(x, y, robot))
+					return Position.returnUniquePosition(x, y);
+			}
+		}
+		ArrayList<BigInteger> blocked = getBlockedSquares(robot);
+		BigInteger nbFree = nbSquares.subtract(BigInteger.valueOf(blocked.size()));
+		if(nbFree.signum() <= 0)
+			throw new IllegalStateException("No free position left on this board!");
+		BigInteger rank;
+		do {
+			rank = new BigInteger(nbFree.bitLength(), random);
+		} while(rank.compareTo(nbFree) >= 0);
+		// Skip over the blocked squares up to the chosen rank, in the order of their index.
+		for(BigInteger index : blocked) {
+			if(index.compareTo(rank) > 0)
+				break;
+			rank = rank.add(BigInteger.ONE);
 		}
-		return position;
+		BigInteger[] coordinates = rank.divideAndRemainder(BigInteger.valueOf(getWidth()).add(BigInteger.ONE));
+		return Position.returnUniquePosition(coordinates[1].longValue(), coordinates[0].longValue());
+	}
+	
+	/**
+	 * Return the number of squares drawn at random before getRandomFreePosition looks up a free square by its rank.
+	 */
+	@Basic @Immutable @Model
+	private static int getMaxNbRandomAttempts() {
+		return 64;
+	}
+	
+	/**
+	 * Check whether the square with the given coordinates is the position of the given robot.
+	 */
+	@Model
+	private static boolean isOwnPosition(Robot robot, long x, long y) {
+		return robot.getPosition() != null && robot.getPosition().getX() == x && robot.getPosition().getY() == y;
+	}
+	
+	/**
+	 * Return the sorted indexes, counted row by row, of all squares on this board that are not free for the given robot.
+	 * 
+	 * @return	...
+	 * 			|for each x in 0..getWidth(), y in 0..getHeight() :
+	 * 			|	result.contains(y*(getWidth()+1)+x) == (containsObstacle(x, y, robot) || isOwnPosition(robot, x, y))
+	 * @note	Only walls and robots can be obstacles for a robot.
+	 */
+	@Model
+	private ArrayList<BigInteger> getBlockedSquares(Robot robot) {
+		BigInteger rowLength = BigInteger.valueOf(getWidth()).add(BigInteger.ONE);
+		TreeSet<BigInteger> blocked = new TreeSet<BigInteger>();
+		ArrayList<Position> candidates = new ArrayList<Position>();
+		for(Entity wall : getKindIndex(Wall.class))
+			candidates.add(wall.getPosition());
+		for(Entity other : getKindIndex(Robot.class))
+			candidates.add(other.getPosition());
+		if(robot.getPosition() != null && isValidPosition(robot.getPosition()))
+			candidates.add(robot.getPosition());
+		for(Position position : candidates)
+			if(isOwnPosition(robot, position.getX(), position.getY()) || containsObstacle(position, robot))
+				blocked.add(BigInteger.valueOf(position.getY()).multiply(rowLength).add(BigInteger.valueOf(position.getX())));
+		return new ArrayList<BigInteger>(blocked);
+	}
+	
+	/**
+	 * Return a long chosen uniformly between 0 and the given bound, both inclusive.
+	 * 
+	 * @param 	random
+	 * 			...
+	 * @param 	bound
+	 * 			...
+	 * @pre		...
+	 * 			|bound >= 0
+	 * @return	...
+	 * 			|result >= 0 && result <= bound
+	 */
+	@Model
+	private static long nextLong(Random random, long bound) {
+		assert bound >= 0;
+		if(bound == Long.MAX_VALUE)
+			return random.nextLong() & Long.MAX_VALUE;
+		long range = bound + 1;
+		long bits, value;
+		do {
+			bits = random.nextLong() >>> 1;
+			value = bits % range;
+		} while(bits - value + (range - 1) < 0);
+		return value;
 	}
 	
 	/**
@@ -413,13 +1116,14 @@ public class Board extends Deletable {
 	 * 			|	result == item
 	 * @throws	NullPointerException
 	 * 			...
-	 * 			|!getEntitiesOnBoard().containsKey(position)
+	 * 			|!containsEntity(position)
 	 */
 	public Item getRandomItemOnPosition(Position position) throws NullPointerException {
-		if(!getEntitiesOnBoard().containsKey(position))
+		ArrayList<Entity> entities = getEntitiesOnPosition(position);
+		if(entities == null)
 			throw new NullPointerException("No items on this position!");
 		Item item = null;
-		for(Entity entity : getEntitiesOnPosition(position)){
+		for(Entity entity : entities){
 			if(Item.class.isInstance(entity))
 				item = (Item) entity;
 		}
@@ -434,7 +1138,7 @@ public class Board extends Deletable {
 	 * @param 	y
 	 * 			...
 	 * @return 	... 
-	 * 			|result == getEntitiesOnBoard().get(position)
+	 * 			|result == getEntitiesOnSquare(position.getX(), position.getY())
 	 * @throws 	IllegalArgumentException
 	 *          ... 
 	 *          |!isValidPosition(position)
@@ -442,7 +1146,7 @@ public class Board extends Deletable {
 	private ArrayList<Entity> getEntitiesOnPosition(Position position) throws IllegalArgumentException {
 		if (!isValidPosition(position))
 			throw new IllegalArgumentException();
-		return getEntitiesOnBoard().get(position);
+		return getEntitiesOnSquare(position.getX(), position.getY());
 	}
 
 	/**
@@ -451,15 +1155,33 @@ public class Board extends Deletable {
 	 * @param 	position
 	 * 			...
 	 * @return	...
-	 * 			|result == getEntitiesOnBoard().containsKey(position)
+	 * 			|result == (getEntitiesOnPosition(position) != null)
 	 * @throws 	IllegalArgumentException
 	 * 			...
 	 * 			|!isValidPosition(position)
 	 */
 	public boolean containsEntity(Position position) throws IllegalArgumentException {
-		if (!isValidPosition(position))
+		return containsEntity(position.getX(), position.getY());
+	}
+	
+	/**
+	 * ...
+	 * 
+	 * @param 	x
+	 * 			...
+	 * @param 	y
+	 * 			...
+	 * @return	...
+	 * 			|result == containsEntity(Position.returnUniquePosition(x,y))
+	 * @throws 	IllegalArgumentException
+	 * 			...
+	 * 			|!isValidPosition(x,y)
+	 */
+	public boolean containsEntity(long x, long y) throws IllegalArgumentException {
+		if (!isValidPosition(x, y))
 			throw new IllegalArgumentException("Position out-of-bounds!");
-		return getEntitiesOnBoard().containsKey(position);
+		Tile tile = getTile(x, y);
+		return tile != null && tile.isOccupied(Tile.toIndex(x, y));
 	}
 	
 	/**
@@ -468,7 +1190,7 @@ public class Board extends Deletable {
 	 * @param	entity
 	 * 			...
 	 * @return	...
-	 * 			|for each position in getEntitiesOnBoard().keySet() :
+	 * 			|for each position in getOccupiedPositions() :
 	 * 			|	 for each onBoard in getEntitiesOnPosition(position) :
 	 * 			|		if(onBoard == entity) 
 	 * 			|			then result == true 
@@ -476,11 +1198,7 @@ public class Board extends Deletable {
 	 */			
 	@Model
 	private boolean containsEntity(Entity entity) {
-		for(Position position : getEntitiesOnBoard().keySet())
-			for(Entity onBoard : getEntitiesOnPosition(position))
-				if(onBoard == entity)
-					return true;
-		return false;
+		return getPositionsOfEntities().containsKey(entity);
 	}
 	
 	
@@ -492,22 +1210,29 @@ public class Board extends Deletable {
 	 * @return	...
 	 * 			|let
 	 * 			|	HashSet<Entity> entities = new HashSet<Entity>()
-	 * 			|	for each position in getEntitiesOnBoard().keySet() :
-	 * 			|		for each entity in getEntitiesOnBoard().get(position) :
+	 * 			|	for each position in getOccupiedPositions() :
+	 * 			|		for each entity in getEntitiesOnPosition(position) :
 	 * 			|			if(clazz.isInstance(entity) then entities.add(entity.clone())
 	 * 			|in
 	 * 			|	result == entities
 	 */
 	public HashSet<Entity> getEntitiesOfSpecifiedKindOnBoard(Class<? extends Entity> clazz) {
-		HashSet<Entity> entities = new HashSet<Entity>();
-		for(Position position : getEntitiesOnBoard().keySet()){
-			for(Entity entity: getEntitiesOnBoard().get(position)){
-				if(clazz.isInstance(entity)){
-					entities.add(entity);
-				}
-			}
-		}
-		return entities;
+		return new HashSet<Entity>(getKindIndex(clazz));
+	}
+	
+	/**
+	 * Return a read-only view of the entities on this board that are instances of the given class.
+	 * The view follows all later changes to this board.
+	 * 
+	 * @param 	clazz
+	 * 			...
+	 * @return	...
+	 * 			|result.equals(getEntitiesOfSpecifiedKindOnBoard(clazz))
+	 * @note	The view can't be iterated over while entities are put on or removed from this board.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends Entity> Set<T> getEntitiesOfSpecifiedKindView(Class<T> clazz) {
+		return Collections.unmodifiableSet((Set<T>) getKindIndex(clazz));
 	}
 	
 	/**
@@ -518,7 +1243,7 @@ public class Board extends Deletable {
 	 * @param 	clazz
 	 * 			...
 	 * @return	...
-	 * 			|if(!getEntitiesOnBoard().containsKey(position))
+	 * 			|if(!containsEntity(position))
 	 *			|	result == false
 	 *			|for(Entity entity : getEntitiesOnPosition(position))
 	 *			|	if(clazz.isInstance(entity))
@@ -526,9 +1251,10 @@ public class Board extends Deletable {
 	 *			|result == false
 	 */
 	public boolean containsEntityOfSpecifiedKindOnPosition(Position position, Class<? extends Entity> clazz) {
-		if(!getEntitiesOnBoard().containsKey(position))
+		ArrayList<Entity> entities = getEntitiesOnPosition(position);
+		if(entities == null)
 			return false;
-		for(Entity entity : getEntitiesOnPosition(position))
+		for(Entity entity : entities)
 			if(clazz.isInstance(entity))
 				return true;
 		return false;
@@ -546,9 +1272,9 @@ public class Board extends Deletable {
 	 * @effect 	...
 	 * 			|let
 	 * 			|	ArrayList<Entity> transfers = new ArrayList<Entity>()
-	 * 			|	for each position in secondBoard.getEntitiesOnBoard().keySet()
+	 * 			|	for each position in secondBoard.getOccupiedPositions()
 	 *         	| 		if(firstBoard.isValidPosition(position)) 
-	 *         	| 			then for each entity in secondBoard.getEntitiesOnBoard().get(position)
+	 *         	| 			then for each entity in secondBoard.getEntitiesOnPosition(position)
 	 *         	|				if(!firstBoard.containsObstacle(position,entity) 
 	 *         	|		 			then transfers.add(entity)
 	 *         	|in
@@ -567,9 +1293,9 @@ public class Board extends Deletable {
 		ArrayList<Entity> transfers = new ArrayList<Entity>();
         // For each position, if valid position on firstBoard, and not occupied, put then entity in
 	    // the ArrayList transfers.
-        for (Position position : secondBoard.getEntitiesOnBoard().keySet())
+        for (Position position : secondBoard.getOccupiedPositions())
             if (firstBoard.isValidPosition(position))
-                for (Entity entity : secondBoard.getEntitiesOnBoard().get(position)) {
+                for (Entity entity : secondBoard.getEntitiesOnPosition(position)) {
                     if(!firstBoard.containsObstacle(position,entity)) {
                         transfers.add(entity);
                     }
@@ -588,8 +1314,8 @@ public class Board extends Deletable {
 	 * @effect 	... 
 	 * 			|let
 	 * 			|	ArrayList<Entity> trashCan = new ArrayList<Entity>()
-	 * 			|	for each position in getEntitiesOnBoard().keySet()
-	 * 			|		for each entity in getEntitiesOnBoard().get(position) 
+	 * 			|	for each position in getOccupiedPositions()
+	 * 			|		for each entity in getEntitiesOnPosition(position) 
 	 * 			|		 	trashCan.add(entity)
 	 * 			|in
 	 * 			|	for each entity in trashCan :
@@ -599,13 +1325,8 @@ public class Board extends Deletable {
 	 */
 	@Raw
 	public void terminate() {
-		ArrayList<Entity> trashCan = new ArrayList<Entity>();
         //Put all elements to be terminated in the trashcan.
-		for (Position position : getEntitiesOnBoard().keySet()){
-            for (Entity entity: getEntitiesOnBoard().get(position)){
-            	  trashCan.add(entity);
-            }
-        }
+		ArrayList<Entity> trashCan = getEntities();
         //Terminate all elements in trashcan.
 		for(Entity entity: trashCan) 
         	entity.terminate();
@@ -621,82 +1342,76 @@ public class Board extends Deletable {
 	 * @param 	robot
 	 * 			...
 	 * @return	...
-	 * 			|let
-	 * 			|	ArrayList<Position> allStartPositions = new ArrayList<Position>()
-	 * 			|	int size = 0
-	 * 			|	trueOrFalse = false
-	 * 			|in
-	 * 			|	allStartPositions.add(position)
-	 * 			|	for each index in 0..getWidth()*getHeight() :
-	 * 			|		if(allStartPositions.size() != size)
-	 * 			|			let
-	 * 			|				int i = size
-	 * 			|				size = allStartPositions.size()
-	 * 			|			in
-	 * 			|				for each index in i..size :
-	 * 			|					for each iterate in getAdjacentSquares(allStartPositions.get(index),robot)) :
-	 * 			|						if(!allStartPositions.contains(iterate)) then allStartPositions.add(iterate)
-	 * 			|			if(allStartPositions.contains(robot.getPosition())) then trueOrFalse = true
-	 * 			|	result == trueOrFalse
+	 * 			|result == (!containsObstacle(position, robot) && robot.getBoard() == this
+	 * 			|			&& position can be reached from robot.getPosition() through squares without obstacles for robot)
 	 * @throws	IllegalArgumentException
 	 * 			The given position is out of bounds.
 	 * 			|!(isValidPosition(position))
+	 * @note	Walls are looked up in the labels of free space, so squares that walls keep apart are told apart without any search.
+	 * 			Only when other robots are on this board, and could be in the way, do both squares search towards each other.
 	 */
 	public boolean isPositionReachableForRobot(Position position, Robot robot) throws IllegalArgumentException {
 		if(!isValidPosition(position))
 			throw new IllegalArgumentException("Given position is out of bounds!");
 		if(containsObstacle(position, robot))
 			return false;
-		ArrayList<Position> allStartPositions = new ArrayList<Position>();
-		int size = 0;
-		allStartPositions.add(position);
-		while(allStartPositions.size() != size){
-			int i = size;
-			size = allStartPositions.size();
-			while(i < size){
-				for(Position iterate: getAdjacentSquares(allStartPositions.get(i),robot)){
-					if(!allStartPositions.contains(iterate))
-						allStartPositions.add(iterate);
-				}
-				i++;
-			}
-			if(allStartPositions.contains(robot.getPosition()))
-				return true;
-		}
-		return false;
+		Position start = getPositionsOfEntities().get(robot);
+		if(start == null)
+			return false;
+		if(getFreeSpace().areSeparated(start.getX(), start.getY(), position.getX(), position.getY()))
+			return false;
+		if(getFreeSpace().isLabelled() && getKindIndex(Robot.class).size() == 1)
+			return true;
+		return isConnectedFor(robot, start.getX(), start.getY(), position.getX(), position.getY());
 	}
 	
 	/**
-	 * Return a matrix with the coordinates of the four squares adjacent to a given position.
+	 * Check whether the given entity can get from the first to the second square with the given coordinates, through squares
+	 * without obstacles for it.
+	 * Both squares search towards each other, always from the side with the smaller frontier and always going on from the square
+	 * closest to the other side, so that a side that is closed in runs out fast and open sides meet along a short way.
 	 * 
-	 * @param 	position
-	 * 			...
-	 * @param	entity
-	 * 			...
-	 * @return	...
-	 * 			|let
-	 * 			|	ArrayList<Position> squares = new ArrayList<Position>()
-	 * 			|	for each index in {-1, 1} :
-	 * 			|		Position target = Position.returnUniquePosition(position.getX()+index,position.getY())
-	 * 			|		if(isValidPosition(target) && !containsObstacle(target, entity))
-	 * 			|			then squares.add(target)
-	 * 			|		target = Position.returnUniquePosition(position.getX(),position.getY()+index)
-	 * 			|		if(isValidPosition(target) && !containsObstacle(target, entity))
-	 * 			|			then squares.add(target)
-	 * 			|in
-	 * 			|	result == squares
-	 */
-	private ArrayList<Position> getAdjacentSquares(Position position, Entity entity) {
-		ArrayList<Position> squares = new ArrayList<Position>();
-		for(int i=-1;i<=1;i+=2) {
-			Position target = Position.returnUniquePosition(position.getX()+i,position.getY());
-			if(isValidPosition(target) && !containsObstacle(target, entity)) 
-				squares.add(target);
-			target = Position.returnUniquePosition(position.getX(),position.getY()+i);
-			if(isValidPosition(target) && !containsObstacle(target, entity)) 
-				squares.add(target);
+	 * @pre		...
+	 * 			|!containsObstacle(x1, y1, entity) && !containsObstacle(x2, y2, entity)
+	 */
+	@Model
+	private boolean isConnectedFor(Entity entity, long x1, long y1, long x2, long y2) {
+		if(x1 == x2 && y1 == y2)
+			return true;
+		Comparator<long[]> closestFirst = new Comparator<long[]>() {
+			@Override
+			public int compare(long[] square1, long[] square2) {
+				return (square1[0] < square2[0]) ? -1 : ((square1[0] == square2[0]) ? 0 : 1);
+			}
+		};
+		CoordinateMap<Integer> sides = new CoordinateMap<Integer>();
+		ArrayList<PriorityQueue<long[]>> frontiers = new ArrayList<PriorityQueue<long[]>>();
+		long[][] targets = {{x2, y2}, {x1, y1}};
+		for(int side = 0; side < 2; side++) {
+			frontiers.add(new PriorityQueue<long[]>(16, closestFirst));
+			long[] origin = targets[1 - side];
+			frontiers.get(side).add(new long[]{0, origin[0], origin[1]});
+			sides.put(origin[0], origin[1], side);
 		}
-		return squares;	
+		while(!frontiers.get(0).isEmpty() && !frontiers.get(1).isEmpty()) {
+			int side = (frontiers.get(0).size() <= frontiers.get(1).size()) ? 0 : 1;
+			long[] square = frontiers.get(side).poll();
+			for(int i = -1; i <= 1; i += 2)
+				for(int j = 0; j < 2; j++) {
+					long x = square[1] + ((j == 0) ? i : 0);
+					long y = square[2] + ((j == 1) ? i : 0);
+					if(!isValidPosition(x, y) || containsObstacle(x, y, entity))
+						continue;
+					Integer seen = sides.get(x, y);
+					if(seen == null) {
+						sides.put(x, y, side);
+						frontiers.get(side).add(new long[]{Math.abs(x - targets[side][0]) + Math.abs(y - targets[side][1]), x, y});
+					}
+					else if(seen != side)
+						return true;
+				}
+		}
+		return false;
 	}
 	
 	/**
@@ -719,7 +1434,7 @@ public class Board extends Deletable {
 	 * 
 	 */
 	public Iterator<Entity> getElementsOnCondition(final Inspector inspector) throws Exception {
-		if(getEntitiesOnBoard().isEmpty())
+		if(getTiles().isEmpty())
 			throw new NullPointerException("Board is empty!");
 		return new Iterator<Entity>(){
 
@@ -727,18 +1442,13 @@ public class Board extends Deletable {
 			public boolean hasNext() {
 				if(nextCalculated)
 					return true;
-				if(entitiesOnPositionIterator.hasNext()){
-					Entity temp = entitiesOnPositionIterator.next();
+				while(entityIterator.hasNext()){
+					Entity temp = entityIterator.next();
 					if(inspector.inspect(temp)){
 						next = temp;
 						nextCalculated = true;
 						return true;
 					}
-					else return this.hasNext();
-				}
-				else if(positionIterator.hasNext()){
-					entitiesOnPositionIterator = getEntitiesOnPosition(positionIterator.next()).iterator();
-					return this.hasNext();
 				}
 				return false;	
 			}
@@ -762,8 +1472,7 @@ public class Board extends Deletable {
 				
 			}
 			
-			private Iterator<Position> positionIterator = getEntitiesOnBoard().keySet().iterator();
-			private Iterator<Entity> entitiesOnPositionIterator = getEntitiesOnPosition(positionIterator.next()).iterator();
+			private Iterator<Entity> entityIterator = getEntities().iterator();
 			private Entity next = null;
 			private boolean nextCalculated = false;
 			
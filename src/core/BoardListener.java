@@ -0,0 +1,15 @@
+package core;
+
+/**
+ * An interface for objects that want to be told about each square of a board on which an entity is put or from which
+ * an entity is removed.
+ *
+ * @author 	Brecht Gossel & William Mauclet
+ * 			2BiR: wtk-cws (Gossel) en cws-elt(Mauclet)
+ * @version	3.0
+ */
+public interface BoardListener {
+
+	public void squareChanged(Board board, long x, long y);
+
+}
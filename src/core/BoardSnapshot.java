@@ -0,0 +1,70 @@
+package core;
+
+import Auxiliary.CoordinateMap;
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Immutable;
+
+/**
+ * A class of snapshots of the obstacles for robots on a board: the size of the board, and for each tile the squares
+ * that held a wall or a robot when the snapshot was taken.
+ * A snapshot never changes, whatever happens to its board afterwards, so any number of threads can search it at the same time.
+ *
+ * @invar	The width and height of a snapshot are those of its board when it was taken.
+ * 			|getWidth() > 0 && getHeight() > 0
+ *
+ * @author 	Brecht Gossel & William Mauclet
+ * 			2BiR: wtk-cws (Gossel) en cws-elt(Mauclet)
+ * @version	3.0
+ */
+@Immutable
+public class BoardSnapshot {
+
+	private final long width;
+	private final long height;
+	private final CoordinateMap<long[]> wallsAndRobots = new CoordinateMap<long[]>();
+
+	/**
+	 * Initialize this new snapshot with the given width and height, and the walls and robots of the given tiles.
+	 */
+	BoardSnapshot(long width, long height, Iterable<Tile> tiles) {
+		this.width = width;
+		this.height = height;
+		for(Tile tile : tiles)
+			wallsAndRobots.put(tile.getTileX(), tile.getTileY(), tile.getWallsAndRobots());
+	}
+
+	/**
+	 * ...
+	 */
+	@Basic @Immutable
+	public long getWidth() {
+		return width;
+	}
+
+	/**
+	 * ...
+	 */
+	@Basic @Immutable
+	public long getHeight() {
+		return height;
+	}
+
+	/**
+	 * ...
+	 *
+	 * @return	...
+	 * 			|result == (x >= 0 && x <= getWidth() && y >= 0 && y <= getHeight())
+	 */
+	public boolean isValidPosition(long x, long y) {
+		return x >= 0 && x <= getWidth() && y >= 0 && y <= getHeight();
+	}
+
+	/**
+	 * Check whether the square with the given coordinates held a wall or a robot when this snapshot was taken.
+	 */
+	public boolean containsWallOrRobot(long x, long y) {
+		long[] bitmap = wallsAndRobots.get(Tile.toTileCoordinate(x), Tile.toTileCoordinate(y));
+		return bitmap != null && Tile.isMarked(bitmap, Tile.toIndex(x, y));
+	}
+
+}
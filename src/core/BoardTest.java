@@ -4,6 +4,8 @@ import static org.junit.Assert.*;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
 
 
 
@@ -209,6 +211,52 @@ public class BoardTest {
 		assertFalse(boardH500W500.getEntitiesOfSpecifiedKindOnBoard(Wall.class).contains(battery));
 		assertFalse(boardH500W500.getEntitiesOfSpecifiedKindOnBoard(Wall.class).contains(robot));
 	}
+	
+	@Test
+	public void satisfiesInvariants_whileAuditing(){
+		Board.setAuditing(true);
+		try {
+			boardH500W500.putEntity(positionX2Y5, battery);
+			boardH500W500.putEntity(positionX2Y5, robot);
+			boardH500W500.putEntity(Position.returnUniquePosition(1,1), wall);
+			Board other = new Board(10, 10);
+			other.putEntity(positionX2Y5, robot);
+			boardH500W500.removeEntity(battery);
+			assertTrue(boardH500W500.satisfiesInvariants());
+			assertTrue(other.satisfiesInvariants());
+			assertFalse(boardH500W500.containsEntity(positionX2Y5));
+			assertTrue(other.containsEntity(positionX2Y5));
+		}
+		finally {
+			Board.setAuditing(false);
+		}
+	}
+	
+	@Test (expected = NullPointerException.class)
+	public void removeEntity_onOtherBoard(){
+		Board other = new Board(10, 10);
+		other.putEntity(positionX2Y5, robot);
+		boardH500W500.removeEntity(robot);
+	}
+	
+	@Test
+	public void getEntitiesOfSpecifiedKindView_followsBoard(){
+		Set<Item> items = boardH500W500.getEntitiesOfSpecifiedKindView(Item.class);
+		assertTrue(items.isEmpty());
+		boardH500W500.putEntity(positionX2Y5, battery);
+		boardH500W500.putEntity(positionX2Y5, robot);
+		assertEquals(1, items.size());
+		assertTrue(items.contains(battery));
+		assertTrue(boardH500W500.getEntitiesOfSpecifiedKindView(EnergyHolder.class).contains(battery));
+		assertEquals(2, boardH500W500.getEntitiesOfSpecifiedKindView(Entity.class).size());
+		boardH500W500.removeEntity(battery);
+		assertTrue(items.isEmpty());
+	}
+	
+	@Test (expected = UnsupportedOperationException.class)
+	public void getEntitiesOfSpecifiedKindView_readOnly(){
+		boardH500W500.getEntitiesOfSpecifiedKindView(Robot.class).add(robot);
+	}
 		
 	@Test
 	public void isPositionReachable(){
@@ -221,6 +269,62 @@ public class BoardTest {
 		assertFalse(boardH500W500.isPositionReachableForRobot(Position.returnUniquePosition(0, 0), robot));
 	}
 	
+	@Test
+	public void isPositionReachable_pocketOpenedAgain(){
+		boardH500W500.putEntity(Position.returnUniquePosition(5,5), robot);
+		Wall door = new Wall();
+		for(long x = 99; x <= 101; x++)
+			for(long y = 99; y <= 101; y++)
+				if(x != 100 || y != 100)
+					boardH500W500.putEntity(Position.returnUniquePosition(x,y), (x == 101 && y == 100) ? door : new Wall());
+		assertFalse(boardH500W500.isPositionReachableForRobot(Position.returnUniquePosition(100, 100), robot));
+		boardH500W500.removeEntity(door);
+		assertTrue(boardH500W500.isPositionReachableForRobot(Position.returnUniquePosition(100, 100), robot));
+	}
+	
+	@Test
+	public void isPositionReachable_closedInByRobots(){
+		boardH500W500.putEntity(Position.returnUniquePosition(0,0), robot);
+		boardH500W500.putEntity(Position.returnUniquePosition(1,0), new Robot(Orientation.UP, new EnergyAmount(100, EnergyUnit.WATTSECOND)));
+		boardH500W500.putEntity(Position.returnUniquePosition(0,1), new Robot(Orientation.UP, new EnergyAmount(100, EnergyUnit.WATTSECOND)));
+		assertFalse(boardH500W500.isPositionReachableForRobot(Position.returnUniquePosition(300, 300), robot));
+	}
+	
+	@Test
+	public void isPositionReachable_sameAsFloodWhileWallsChange(){
+		Random random = new Random(7);
+		Board board = new Board(9, 9);
+		board.putEntity(Position.returnUniquePosition(0,0), robot);
+		Wall[] walls = new Wall[60];
+		for(int step = 0; step < 600; step++) {
+			int i = random.nextInt(walls.length);
+			if(walls[i] != null) {
+				board.removeEntity(walls[i]);
+				walls[i] = null;
+			}
+			else {
+				Position position = Position.returnUniquePosition(random.nextInt(10), random.nextInt(10));
+				if(board.containsEntity(position))
+					continue;
+				walls[i] = new Wall();
+				board.putEntity(position, walls[i]);
+			}
+			boolean[][] reached = new boolean[10][10];
+			reached[0][0] = true;
+			for(boolean changed = true; changed; ) {
+				changed = false;
+				for(int x = 0; x <= 9; x++)
+					for(int y = 0; y <= 9; y++)
+						if(!reached[x][y] && !board.containsEntity(Position.returnUniquePosition(x,y))
+								&& ((x > 0 && reached[x-1][y]) || (x < 9 && reached[x+1][y]) || (y > 0 && reached[x][y-1]) || (y < 9 && reached[x][y+1])))
+							changed = reached[x][y] = true;
+			}
+			for(int x = 0; x <= 9; x++)
+				for(int y = 0; y <= 9; y++)
+					assertEquals(reached[x][y], board.isPositionReachableForRobot(Position.returnUniquePosition(x,y), robot));
+		}
+	}
+	
 	@Test
 	public void returnFirstOccupiedPosition() {
 		Robot robotOne = new Robot(Orientation.UP, new EnergyAmount(10000, EnergyUnit.WATTSECOND));
@@ -230,6 +334,31 @@ public class BoardTest {
 		assertEquals(boardH500W500.returnFirstOccupiedPositionInDirection(robotOne),robotTwo.getPosition());
 	}
 	
+	@Test
+	public void returnFirstOccupiedPosition_beyondIntegerRange() {
+		Board board = new Board(Long.MAX_VALUE, Long.MAX_VALUE);
+		Robot shooter = new Robot(Orientation.RIGHT, new EnergyAmount(10000, EnergyUnit.WATTSECOND));
+		board.putEntity(Position.returnUniquePosition(3, 7), shooter);
+		board.putEntity(Position.returnUniquePosition(Long.MAX_VALUE - 1, 7), wall);
+		board.putEntity(Position.returnUniquePosition(2, 7), battery);
+		assertEquals(Position.returnUniquePosition(Long.MAX_VALUE - 1, 7), board.returnFirstOccupiedPositionInDirection(shooter));
+		board.removeEntity(wall);
+		board.putEntity(Position.returnUniquePosition(Long.MAX_VALUE - 1, 7), battery);
+		assertEquals(Position.returnUniquePosition(Long.MAX_VALUE - 1, 7), board.returnFirstOccupiedPositionInDirection(shooter));
+		assertTrue(board.satisfiesInvariants());
+	}
+	
+	@Test (expected = NullPointerException.class)
+	public void returnFirstOccupiedPosition_squareFreedAgain() {
+		Robot shooter = new Robot(Orientation.LEFT, new EnergyAmount(10000, EnergyUnit.WATTSECOND));
+		boardH500W500.putEntity(Position.returnUniquePosition(300, 7), shooter);
+		boardH500W500.putEntity(Position.returnUniquePosition(2, 7), battery);
+		boardH500W500.putEntity(Position.returnUniquePosition(2, 7), robot);
+		boardH500W500.removeEntity(battery);
+		boardH500W500.removeEntity(robot);
+		boardH500W500.returnFirstOccupiedPositionInDirection(shooter);
+	}
+	
 	@Test (expected = NullPointerException.class)
 	public void removeEntity_null() throws Exception{
 		boardH500W500.removeEntity(null);
@@ -269,6 +398,40 @@ public class BoardTest {
 		assertFalse(boardH500W500.containsEntity(position));
 	}
 	
+	@Test
+	public void getRandomFreePosition_crowdedBoard() {
+		Board board = new Board(1, 1);
+		board.putEntity(Position.returnUniquePosition(0, 0), robot);
+		board.putEntity(Position.returnUniquePosition(1, 0), wall);
+		board.putEntity(Position.returnUniquePosition(1, 1), battery);
+		Random random = new Random(42);
+		boolean[] found = new boolean[2];
+		for(int i = 0; i < 100; i++) {
+			Position position = board.getRandomFreePosition(robot, random);
+			assertEquals(1, position.getY());
+			found[(int) position.getX()] = true;
+		}
+		assertTrue(found[0] && found[1]);
+	}
+	
+	@Test (expected = IllegalStateException.class)
+	public void getRandomFreePosition_fullBoard() {
+		Board board = new Board(1, 1);
+		board.putEntity(Position.returnUniquePosition(0, 0), robot);
+		board.putEntity(Position.returnUniquePosition(1, 0), wall);
+		board.putEntity(Position.returnUniquePosition(0, 1), new Wall());
+		board.putEntity(Position.returnUniquePosition(1, 1), new Robot(Orientation.UP, new EnergyAmount(100, EnergyUnit.WATTSECOND)));
+		board.getRandomFreePosition(robot, new Random(7));
+	}
+	
+	@Test
+	public void getRandomFreePosition_spreadOverHugeBoard() {
+		Board board = new Board(Long.MAX_VALUE, Long.MAX_VALUE);
+		board.putEntity(positionX2Y5, robot);
+		Position position = board.getRandomFreePosition(robot, new Random(3));
+		assertTrue(position.getX() > Integer.MAX_VALUE || position.getY() > Integer.MAX_VALUE);
+	}
+	
 	@Test (expected = NullPointerException.class)
 	public void getRandomItemOnPosition_NoItemOnPosition() throws Exception {
 		boardH500W500.getRandomItemOnPosition(Position.returnUniquePosition(15, 16));
@@ -371,6 +534,92 @@ public class BoardTest {
 		assertFalse(iterator.hasNext());
 	}
 	
+	@Test
+	public void containsObstacle_coordinates() {
+		boardH500W500.putEntity(positionX2Y5, wall);
+		boardH500W500.putEntity(Position.returnUniquePosition(3,5), battery);
+		assertTrue(boardH500W500.containsObstacle(2, 5, robot));
+		assertFalse(boardH500W500.containsObstacle(3, 5, robot));
+		assertFalse(boardH500W500.containsObstacle(499, 498, robot));
+		assertTrue(boardH500W500.containsEntity(3, 5));
+		assertFalse(boardH500W500.containsEntity(4, 5));
+	}
+	
+	@Test
+	public void containsObstacle_perKindOfEntity() {
+		Robot other = new Robot(Orientation.LEFT, new EnergyAmount(1000, EnergyUnit.WATTSECOND));
+		Position positionX3Y5 = Position.returnUniquePosition(3, 5);
+		boardH500W500.putEntity(positionX2Y5, robot);
+		boardH500W500.putEntity(positionX2Y5, battery);
+		boardH500W500.putEntity(positionX3Y5, wall);
+		assertFalse(boardH500W500.containsObstacle(positionX2Y5, robot));
+		assertTrue(boardH500W500.containsObstacle(positionX2Y5, other));
+		assertTrue(boardH500W500.containsObstacle(positionX2Y5, new Wall()));
+		assertFalse(boardH500W500.containsObstacle(positionX2Y5, new Battery(new EnergyAmount(10, EnergyUnit.WATTSECOND), 10)));
+		assertTrue(boardH500W500.containsObstacle(positionX3Y5, robot));
+		assertTrue(boardH500W500.containsObstacle(positionX3Y5, battery));
+		boardH500W500.removeEntity(robot);
+		assertFalse(boardH500W500.containsObstacle(positionX2Y5, other));
+		boardH500W500.removeEntity(wall);
+		assertFalse(boardH500W500.containsObstacle(positionX3Y5, robot));
+	}
+	
+	@Test (expected = IllegalArgumentException.class)
+	public void containsEntity_coordinatesOutOfBounds() {
+		boardH500W500.containsEntity(-1, 5);
+	}
+	
+	@Test
+	public void getEnergiesRequiredToReach_sameAsOneSearchPerSquare() {
+		Board board = new Board(20, 20);
+		Random random = new Random(5);
+		for(int i = 0; i < 60; i++) {
+			Position position = Position.returnUniquePosition(random.nextInt(21), random.nextInt(21));
+			if(!board.containsEntity(position))
+				board.putEntity(position, new Wall());
+		}
+		Robot[] robots = new Robot[5];
+		for(int i = 0; i < robots.length; i++) {
+			robots[i] = new Robot(Orientation.getOrientation(i % 4), new EnergyAmount(5000 + 1000 * i, EnergyUnit.WATTSECOND));
+			board.putEntity(board.getRandomFreePosition(robots[i], random), robots[i]);
+		}
+		Robot elsewhere = new Robot(Orientation.UP, new EnergyAmount(5000, EnergyUnit.WATTSECOND));
+		boardH500W500.putEntity(positionX2Y5, elsewhere);
+		Robot[] all = {robots[0], robots[1], elsewhere, robots[2], robots[3], robots[4]};
+		long[] xs = new long[30];
+		long[] ys = new long[30];
+		for(int j = 0; j < xs.length; j++) {
+			xs[j] = random.nextInt(21);
+			ys[j] = random.nextInt(21);
+		}
+		xs[0] = 21;
+		double[][] costs = board.getEnergiesRequiredToReach(all, xs, ys);
+		assertEquals(all.length, costs.length);
+		for(int i = 0; i < all.length; i++)
+			for(int j = 0; j < xs.length; j++) {
+				double expected = (all[i] == elsewhere || j == 0) ? -1 : new PathFinder(all[i]).searchTo(xs[j], ys[j]);
+				assertEquals(expected, costs[i][j], 0);
+			}
+	}
+	
+	@Test
+	public void putAndRemoveEntity_farApartOnHugeBoard() {
+		Board board = new Board(Long.MAX_VALUE, Long.MAX_VALUE);
+		Position far = Position.returnUniquePosition(Long.MAX_VALUE, Long.MAX_VALUE - 1);
+		board.putEntity(positionX2Y5, wall);
+		board.putEntity(far, battery);
+		board.putEntity(far, robot);
+		assertTrue(board.containsEntity(far));
+		assertTrue(board.containsEntity(2, 5));
+		assertFalse(board.containsEntity(Long.MAX_VALUE, Long.MAX_VALUE));
+		board.removeEntity(battery);
+		assertTrue(board.containsEntity(far));
+		assertFalse(board.containsEntityOfSpecifiedKindOnPosition(far, Battery.class));
+		board.removeEntity(robot);
+		assertFalse(board.containsEntity(far));
+		assertEquals(1, board.getEntitiesOfSpecifiedKindOnBoard(Entity.class).size());
+	}
+	
 	@Test (expected = UnsupportedOperationException.class)
 	public void iterator_1EntityOnBoard_remove() throws Exception {
 		boardH500W500.putEntity(positionX2Y5, robot);
@@ -0,0 +1,515 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+import Auxiliary.CoordinateMap;
+import Auxiliary.MicroJoules;
+import Auxiliary.Orientation;
+import Auxiliary.StateHeap;
+import Auxiliary.UnionFind;
+import Commands.BasicCommand;
+import be.kuleuven.cs.som.annotate.Model;
+
+/**
+ * A class of cooperative planners, moving robots on the same board to target squares of their own at the same time,
+ * without any robot ever bumping into another one.
+ * Time goes by in steps, in each of which every robot moves, turns or waits. The robots are planned one after the other:
+ * each robot searches its cheapest path over states (square, orientation, step), avoiding the squares the robots planned
+ * before it occupy at each step, and then reserves the squares of its own path in a reservation table. A robot keeps its target
+ * reserved from the step it reaches it on. A square a robot is on can't be entered by another robot in the next step, so the
+ * robots can execute the commands of one step in any order.
+ * A robot only enters squares within its region, the rectangle of squares it can pass on its way to its target with its energy,
+ * however far it has to go around walls. Robots whose regions don't
+ * overlap can never meet, so each group of overlapping robots gets a reservation table of its own, and the groups are planned
+ * at the same time on one snapshot of the board.
+ *
+ * @invar	At no step two robots occupy the same square, and no robot moves onto a square another robot occupied the step before.
+ * 			|...
+ * @invar	The plan of a robot never costs more than its energy when it was planned.
+ * 			|...
+ *
+ * @author 	Brecht Gossel & William Mauclet
+ * 			2BiR: wtk-cws (Gossel) en cws-elt(Mauclet)
+ * @version	3.0
+ */
+public class CooperativePlanner {
+
+
+	private final BoardSnapshot snapshot;
+	private final Robot[] robots;
+	private final long[] xs;
+	private final long[] ys;
+	private final int[] orientations;
+	private final double[] energiesToMove;
+	private final double energyToTurn;
+	private final double[] energies;
+	private final long[] targetXs;
+	private final long[] targetYs;
+	private final long[][] regions;
+	private final CoordinateMap<Boolean> starts = new CoordinateMap<Boolean>();
+	private final BasicCommand[][] plans;
+
+	/**
+	 * Initialize this new planner for the given robots, each moving to the target square with the same index, and plan them.
+	 * Robots that are not planned by this planner are obstacles, just like walls.
+	 *
+	 * @param 	board
+	 * 			...
+	 * @param 	robots
+	 * 			...
+	 * @param 	targetXs
+	 * 			The x coordinates of the target squares of the robots, in the same order.
+	 * @param 	targetYs
+	 * 			The y coordinates of the target squares of the robots, in the same order.
+	 * @throws	IllegalArgumentException
+	 * 			...
+	 * 			|targetXs.length != robots.size() || targetYs.length != robots.size()
+	 * @throws	IllegalArgumentException
+	 * 			...
+	 * 			|for some robot in robots :
+	 * 			|	robot.getBoard() != board
+	 * @throws	IllegalArgumentException
+	 * 			...
+	 * 			|for some i in 0..robots.size()-1 :
+	 * 			|	!board.isValidPosition(targetXs[i], targetYs[i])
+	 */
+	public CooperativePlanner(Board board, List<Robot> robots, long[] targetXs, long[] targetYs) throws IllegalArgumentException {
+		int nbRobots = robots.size();
+		if(targetXs.length != nbRobots || targetYs.length != nbRobots)
+			throw new IllegalArgumentException("Every robot needs one target square!");
+		this.robots = robots.toArray(new Robot[nbRobots]);
+		this.targetXs = targetXs.clone();
+		this.targetYs = targetYs.clone();
+		xs = new long[nbRobots];
+		ys = new long[nbRobots];
+		orientations = new int[nbRobots];
+		energiesToMove = new double[nbRobots];
+		energies = new double[nbRobots];
+		energyToTurn = MicroJoules.toJoules(Robot.getEnergyToTurnInMicroJoules());
+		for(int i = 0; i < nbRobots; i++) {
+			Robot robot = this.robots[i];
+			if(robot.getBoard() != board)
+				throw new IllegalArgumentException("All robots must stand on the given board!");
+			if(!board.isValidPosition(targetXs[i], targetYs[i]))
+				throw new IllegalArgumentException("Given position is out of bounds!");
+			xs[i] = robot.getPosition().getX();
+			ys[i] = robot.getPosition().getY();
+			orientations[i] = robot.getOrientation().getIntOrientation();
+			energiesToMove[i] = MicroJoules.toJoules(robot.getEnergyToMoveInMicroJoules());
+			energies[i] = MicroJoules.toJoules(robot.getEnergyInMicroJoules());
+			starts.put(xs[i], ys[i], Boolean.TRUE);
+		}
+		snapshot = board.getSnapshot();
+		plans = new BasicCommand[nbRobots][];
+		regions = new long[nbRobots][];
+		for(int i = 0; i < nbRobots; i++)
+			regions[i] = getRegion(i);
+		int[][] groups = getGroups();
+		Plannings plannings = new Plannings(groups, 0, groups.length);
+		if(groups.length > 1)
+			Board.getSearchPool().invoke(plannings);
+		else
+			plannings.compute();
+	}
+
+	/**
+	 * Return the number of steps it takes until all robots of this planner have finished their plans.
+	 */
+	public int getNbSteps() {
+		int nbSteps = 0;
+		for(BasicCommand[] plan : plans)
+			if(plan != null)
+				nbSteps = Math.max(nbSteps, plan.length);
+		return nbSteps;
+	}
+
+	/**
+	 * Check whether the given robot is planned by this planner and reaches its target square.
+	 */
+	public boolean hasPlan(Robot robot) {
+		int index = getIndex(robot);
+		return index != -1 && plans[index] != null;
+	}
+
+	/**
+	 * Return the command the given robot executes in the given step, or null if it waits in that step.
+	 *
+	 * @param 	robot
+	 * 			...
+	 * @param 	step
+	 * 			...
+	 * @return	...
+	 * 			|if(!hasPlan(robot) || step >= getNbSteps()) then result == null
+	 */
+	public BasicCommand getCommand(Robot robot, int step) {
+		int index = getIndex(robot);
+		if(index == -1 || plans[index] == null || step < 0 || step >= plans[index].length)
+			return null;
+		return plans[index][step];
+	}
+
+	/**
+	 * Let all robots of this planner execute their plans, step by step.
+	 * The plans are only valid as long as nothing on the board and none of the robots changed since they were made.
+	 *
+	 * @effect	...
+	 * 			|for each step in 0..getNbSteps()-1 :
+	 * 			|	for each robot in the robots of this planner :
+	 * 			|		if(getCommand(robot, step) != null) then getCommand(robot, step).execute(robot)
+	 */
+	public void execute() {
+		int nbSteps = getNbSteps();
+		for(int step = 0; step < nbSteps; step++)
+			for(Robot robot : robots) {
+				BasicCommand command = getCommand(robot, step);
+				if(command != null)
+					command.execute(robot);
+			}
+	}
+
+	/**
+	 * Return the index of the given robot in this planner, or -1 if it is not planned by this planner.
+	 */
+	@Model
+	private int getIndex(Robot robot) {
+		for(int i = 0; i < robots.length; i++)
+			if(robots[i] == robot)
+				return i;
+		return -1;
+	}
+
+	/**
+	 * Return the region of the robot with the given index, as {lowest x, lowest y, highest x, highest y}: the rectangle around its
+	 * square and its target, widened on each side by the number of squares the robot can go out of its way and still pay for
+	 * getting back to its target, and clipped to the board. A square that many squares outside the rectangle around its square and
+	 * its target costs the robot that many moves there and as many back, on top of the moves of the straight path.
+	 * A robot that can't even pay for the straight path to its target only gets its own square.
+	 */
+	@Model
+	private long[] getRegion(int robot) {
+		if(PathFinder.getLeastCost(xs[robot], ys[robot], Orientation.getOrientation(orientations[robot]), targetXs[robot], targetYs[robot],
+				energiesToMove[robot], energyToTurn) > energies[robot])
+			return new long[] {xs[robot], ys[robot], xs[robot], ys[robot]};
+		//The straight path is affordable, so the distance to the target is far below Long.MAX_VALUE.
+		long distance = Math.abs(xs[robot] - targetXs[robot]) + Math.abs(ys[robot] - targetYs[robot]);
+		long slack = (long) Math.floor((energies[robot] / energiesToMove[robot] - distance) / 2);
+		return new long[] {Math.max(0, Math.min(xs[robot], targetXs[robot]) - slack), Math.max(0, Math.min(ys[robot], targetYs[robot]) - slack),
+				Math.min(snapshot.getWidth() - slack, Math.max(xs[robot], targetXs[robot])) + slack,
+				Math.min(snapshot.getHeight() - slack, Math.max(ys[robot], targetYs[robot])) + slack};
+	}
+
+	/**
+	 * Return the groups of robots whose regions overlap, each group listing its robots in the order of this planner.
+	 */
+	@Model
+	private int[][] getGroups() {
+		UnionFind sets = new UnionFind();
+		for(int i = 0; i < robots.length; i++)
+			sets.add();
+		for(int i = 0; i < robots.length; i++)
+			for(int j = i + 1; j < robots.length; j++)
+				if(regions[i][0] <= regions[j][2] && regions[j][0] <= regions[i][2] && regions[i][1] <= regions[j][3] && regions[j][1] <= regions[i][3])
+					sets.union(i, j);
+		int[] sizes = new int[robots.length];
+		for(int i = 0; i < robots.length; i++)
+			sizes[sets.find(i)]++;
+		ArrayList<int[]> groups = new ArrayList<int[]>();
+		int[] groupOf = new int[robots.length];
+		for(int i = 0; i < robots.length; i++)
+			if(sets.find(i) == i) {
+				groupOf[i] = groups.size();
+				groups.add(new int[sizes[i]]);
+			}
+		Arrays.fill(sizes, 0);
+		for(int i = 0; i < robots.length; i++) {
+			int root = sets.find(i);
+			groups.get(groupOf[root])[sizes[root]++] = i;
+		}
+		return groups.toArray(new int[groups.size()][]);
+	}
+
+	/**
+	 * Plan the robots of the given group one after the other, in a reservation table of their own.
+	 * Robots that are not planned yet are first only known to stand on their square at the start. Whenever a robot then finds
+	 * no plan, the group is planned again with that robot first; if that keeps failing, the group is planned cautiously.
+	 */
+	@Model
+	private void planGroup(int[] group) {
+		int[] order = group.clone();
+		for(int attempt = 0; attempt < order.length; attempt++) {
+			int failed = planInOrder(order, false);
+			if(failed == -1)
+				return;
+			int robot = order[failed];
+			System.arraycopy(order, 0, order, 1, failed);
+			order[0] = robot;
+		}
+		planInOrder(order, true);
+	}
+
+	/**
+	 * Plan the robots with the given indexes in the given order, in a new reservation table, and return the place in that
+	 * order of the first robot without a plan, or -1 if all robots have one.
+	 * Planning cautiously, robots that are not planned yet and robots without a plan keep their square for good, so that all
+	 * plans are made, and none of them ever collide. Otherwise, robots that are not planned yet only keep their square at the
+	 * start, and the planning stops at the first robot without a plan, since the plans before it may run into it.
+	 */
+	@Model
+	private int planInOrder(int[] order, boolean cautious) {
+		ReservationTable table = new ReservationTable();
+		for(int robot : order)
+			if(cautious)
+				table.park(xs[robot], ys[robot], 0);
+			else
+				table.reserve(xs[robot], ys[robot], 0);
+		for(int i = 0; i < order.length; i++) {
+			int robot = order[i];
+			if(cautious)
+				table.unpark(xs[robot], ys[robot]);
+			else
+				table.release(xs[robot], ys[robot], 0);
+			int nbSteps = (int) (2 * (regions[robot][2] - regions[robot][0] + regions[robot][3] - regions[robot][1])) + 4 * order.length + 8;
+			plans[robot] = search(robot, table, nbSteps);
+			if(plans[robot] == null) {
+				if(!cautious)
+					return i;
+				table.park(xs[robot], ys[robot], 0);
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Search the cheapest plan of at most the given number of steps for the robot with the given index, within its region,
+	 * avoiding the reservations of the given table; reserve its squares and return its commands, or return null if there is none.
+	 */
+	@Model
+	private BasicCommand[] search(int robot, ReservationTable table, int nbSteps) {
+		return new Search(robot, nbSteps).run(table);
+	}
+
+	/**
+	 * Check whether the square with the given coordinates is on the board, and holds no wall and no robot that is not
+	 * planned by this planner.
+	 */
+	@Model
+	private boolean isFree(long x, long y) {
+		return snapshot.isValidPosition(x, y) && (!snapshot.containsWallOrRobot(x, y) || starts.containsKey(x, y));
+	}
+
+	/**
+	 * A class of reservation tables, keeping for each square the steps at which a robot occupies it, and the step from which
+	 * a robot occupies it for good.
+	 */
+	private static class ReservationTable {
+
+		private final CoordinateMap<BitSet> steps = new CoordinateMap<BitSet>();
+		private final CoordinateMap<Integer> parkedFrom = new CoordinateMap<Integer>();
+
+		/**
+		 * Check whether a robot can be on the square with the given coordinates at the given step: no other robot is there at that
+		 * step, nor enters it in the next one.
+		 */
+		boolean isFree(long x, long y, int step) {
+			return !isReserved(x, y, step) && !isReserved(x, y, step + 1);
+		}
+
+		boolean isReserved(long x, long y, int step) {
+			BitSet reserved = steps.get(x, y);
+			Integer from = parkedFrom.get(x, y);
+			return (reserved != null && reserved.get(step)) || (from != null && step >= from);
+		}
+
+		/**
+		 * Return the last step at which the square with the given coordinates is occupied, or -1 if it never is.
+		 */
+		long getLastReservedStep(long x, long y) {
+			if(parkedFrom.containsKey(x, y))
+				return Long.MAX_VALUE;
+			BitSet reserved = steps.get(x, y);
+			return (reserved == null) ? -1 : reserved.length() - 1;
+		}
+
+		void reserve(long x, long y, int step) {
+			BitSet reserved = steps.get(x, y);
+			if(reserved == null) {
+				reserved = new BitSet();
+				steps.put(x, y, reserved);
+			}
+			reserved.set(step);
+		}
+
+		void release(long x, long y, int step) {
+			BitSet reserved = steps.get(x, y);
+			if(reserved != null)
+				reserved.clear(step);
+		}
+
+		void park(long x, long y, int from) {
+			parkedFrom.put(x, y, from);
+		}
+
+		void unpark(long x, long y) {
+			parkedFrom.remove(x, y);
+		}
+
+	}
+
+	/**
+	 * A class of searches for the plan of one robot, over the states (square, orientation, step) of its region.
+	 * A state is numbered 4*(step*area + square) + orientation, with the squares of the region numbered row by row.
+	 * States are settled in order of their cost plus PathFinder.getLeastCost towards the target, and states with the same
+	 * cost in order of their step. The target only counts as reached at a step after which no other robot needs its square.
+	 */
+	private class Search {
+
+		private final int robot;
+		private final long[] region;
+		private final int width;
+		private final int area;
+		private final int nbSteps;
+		private final double[] costs;
+		private final int[] predecessors;
+		private final boolean[] settled;
+		private final StateHeap open = new StateHeap();
+
+		Search(int robot, int nbSteps) {
+			this.robot = robot;
+			this.region = regions[robot];
+			this.width = (int) (region[2] - region[0] + 1);
+			this.area = width * (int) (region[3] - region[1] + 1);
+			this.nbSteps = nbSteps;
+			costs = new double[4 * area * (nbSteps + 1)];
+			predecessors = new int[costs.length];
+			settled = new boolean[costs.length];
+		}
+
+		BasicCommand[] run(ReservationTable table) {
+			if(!table.isFree(xs[robot], ys[robot], 0))
+				return null;
+			int start = 4 * getSquare(xs[robot], ys[robot]) + orientations[robot];
+			costs[start] = 0;
+			predecessors[start] = -1;
+			open.put(start, estimate(start), 0);
+			long lastReserved = table.getLastReservedStep(targetXs[robot], targetYs[robot]);
+			while(!open.isEmpty()) {
+				int state = open.removeMin();
+				settled[state] = true;
+				int step = getStep(state);
+				long x = getX(state);
+				long y = getY(state);
+				if(x == targetXs[robot] && y == targetYs[robot] && step > lastReserved)
+					return reserve(table, state);
+				if(step == nbSteps)
+					continue;
+				int next = state + 4 * area;
+				//Waiting, or turning in either direction.
+				if(table.isFree(x, y, step + 1)) {
+					relax(state, next, costs[state]);
+					relax(state, (next & ~3) | ((state + 1) & 3), costs[state] + energyToTurn);
+					relax(state, (next & ~3) | ((state + 3) & 3), costs[state] + energyToTurn);
+				}
+				//Moving, onto a square no other robot leaves in this step.
+				Orientation facing = Orientation.getOrientation(state & 3);
+				long nextX = x + facing.getXStep();
+				long nextY = y + facing.getYStep();
+				if(nextX >= region[0] && nextX <= region[2] && nextY >= region[1] && nextY <= region[3] && isFree(nextX, nextY)
+						&& !table.isReserved(nextX, nextY, step) && table.isFree(nextX, nextY, step + 1))
+					relax(state, next + 4 * (getSquare(nextX, nextY) - getSquare(x, y)), costs[state] + energiesToMove[robot]);
+			}
+			return null;
+		}
+
+		/**
+		 * Reach the given next state from the given state for the given cost, if that is cheaper than before and within the
+		 * energy of the robot.
+		 */
+		private void relax(int state, int next, double cost) {
+			if(settled[next] || cost > energies[robot])
+				return;
+			if(!open.contains(next) || cost < costs[next]) {
+				costs[next] = cost;
+				predecessors[next] = state;
+				open.put(next, cost + estimate(next), getStep(next));
+			}
+		}
+
+		private double estimate(int state) {
+			return PathFinder.getLeastCost(getX(state), getY(state), Orientation.getOrientation(state & 3),
+					targetXs[robot], targetYs[robot], energiesToMove[robot], energyToTurn);
+		}
+
+		/**
+		 * Reserve the squares of the path that ends in the given state, keep the target reserved from then on, and return
+		 * the commands of that path, with null for each step in which the robot waits.
+		 */
+		private BasicCommand[] reserve(ReservationTable table, int end) {
+			BasicCommand[] commands = new BasicCommand[getStep(end)];
+			for(int state = end; state != -1; state = predecessors[state]) {
+				table.reserve(getX(state), getY(state), getStep(state));
+				int previous = predecessors[state];
+				if(previous == -1)
+					continue;
+				if(getX(previous) != getX(state) || getY(previous) != getY(state))
+					commands[getStep(previous)] = BasicCommand.MOVE;
+				else if(((previous + 1) & 3) == (state & 3))
+					commands[getStep(previous)] = BasicCommand.TURN_CLOCKWISE;
+				else if(((previous + 3) & 3) == (state & 3))
+					commands[getStep(previous)] = BasicCommand.TURN_COUNTERCLOCKWISE;
+			}
+			table.park(targetXs[robot], targetYs[robot], getStep(end));
+			return commands;
+		}
+
+		private int getSquare(long x, long y) {
+			return (int) (y - region[1]) * width + (int) (x - region[0]);
+		}
+
+		private int getStep(int state) {
+			return (state >> 2) / area;
+		}
+
+		private long getX(int state) {
+			return region[0] + ((state >> 2) % area) % width;
+		}
+
+		private long getY(int state) {
+			return region[1] + ((state >> 2) % area) / width;
+		}
+
+	}
+
+	/**
+	 * A class of tasks planning a range of groups of robots, splitting the range over the threads of the pool of searches.
+	 */
+	@SuppressWarnings("serial")
+	private class Plannings extends RecursiveAction {
+
+		private final int[][] groups;
+		private final int from;
+		private final int to;
+
+		Plannings(int[][] groups, int from, int to) {
+			this.groups = groups;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if(to - from > 1) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new Plannings(groups, from, middle), new Plannings(groups, middle, to));
+				return;
+			}
+			for(int i = from; i < to; i++)
+				planGroup(groups[i]);
+		}
+
+	}
+
+}
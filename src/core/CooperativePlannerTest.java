@@ -0,0 +1,143 @@
+package core;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import Auxiliary.EnergyAmount;
+import Auxiliary.EnergyUnit;
+import Auxiliary.Orientation;
+import Auxiliary.Position;
+import Commands.BasicCommand;
+
+public class CooperativePlannerTest {
+
+	private Board boardH10W10;
+
+	@Before
+	public void setUp() throws Exception {
+		boardH10W10 = new Board(10, 10);
+	}
+
+	private Robot putRobot(Board board, long x, long y, Orientation orientation) {
+		Robot robot = new Robot(orientation, new EnergyAmount(10000, EnergyUnit.WATTSECOND));
+		board.putEntity(Position.returnUniquePosition(x, y), robot);
+		return robot;
+	}
+
+	/**
+	 * Execute the plans step by step, checking that no two robots ever share a square.
+	 */
+	private void executeStepByStep(CooperativePlanner planner, Robot... robots) {
+		for(int step = 0; step < planner.getNbSteps(); step++) {
+			for(Robot robot : robots) {
+				BasicCommand command = planner.getCommand(robot, step);
+				if(command != null)
+					command.execute(robot);
+			}
+			for(int i = 0; i < robots.length; i++)
+				for(int j = i + 1; j < robots.length; j++)
+					assertFalse(robots[i].getPosition() == robots[j].getPosition());
+		}
+	}
+
+	@Test
+	public void execute_oneRobotWaitsAtCrossing() {
+		for(long x = 0; x <= 10; x++)
+			for(long y = 0; y <= 10; y++)
+				if(x != 5 && y != 5)
+					boardH10W10.putEntity(Position.returnUniquePosition(x, y), new Wall());
+		Robot horizontal = putRobot(boardH10W10, 2, 5, Orientation.RIGHT);
+		Robot vertical = putRobot(boardH10W10, 5, 2, Orientation.DOWN);
+		CooperativePlanner planner = new CooperativePlanner(boardH10W10, Arrays.asList(horizontal, vertical), new long[] {8, 5}, new long[] {5, 8});
+		assertTrue(planner.hasPlan(horizontal));
+		assertTrue(planner.hasPlan(vertical));
+		assertTrue(planner.getNbSteps() > 6);
+		executeStepByStep(planner, horizontal, vertical);
+		assertEquals(Position.returnUniquePosition(8, 5), horizontal.getPosition());
+		assertEquals(Position.returnUniquePosition(5, 8), vertical.getPosition());
+		assertEquals(10000 - 6 * 500, horizontal.getEnergy().getAmountInSpecifiedUnit(EnergyUnit.WATTSECOND), 0);
+		assertEquals(10000 - 6 * 500, vertical.getEnergy().getAmountInSpecifiedUnit(EnergyUnit.WATTSECOND), 0);
+	}
+
+	@Test
+	public void execute_manyRobotsCrossing() {
+		Random random = new Random(7);
+		ArrayList<Robot> robots = new ArrayList<Robot>();
+		long[] targetXs = new long[8];
+		long[] targetYs = new long[8];
+		for(int i = 0; i < 8; i++) {
+			Robot robot = new Robot(Orientation.getOrientation(i % 4), new EnergyAmount(10000, EnergyUnit.WATTSECOND));
+			boardH10W10.putEntity(boardH10W10.getRandomFreePosition(robot, random), robot);
+			robots.add(robot);
+		}
+		for(int i = 0; i < 8; i++) {
+			targetXs[i] = robots.get((i + 3) % 8).getPosition().getX();
+			targetYs[i] = robots.get((i + 3) % 8).getPosition().getY();
+		}
+		CooperativePlanner planner = new CooperativePlanner(boardH10W10, robots, targetXs, targetYs);
+		Robot[] array = robots.toArray(new Robot[8]);
+		executeStepByStep(planner, array);
+		for(int i = 0; i < 8; i++) {
+			assertTrue(planner.hasPlan(array[i]));
+			assertEquals(Position.returnUniquePosition(targetXs[i], targetYs[i]), array[i].getPosition());
+		}
+	}
+
+	@Test
+	public void execute_groupsFarApart() {
+		Board board = new Board(Long.MAX_VALUE, Long.MAX_VALUE);
+		Robot near = putRobot(board, 1, 1, Orientation.DOWN);
+		Robot far = putRobot(board, Long.MAX_VALUE - 1, Long.MAX_VALUE - 1, Orientation.UP);
+		Robot blocker = putRobot(board, Long.MAX_VALUE - 1, Long.MAX_VALUE - 3, Orientation.UP);
+		CooperativePlanner planner = new CooperativePlanner(board, Arrays.asList(near, far),
+				new long[] {1, Long.MAX_VALUE - 1}, new long[] {4, Long.MAX_VALUE - 5});
+		planner.execute();
+		assertEquals(Position.returnUniquePosition(1, 4), near.getPosition());
+		assertEquals(Position.returnUniquePosition(Long.MAX_VALUE - 1, Long.MAX_VALUE - 5), far.getPosition());
+		assertEquals(Position.returnUniquePosition(Long.MAX_VALUE - 1, Long.MAX_VALUE - 3), blocker.getPosition());
+	}
+
+	@Test
+	public void execute_detourAroundWall() {
+		Board board = new Board(20, 20);
+		for(long y = 0; y <= 12; y++)
+			board.putEntity(Position.returnUniquePosition(5, y), new Wall());
+		Robot robot = new Robot(Orientation.RIGHT, new EnergyAmount(20000, EnergyUnit.WATTSECOND));
+		board.putEntity(Position.returnUniquePosition(3, 5), robot);
+		double cost = new PathFinder(robot).searchTo(8, 5);
+		assertEquals(10800, cost, 0);
+		CooperativePlanner planner = new CooperativePlanner(board, Arrays.asList(robot), new long[] {8}, new long[] {5});
+		assertTrue(planner.hasPlan(robot));
+		planner.execute();
+		assertEquals(Position.returnUniquePosition(8, 5), robot.getPosition());
+		assertEquals(20000 - cost, robot.getEnergy().getAmountInSpecifiedUnit(EnergyUnit.WATTSECOND), 0);
+	}
+
+	@Test
+	public void hasPlan_unreachableTarget() {
+		boardH10W10.putEntity(Position.returnUniquePosition(0, 1), new Wall());
+		boardH10W10.putEntity(Position.returnUniquePosition(1, 0), new Wall());
+		Robot robot = putRobot(boardH10W10, 5, 5, Orientation.UP);
+		Robot other = putRobot(boardH10W10, 5, 3, Orientation.UP);
+		CooperativePlanner planner = new CooperativePlanner(boardH10W10, Arrays.asList(robot, other), new long[] {0, 5}, new long[] {0, 7});
+		assertFalse(planner.hasPlan(robot));
+		assertNull(planner.getCommand(robot, 0));
+		assertTrue(planner.hasPlan(other));
+		planner.execute();
+		assertEquals(Position.returnUniquePosition(5, 5), robot.getPosition());
+		assertEquals(Position.returnUniquePosition(5, 7), other.getPosition());
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void constructor_robotOnOtherBoard() {
+		Robot robot = putRobot(new Board(5, 5), 1, 1, Orientation.UP);
+		new CooperativePlanner(boardH10W10, Arrays.asList(robot), new long[] {2}, new long[] {2});
+	}
+
+}
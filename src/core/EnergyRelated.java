@@ -3,6 +3,9 @@ package core;
 import Auxiliary.EnergyAmount;
 
 /**
+ * An interface for objects holding energy.
+ * Energy is kept in micro-joules (see MicroJoules); getEnergy() and getCapacity() box it in an EnergyAmount.
+ * 
  * @author 	Brecht Gossel & William Mauclet
  * 			2BiR: wtk-cws (Gossel) en cws-elt(Mauclet)
  * @version	3.0
@@ -12,5 +15,7 @@ public interface EnergyRelated {
 	public boolean canHaveAsEnergy(EnergyAmount energy);
 	public EnergyAmount getEnergy();
 	public EnergyAmount getCapacity();
+	public long getEnergyInMicroJoules();
+	public long getCapacityInMicroJoules();
 	
 }
@@ -0,0 +1,296 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import Auxiliary.MicroJoules;
+import Auxiliary.Orientation;
+import be.kuleuven.cs.som.annotate.Basic;
+
+/**
+ * A class of fleets, keeping the energy, capacity, energy to move and orientation of their robots in parallel arrays of
+ * primitives, indexed by the id of each robot in the fleet.
+ * A robot in a fleet reads and writes these attributes in the arrays of its fleet instead of in its own fields, so scans
+ * and updates over a whole fleet run over contiguous memory instead of over thousands of robot objects.
+ * Adding robots to a fleet is optional; a robot that is not in a fleet keeps its attributes itself.
+ *
+ * @invar	The robots of a fleet have the ids 0 up to getNbRobots() - 1.
+ * 			|for each id in 0..getNbRobots()-1 :
+ * 			|	getRobotAt(id).getFleet() == this && getRobotAt(id).getIdInFleet() == id
+ *
+ * @author 	Brecht Gossel & William Mauclet
+ * 			2BiR: wtk-cws (Gossel) en cws-elt(Mauclet)
+ * @version	3.0
+ */
+public class Fleet {
+
+	private static final int initialLength = 16;
+	private static final Orientation[] orientationsByInt = new Orientation[4];
+
+	static {
+		for(Orientation orientation : Orientation.values())
+			orientationsByInt[orientation.getIntOrientation()] = orientation;
+	}
+
+	private int nbRobots = 0;
+	private Robot[] robots = new Robot[initialLength];
+	private long[] energies = new long[initialLength];
+	private long[] capacities = new long[initialLength];
+	private long[] energiesToMove = new long[initialLength];
+	private byte[] orientations = new byte[initialLength];
+
+	/**
+	 * ...
+	 */
+	@Basic
+	public int getNbRobots() {
+		return nbRobots;
+	}
+
+	/**
+	 * Return the robot with the given id in this fleet.
+	 *
+	 * @throws	IndexOutOfBoundsException
+	 * 			...
+	 * 			|id < 0 || id >= getNbRobots()
+	 */
+	public Robot getRobotAt(int id) throws IndexOutOfBoundsException {
+		if(id < 0 || id >= getNbRobots())
+			throw new IndexOutOfBoundsException();
+		return robots[id];
+	}
+
+	/**
+	 * ...
+	 *
+	 * @return	...
+	 * 			|result == (robot != null && robot.getFleet() == this)
+	 */
+	public boolean hasAsRobot(Robot robot) {
+		return robot != null && robot.getFleet() == this;
+	}
+
+	/**
+	 * Add the given robot to this fleet, moving its energy, capacity, energy to move and orientation into the arrays of this fleet.
+	 *
+	 * @post	...
+	 * 			|new.hasAsRobot(robot) && (new robot).getIdInFleet() == getNbRobots()
+	 * @post	The attributes of the robot are unchanged.
+	 * 			|(new robot).getEnergyInMicroJoules() == robot.getEnergyInMicroJoules() && ...
+	 * @throws	IllegalArgumentException
+	 * 			...
+	 * 			|robot == null || robot.isTerminated() || robot.getFleet() != null
+	 */
+	public void addAsRobot(Robot robot) throws IllegalArgumentException {
+		if(robot == null || robot.isTerminated() || robot.getFleet() != null)
+			throw new IllegalArgumentException();
+		if(nbRobots == robots.length)
+			grow();
+		int id = nbRobots++;
+		robots[id] = robot;
+		energies[id] = robot.getEnergyInMicroJoules();
+		capacities[id] = robot.getCapacityInMicroJoules();
+		energiesToMove[id] = robot.getEnergyToMoveInMicroJoules();
+		orientations[id] = (byte) robot.getOrientation().getIntOrientation();
+		robot.setFleet(this, id);
+	}
+
+	/**
+	 * Remove the given robot from this fleet, handing its attributes back to the robot itself.
+	 * The last robot of this fleet takes over the id of the removed robot.
+	 *
+	 * @post	...
+	 * 			|!new.hasAsRobot(robot) && new.getNbRobots() == getNbRobots() - 1
+	 * @post	The attributes of the robot are unchanged.
+	 * 			|(new robot).getEnergyInMicroJoules() == robot.getEnergyInMicroJoules() && ...
+	 * @throws	IllegalArgumentException
+	 * 			...
+	 * 			|!hasAsRobot(robot)
+	 */
+	public void removeAsRobot(Robot robot) throws IllegalArgumentException {
+		if(!hasAsRobot(robot))
+			throw new IllegalArgumentException();
+		int id = robot.getIdInFleet();
+		robot.setFleet(null, -1);
+		robot.restoreFrom(energies[id], capacities[id], energiesToMove[id], toOrientation(orientations[id]));
+		int last = --nbRobots;
+		if(id != last) {
+			robots[id] = robots[last];
+			energies[id] = energies[last];
+			capacities[id] = capacities[last];
+			energiesToMove[id] = energiesToMove[last];
+			orientations[id] = orientations[last];
+			robots[id].setFleet(this, id);
+		}
+		robots[last] = null;
+	}
+
+	/**
+	 * Return the energy in micro-joules of the robot with the given id in this fleet.
+	 *
+	 * @pre		...
+	 * 			|id >= 0 && id < getNbRobots()
+	 */
+	@Basic
+	long getEnergyAt(int id) {
+		return energies[id];
+	}
+
+	/**
+	 * Set the energy in micro-joules of the robot with the given id in this fleet to the given value.
+	 *
+	 * @pre		...
+	 * 			|id >= 0 && id < getNbRobots()
+	 * @post	...
+	 * 			|new.getEnergyAt(id) == energy
+	 */
+	void setEnergyAt(int id, long energy) {
+		energies[id] = energy;
+	}
+
+	/**
+	 * Return the capacity in micro-joules of the robot with the given id in this fleet.
+	 *
+	 * @pre		...
+	 * 			|id >= 0 && id < getNbRobots()
+	 */
+	@Basic
+	long getCapacityAt(int id) {
+		return capacities[id];
+	}
+
+	/**
+	 * Set the capacity in micro-joules of the robot with the given id in this fleet to the given value.
+	 *
+	 * @pre		...
+	 * 			|id >= 0 && id < getNbRobots()
+	 * @post	...
+	 * 			|new.getCapacityAt(id) == capacity
+	 */
+	void setCapacityAt(int id, long capacity) {
+		capacities[id] = capacity;
+	}
+
+	/**
+	 * Return the energy to move in micro-joules of the robot with the given id in this fleet.
+	 *
+	 * @pre		...
+	 * 			|id >= 0 && id < getNbRobots()
+	 */
+	@Basic
+	long getEnergyToMoveAt(int id) {
+		return energiesToMove[id];
+	}
+
+	/**
+	 * Set the energy to move in micro-joules of the robot with the given id in this fleet to the given value.
+	 *
+	 * @pre		...
+	 * 			|id >= 0 && id < getNbRobots()
+	 * @post	...
+	 * 			|new.getEnergyToMoveAt(id) == energyToMove
+	 */
+	void setEnergyToMoveAt(int id, long energyToMove) {
+		energiesToMove[id] = energyToMove;
+	}
+
+	/**
+	 * Return the orientation of the robot with the given id in this fleet.
+	 *
+	 * @pre		...
+	 * 			|id >= 0 && id < getNbRobots()
+	 */
+	@Basic
+	Orientation getOrientationAt(int id) {
+		return toOrientation(orientations[id]);
+	}
+
+	/**
+	 * Set the orientation of the robot with the given id in this fleet to the given orientation.
+	 *
+	 * @pre		...
+	 * 			|id >= 0 && id < getNbRobots() && orientation != null
+	 * @post	...
+	 * 			|new.getOrientationAt(id) == orientation
+	 */
+	void setOrientationAt(int id, Orientation orientation) {
+		orientations[id] = (byte) orientation.getIntOrientation();
+	}
+
+	/**
+	 * Return the orientation with the given value as stored in the arrays of a fleet.
+	 */
+	private static Orientation toOrientation(byte intOrientation) {
+		return orientationsByInt[intOrientation];
+	}
+
+	/**
+	 * Double the length of the arrays of this fleet.
+	 */
+	private void grow() {
+		int length = 2 * robots.length;
+		robots = Arrays.copyOf(robots, length);
+		energies = Arrays.copyOf(energies, length);
+		capacities = Arrays.copyOf(capacities, length);
+		energiesToMove = Arrays.copyOf(energiesToMove, length);
+		orientations = Arrays.copyOf(orientations, length);
+	}
+
+	/**
+	 * Return the total energy of the robots in this fleet in micro-joules, or Long.MAX_VALUE if that total is larger.
+	 *
+	 * @return	...
+	 * 			|result == Math.min(sum({getRobotAt(id).getEnergyInMicroJoules() | id in 0..getNbRobots()-1}), Long.MAX_VALUE)
+	 */
+	public long getTotalEnergyInMicroJoules() {
+		long total = 0;
+		for(int id = 0; id < nbRobots; id++)
+			total = MicroJoules.add(total, energies[id]);
+		return total;
+	}
+
+	/**
+	 * Return the number of robots in this fleet with at least the given energy in micro-joules.
+	 *
+	 * @return	...
+	 * 			|result == card({id in 0..getNbRobots()-1 | getRobotAt(id).getEnergyInMicroJoules() >= minimalEnergy})
+	 */
+	public int getNbRobotsWithEnergyAtLeast(long minimalEnergy) {
+		int count = 0;
+		for(int id = 0; id < nbRobots; id++)
+			if(energies[id] >= minimalEnergy)
+				count++;
+		return count;
+	}
+
+	/**
+	 * Return the robots in this fleet with at least the given energy in micro-joules, in the order of their ids.
+	 *
+	 * @return	...
+	 * 			|for each robot in result :
+	 * 			|	hasAsRobot(robot) && robot.getEnergyInMicroJoules() >= minimalEnergy
+	 */
+	public List<Robot> getRobotsWithEnergyAtLeast(long minimalEnergy) {
+		List<Robot> result = new ArrayList<Robot>();
+		for(int id = 0; id < nbRobots; id++)
+			if(energies[id] >= minimalEnergy)
+				result.add(robots[id]);
+		return result;
+	}
+
+	/**
+	 * Add the given number of micro-joules to the energy of every robot in this fleet, without exceeding the capacity of any robot.
+	 *
+	 * @post	...
+	 * 			|for each id in 0..getNbRobots()-1 :
+	 * 			|	(new getRobotAt(id)).getEnergyInMicroJoules() ==
+	 * 			|		Math.min(MicroJoules.add(getRobotAt(id).getEnergyInMicroJoules(), microJoules), getRobotAt(id).getCapacityInMicroJoules())
+	 */
+	public void chargeAll(long microJoules) {
+		assert microJoules >= 0;
+		for(int id = 0; id < nbRobots; id++)
+			energies[id] = Math.min(MicroJoules.add(energies[id], microJoules), capacities[id]);
+	}
+
+}
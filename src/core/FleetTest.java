@@ -0,0 +1,92 @@
+package core;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import Auxiliary.EnergyAmount;
+import Auxiliary.EnergyUnit;
+import Auxiliary.MicroJoules;
+import Auxiliary.Orientation;
+import Auxiliary.Position;
+import Commands.BasicCommand;
+
+public class FleetTest {
+
+	private Fleet fleet;
+	private Robot[] robots;
+
+	@Before
+	public void setUp() throws Exception {
+		fleet = new Fleet();
+		robots = new Robot[40];
+		for(int i = 0; i < robots.length; i++) {
+			robots[i] = new Robot(Orientation.getOrientation(i), new EnergyAmount(100 * i, EnergyUnit.WATTSECOND));
+			fleet.addAsRobot(robots[i]);
+		}
+	}
+
+	@Test
+	public void addAsRobot_attributesKept() {
+		assertEquals(40, fleet.getNbRobots());
+		for(int i = 0; i < robots.length; i++) {
+			assertTrue(fleet.hasAsRobot(robots[i]));
+			assertEquals(i, robots[i].getIdInFleet());
+			assertEquals(robots[i], fleet.getRobotAt(i));
+			assertEquals(Orientation.getOrientation(i), robots[i].getOrientation());
+			assertEquals(MicroJoules.fromJoules(100 * i), robots[i].getEnergyInMicroJoules());
+			assertEquals(Robot.getMaxCapacityInMicroJoules(), robots[i].getCapacityInMicroJoules());
+		}
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void addAsRobot_alreadyInFleet() {
+		new Fleet().addAsRobot(robots[0]);
+	}
+
+	@Test
+	public void robotInFleet_movesAndTurns() {
+		Board board = new Board(10, 10);
+		Robot robot = robots[20];
+		board.putEntity(Position.returnUniquePosition(5, 5), robot);
+		BasicCommand.MOVE.execute(robot);
+		BasicCommand.TURN_CLOCKWISE.execute(robot);
+		assertEquals(Position.returnUniquePosition(5, 4), robot.getPosition());
+		assertEquals(Orientation.RIGHT, robot.getOrientation());
+		assertEquals(MicroJoules.fromJoules(2000 - 500 - 100), robot.getEnergyInMicroJoules());
+		assertEquals(24, fleet.getNbRobotsWithEnergyAtLeast(MicroJoules.fromJoules(1500)));
+		fleet.removeAsRobot(robot);
+		assertEquals(Orientation.RIGHT, robot.getOrientation());
+		assertEquals(MicroJoules.fromJoules(2000 - 500 - 100), robot.getEnergyInMicroJoules());
+	}
+
+	@Test
+	public void removeAsRobot_lastRobotTakesOverId() {
+		robots[3].charge(MicroJoules.fromJoules(50));
+		fleet.removeAsRobot(robots[3]);
+		assertFalse(fleet.hasAsRobot(robots[3]));
+		assertEquals(-1, robots[3].getIdInFleet());
+		assertEquals(MicroJoules.fromJoules(350), robots[3].getEnergyInMicroJoules());
+		assertEquals(Orientation.LEFT, robots[3].getOrientation());
+		assertEquals(39, fleet.getNbRobots());
+		assertEquals(robots[39], fleet.getRobotAt(3));
+		assertEquals(3, robots[39].getIdInFleet());
+		assertEquals(MicroJoules.fromJoules(3900), robots[39].getEnergyInMicroJoules());
+		robots[39].terminate();
+		assertEquals(38, fleet.getNbRobots());
+	}
+
+	@Test
+	public void bulkScans_sameAsRobots() {
+		assertEquals(MicroJoules.fromJoules(100 * 39 * 40 / 2), fleet.getTotalEnergyInMicroJoules());
+		assertEquals(10, fleet.getNbRobotsWithEnergyAtLeast(MicroJoules.fromJoules(3000)));
+		assertEquals(robots[30], fleet.getRobotsWithEnergyAtLeast(MicroJoules.fromJoules(3000)).get(0));
+		robots[0].setCapacity(MicroJoules.fromJoules(1000));
+		fleet.chargeAll(MicroJoules.fromJoules(17000));
+		assertEquals(MicroJoules.fromJoules(1000), robots[0].getEnergyInMicroJoules());
+		assertEquals(MicroJoules.fromJoules(17100), robots[1].getEnergyInMicroJoules());
+		assertEquals(Robot.getMaxCapacityInMicroJoules(), robots[39].getEnergyInMicroJoules());
+	}
+
+}
@@ -0,0 +1,353 @@
+package core;
+
+import java.util.Arrays;
+
+import Auxiliary.CoordinateMap;
+import Auxiliary.UnionFind;
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Model;
+
+/**
+ * A class of labellings of the squares of a board that contain no wall, such that two such squares have the same label
+ * if and only if a robot could get from one to the other if there were no other robots on the board.
+ * Squares with label 0 are not stored: only the squares of pockets cut off from that part of the board are.
+ * The walls are kept in disjoint sets of walls that touch, even diagonally, where all walls against the edge of the board
+ * are in the set of the edge itself. A new wall can only cut off a pocket if it touches one set of walls on two sides that
+ * are not next to each other, so most walls are added without looking at any free square. When a wall does close such a
+ * ring, the free squares on each side of it are flooded together, and the sides that run out are given new labels.
+ * Removing a wall may join pockets again, which sets can't follow: all labels are computed again on the next question.
+ *
+ * @invar	Squares in the same component of free space have the same label, if the labels are known.
+ * 			|if(isLabelled())
+ * 			|	for each square1, square2 without a wall :
+ * 			|		getLabel(square1) == getLabel(square2) == (square2 can be reached from square1 without crossing a wall)
+ *
+ * @author 	Brecht Gossel & William Mauclet
+ * 			2BiR: wtk-cws (Gossel) en cws-elt(Mauclet)
+ * @version	3.0
+ */
+class FreeSpace {
+
+	private static final int EDGE = 0;
+	private static final int FREE = -1;
+	private static final int maxNbFloodedSquares = 1 << 22;
+	private static final long[] ringXSteps = {0, 1, 1, 1, 0, -1, -1, -1};
+	private static final long[] ringYSteps = {-1, -1, 0, 1, 1, 1, 0, -1};
+
+	private final long width;
+	private final long height;
+	private final UnionFind clusters = new UnionFind();
+	private final CoordinateMap<Integer> walls = new CoordinateMap<Integer>();
+	private long[] wallXs = new long[64];
+	private long[] wallYs = new long[64];
+	private final CoordinateMap<Integer> labels = new CoordinateMap<Integer>();
+	private int nbLabels = 1;
+	private boolean labelled = true;
+	private boolean stale = false;
+
+	/**
+	 * Initialize this new labelling for a board with the given width and height, without walls.
+	 *
+	 * @param 	width
+	 * 			...
+	 * @param 	height
+	 * 			...
+	 * @post	...
+	 * 			|new.isLabelled()
+	 */
+	FreeSpace(long width, long height) {
+		this.width = width;
+		this.height = height;
+		clusters.add();
+	}
+
+	/**
+	 * Check whether the labels of this free space are known.
+	 * They are not when a pocket was too large to flood; they are computed again once a wall is removed.
+	 */
+	public boolean isLabelled() {
+		refresh();
+		return labelled;
+	}
+
+	/**
+	 * Return the label of the square with the given coordinates.
+	 *
+	 * @pre		...
+	 * 			|isLabelled()
+	 */
+	public int getLabel(long x, long y) {
+		refresh();
+		assert labelled;
+		Integer label = labels.get(x, y);
+		return (label == null) ? 0 : label;
+	}
+
+	/**
+	 * Check whether walls keep a robot from getting from one of the given squares to the other.
+	 * The result is false whenever the labels are not known.
+	 *
+	 * @return	...
+	 * 			|result == (isLabelled() && getLabel(x1, y1) != getLabel(x2, y2))
+	 */
+	public boolean areSeparated(long x1, long y1, long x2, long y2) {
+		return isLabelled() && getLabel(x1, y1) != getLabel(x2, y2);
+	}
+
+	/**
+	 * Register a new wall on the square with the given coordinates.
+	 *
+	 * @pre		...
+	 * 			|there is no wall on the given square yet
+	 */
+	public void addWall(long x, long y) {
+		refresh();
+		int wall = clusters.add();
+		if(wall == wallXs.length) {
+			wallXs = Arrays.copyOf(wallXs, wall << 1);
+			wallYs = Arrays.copyOf(wallYs, wall << 1);
+		}
+		wallXs[wall] = x;
+		wallYs[wall] = y;
+		walls.put(x, y, wall);
+		labels.remove(x, y);
+
+		//Look at the eight squares around the new wall, clockwise from the one above it.
+		int[] ring = new int[8];
+		int start = -1;
+		for(int i = 0; i < 8; i++) {
+			long ringX = x + ringXSteps[i];
+			long ringY = y + ringYSteps[i];
+			if(!isValidSquare(ringX, ringY))
+				ring[i] = EDGE;
+			else {
+				Integer other = walls.get(ringX, ringY);
+				ring[i] = (other == null) ? FREE : other;
+			}
+			if(ring[i] != FREE)
+				start = i;
+		}
+		if(start == -1)
+			return;
+
+		//Free runs with a square next to the wall are the sides of the wall; the walls in between are the gaps between the sides.
+		int[] gaps = new int[8];
+		int[] sides = new int[4];
+		int nbSides = 0;
+		boolean inRun = false;
+		boolean runIsSide = false;
+		for(int step = 1; step <= 8; step++) {
+			int i = (start + step) & 7;
+			if(ring[i] == FREE) {
+				if(!inRun) {
+					inRun = true;
+					runIsSide = false;
+				}
+				if((i & 1) == 0 && !runIsSide) {
+					runIsSide = true;
+					sides[nbSides] = i;
+				}
+			}
+			else {
+				if(inRun && runIsSide)
+					nbSides++;
+				inRun = false;
+				gaps[i] = nbSides;
+			}
+		}
+
+		//A pocket is cut off only if two different gaps belong to the same set of walls.
+		boolean closesRing = false;
+		for(int i = 0; i < 8 && nbSides > 1 && !closesRing; i++)
+			for(int j = i + 1; j < 8 && !closesRing; j++)
+				if(ring[i] != FREE && ring[j] != FREE && gaps[i] % nbSides != gaps[j] % nbSides
+						&& clusters.find(ring[i]) == clusters.find(ring[j]))
+					closesRing = true;
+		for(int i = 0; i < 8; i++)
+			if(ring[i] != FREE)
+				clusters.union(wall, ring[i]);
+		if(closesRing && labelled)
+			split(x, y, sides, nbSides);
+	}
+
+	/**
+	 * Register that the wall on the square with the given coordinates is gone.
+	 *
+	 * @pre		...
+	 * 			|there is a wall on the given square
+	 */
+	public void removeWall(long x, long y) {
+		walls.remove(x, y);
+		stale = true;
+	}
+
+	/**
+	 * Check whether the given coordinates are those of a square of the board.
+	 */
+	@Model
+	private boolean isValidSquare(long x, long y) {
+		return x >= 0 && x <= width && y >= 0 && y <= height;
+	}
+
+	/**
+	 * Compute all sets of walls and all labels again, if a wall was removed since they were last computed.
+	 */
+	@Model
+	private void refresh() {
+		if(!stale)
+			return;
+		stale = false;
+		int nbWalls = 0;
+		long[] xs = new long[clusters.size()];
+		long[] ys = new long[clusters.size()];
+		for(int wall = 1; wall < clusters.size(); wall++) {
+			Integer current = walls.get(wallXs[wall], wallYs[wall]);
+			if(current != null && current == wall) {
+				xs[nbWalls] = wallXs[wall];
+				ys[nbWalls] = wallYs[wall];
+				nbWalls++;
+			}
+		}
+		clusters.clear();
+		clusters.add();
+		walls.clear();
+		labels.clear();
+		nbLabels = 1;
+		labelled = true;
+		for(int i = 0; i < nbWalls; i++)
+			addWall(xs[i], ys[i]);
+	}
+
+	/**
+	 * Flood the given sides of the new wall on the square with the given coordinates together, always from the side that has
+	 * seen the fewest squares, until at most one group of sides that met each other can still grow.
+	 * Each other group of sides is a pocket that is cut off now, and gets a new label. If the pockets are too large, the labels
+	 * are given up until a wall is removed.
+	 */
+	@Model
+	private void split(long x, long y, int[] sides, int nbSides) {
+		Flood[] floods = new Flood[nbSides];
+		UnionFind groups = new UnionFind();
+		CoordinateMap<Integer> owners = new CoordinateMap<Integer>();
+		for(int side = 0; side < nbSides; side++) {
+			groups.add();
+			floods[side] = new Flood();
+			long sideX = x + ringXSteps[sides[side]];
+			long sideY = y + ringYSteps[sides[side]];
+			Integer owner = owners.get(sideX, sideY);
+			if(owner == null) {
+				owners.put(sideX, sideY, side);
+				floods[side].add(sideX, sideY);
+			}
+		}
+		long nbFlooded = 0;
+		while(getNbGrowingGroups(floods, groups) > 1) {
+			int side = -1;
+			for(int i = 0; i < nbSides; i++)
+				if(floods[i].isGrowing() && (side == -1 || floods[i].size < floods[side].size))
+					side = i;
+			Flood flood = floods[side];
+			long squareX = flood.xs[flood.head];
+			long squareY = flood.ys[flood.head];
+			flood.head++;
+			for(int i = 0; i < 8; i += 2) {
+				long nextX = squareX + ringXSteps[i];
+				long nextY = squareY + ringYSteps[i];
+				if(!isValidSquare(nextX, nextY) || walls.containsKey(nextX, nextY))
+					continue;
+				Integer owner = owners.get(nextX, nextY);
+				if(owner == null) {
+					owners.put(nextX, nextY, side);
+					flood.add(nextX, nextY);
+					if(++nbFlooded > maxNbFloodedSquares) {
+						labelled = false;
+						labels.clear();
+						return;
+					}
+				}
+				else if(owner != side)
+					groups.union(owner, side);
+			}
+		}
+
+		//The group that can still grow, or else the largest group, keeps its label.
+		int keeper = -1;
+		long keeperSize = -1;
+		long[] groupSizes = new long[nbSides];
+		for(int i = 0; i < nbSides; i++)
+			groupSizes[groups.find(i)] += floods[i].size;
+		for(int i = 0; i < nbSides; i++) {
+			int group = groups.find(i);
+			if(floods[i].isGrowing()) {
+				keeper = group;
+				break;
+			}
+			if(groupSizes[group] > keeperSize) {
+				keeper = group;
+				keeperSize = groupSizes[group];
+			}
+		}
+		int[] newLabels = new int[nbSides];
+		for(int i = 0; i < nbSides; i++) {
+			int group = groups.find(i);
+			if(group == keeper)
+				continue;
+			if(newLabels[group] == 0)
+				newLabels[group] = nbLabels++;
+			for(int j = 0; j < floods[i].size; j++)
+				labels.put(floods[i].xs[j], floods[i].ys[j], newLabels[group]);
+		}
+	}
+
+	/**
+	 * Return the number of groups of sides with at least one flood that can still grow.
+	 */
+	@Model
+	private static int getNbGrowingGroups(Flood[] floods, UnionFind groups) {
+		boolean[] growing = new boolean[floods.length];
+		int nbGrowing = 0;
+		for(int i = 0; i < floods.length; i++) {
+			int group = groups.find(i);
+			if(floods[i].isGrowing() && !growing[group]) {
+				growing[group] = true;
+				nbGrowing++;
+			}
+		}
+		return nbGrowing;
+	}
+
+	/**
+	 * A class of floods, keeping all squares they have seen in the order they saw them.
+	 * The squares from head on still have to be looked around.
+	 */
+	private static class Flood {
+
+		private long[] xs = new long[16];
+		private long[] ys = new long[16];
+		private int head = 0;
+		private int size = 0;
+
+		/**
+		 * Check whether this flood still has squares to look around.
+		 */
+		@Basic
+		private boolean isGrowing() {
+			return head < size;
+		}
+
+		/**
+		 * Add the square with the given coordinates to this flood.
+		 */
+		private void add(long x, long y) {
+			if(size == xs.length) {
+				xs = Arrays.copyOf(xs, size << 1);
+				ys = Arrays.copyOf(ys, size << 1);
+			}
+			xs[size] = x;
+			ys[size] = y;
+			size++;
+		}
+
+	}
+
+}
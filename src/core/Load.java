@@ -0,0 +1,251 @@
+package core;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import Items.Item;
+import be.kuleuven.cs.som.annotate.Basic;
+
+/**
+ * A class of loads of items, ordered from heaviest to lightest. Items of the same weight are ordered by the moment they were added.
+ * The items are kept in a treap counting the items in each subtree, so adding, removing and finding the i'th heaviest item take
+ * logarithmic time, while a table of the items checks in constant time whether an item is part of the load.
+ *
+ * @invar	...
+ * 			|for each index in 1..size()-1 :
+ * 			|	get(index - 1).getWeight() >= get(index).getWeight()
+ *
+ * @author 	Brecht Gossel & William Mauclet
+ * 			2BiR: wtk-cws (Gossel) en cws-elt(Mauclet)
+ * @version	3.0
+ */
+class Load implements Iterable<Item> {
+
+	private final IdentityHashMap<Item, Node> nodes = new IdentityHashMap<Item, Node>();
+	private Node root = null;
+	private long totalWeight = 0;
+	private long nbAdded = 0;
+
+	/**
+	 * ...
+	 */
+	@Basic
+	public int size() {
+		return nodes.size();
+	}
+
+	/**
+	 * Return the total weight of the items in this load in grams.
+	 */
+	@Basic
+	public long getTotalWeight() {
+		return totalWeight;
+	}
+
+	/**
+	 * ...
+	 */
+	public boolean contains(Item item) {
+		return nodes.containsKey(item);
+	}
+
+	/**
+	 * Add the given item to this load, after the items that are at least as heavy.
+	 *
+	 * @pre		...
+	 * 			|item != null && !contains(item)
+	 * @post	...
+	 * 			|new.contains(item) && new.size() == size() + 1
+	 */
+	public void add(Item item) {
+		assert item != null && !contains(item);
+		Node node = new Node(item, nbAdded++);
+		nodes.put(item, node);
+		root = insert(root, node);
+		totalWeight += node.weight;
+	}
+
+	/**
+	 * Remove the given item from this load, and return whether it was part of this load.
+	 *
+	 * @post	...
+	 * 			|!new.contains(item)
+	 */
+	public boolean remove(Item item) {
+		Node node = nodes.remove(item);
+		if(node == null)
+			return false;
+		root = delete(root, node);
+		totalWeight -= node.weight;
+		return true;
+	}
+
+	/**
+	 * Remove all items from this load.
+	 */
+	public void clear() {
+		nodes.clear();
+		root = null;
+		totalWeight = 0;
+	}
+
+	/**
+	 * Return the item on the given index in this load, the heaviest item being on index 0.
+	 *
+	 * @throws	IndexOutOfBoundsException
+	 * 			...
+	 * 			|index < 0 || index >= size()
+	 */
+	public Item get(int index) throws IndexOutOfBoundsException {
+		if(index < 0 || index >= size())
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+		Node node = root;
+		while(true) {
+			int leftSize = size(node.left);
+			if(index < leftSize)
+				node = node.left;
+			else if(index == leftSize)
+				return node.item;
+			else {
+				index -= leftSize + 1;
+				node = node.right;
+			}
+		}
+	}
+
+	/**
+	 * Return an iterator over the items of this load, from heaviest to lightest.
+	 */
+	@Override
+	public Iterator<Item> iterator() {
+		return new Iterator<Item>() {
+
+			private final ArrayDeque<Node> path = new ArrayDeque<Node>();
+
+			{
+				pushLeftmost(root);
+			}
+
+			private void pushLeftmost(Node node) {
+				for(; node != null; node = node.left)
+					path.push(node);
+			}
+
+			@Override
+			public boolean hasNext() {
+				return !path.isEmpty();
+			}
+
+			@Override
+			public Item next() {
+				if(path.isEmpty())
+					throw new NoSuchElementException();
+				Node node = path.pop();
+				pushLeftmost(node.right);
+				return node.item;
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	private static int size(Node node) {
+		return (node == null) ? 0 : node.size;
+	}
+
+	private static Node insert(Node tree, Node node) {
+		if(tree == null)
+			return node;
+		if(node.priority > tree.priority) {
+			Node[] parts = split(tree, node);
+			node.left = parts[0];
+			node.right = parts[1];
+			node.update();
+			return node;
+		}
+		if(node.comesBefore(tree))
+			tree.left = insert(tree.left, node);
+		else
+			tree.right = insert(tree.right, node);
+		tree.update();
+		return tree;
+	}
+
+	/**
+	 * Split the given tree into the nodes that come before the given node and the nodes that come after it.
+	 */
+	private static Node[] split(Node tree, Node node) {
+		if(tree == null)
+			return new Node[2];
+		if(tree.comesBefore(node)) {
+			Node[] parts = split(tree.right, node);
+			tree.right = parts[0];
+			tree.update();
+			parts[0] = tree;
+			return parts;
+		}
+		Node[] parts = split(tree.left, node);
+		tree.left = parts[1];
+		tree.update();
+		parts[1] = tree;
+		return parts;
+	}
+
+	private static Node delete(Node tree, Node node) {
+		if(tree == node)
+			return merge(node.left, node.right);
+		if(node.comesBefore(tree))
+			tree.left = delete(tree.left, node);
+		else
+			tree.right = delete(tree.right, node);
+		tree.update();
+		return tree;
+	}
+
+	private static Node merge(Node left, Node right) {
+		if(left == null)
+			return right;
+		if(right == null)
+			return left;
+		if(left.priority > right.priority) {
+			left.right = merge(left.right, right);
+			left.update();
+			return left;
+		}
+		right.left = merge(left, right.left);
+		right.update();
+		return right;
+	}
+
+	private static class Node {
+
+		private final Item item;
+		private final int weight;
+		private final long order;
+		private final int priority = ThreadLocalRandom.current().nextInt();
+		private int size = 1;
+		private Node left;
+		private Node right;
+
+		private Node(Item item, long order) {
+			this.item = item;
+			this.weight = item.getWeight();
+			this.order = order;
+		}
+
+		private boolean comesBefore(Node other) {
+			return weight > other.weight || (weight == other.weight && order < other.order);
+		}
+
+		private void update() {
+			size = 1 + Load.size(left) + Load.size(right);
+		}
+	}
+
+}
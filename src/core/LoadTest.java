@@ -0,0 +1,83 @@
+package core;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import Auxiliary.EnergyAmount;
+import Auxiliary.EnergyUnit;
+import Items.Battery;
+import Items.Item;
+
+public class LoadTest {
+
+	private Load load;
+
+	@Before
+	public void setUp() throws Exception {
+		load = new Load();
+	}
+
+	/**
+	 * Add the given item to the given list after all items that are at least as heavy, like the old sorted load did.
+	 */
+	private void addSorted(ArrayList<Item> list, Item item) {
+		int index = 0;
+		while(index < list.size() && list.get(index).getWeight() >= item.getWeight())
+			index++;
+		list.add(index, item);
+	}
+
+	@Test
+	public void addAndRemove_sameAsSortedList() {
+		Random random = new Random(5);
+		ArrayList<Item> expected = new ArrayList<Item>();
+		long weight = 0;
+		for(int step = 0; step < 2000; step++) {
+			if(expected.isEmpty() || random.nextInt(3) != 0) {
+				Item item = new Battery(new EnergyAmount(100, EnergyUnit.WATTSECOND), random.nextInt(50));
+				addSorted(expected, item);
+				load.add(item);
+				weight += item.getWeight();
+			}
+			else {
+				Item item = expected.remove(random.nextInt(expected.size()));
+				assertTrue(load.remove(item));
+				assertFalse(load.contains(item));
+				weight -= item.getWeight();
+			}
+			assertEquals(expected.size(), load.size());
+			assertEquals(weight, load.getTotalWeight());
+		}
+		Iterator<Item> iterator = load.iterator();
+		for(int index = 0; index < expected.size(); index++) {
+			assertTrue(expected.get(index) == load.get(index));
+			assertTrue(expected.get(index) == iterator.next());
+			assertTrue(load.contains(expected.get(index)));
+		}
+		assertFalse(iterator.hasNext());
+	}
+
+	@Test
+	public void remove_itemNotInLoad() {
+		Item item = new Battery(new EnergyAmount(100, EnergyUnit.WATTSECOND), 10);
+		load.add(new Battery(new EnergyAmount(100, EnergyUnit.WATTSECOND), 10));
+		assertFalse(load.remove(item));
+		assertEquals(1, load.size());
+		load.clear();
+		assertEquals(0, load.size());
+		assertEquals(0, load.getTotalWeight());
+	}
+
+	@Test (expected = IndexOutOfBoundsException.class)
+	public void get_indexTooLarge() {
+		load.add(new Battery(new EnergyAmount(100, EnergyUnit.WATTSECOND), 10));
+		load.get(1);
+	}
+
+}
@@ -0,0 +1,610 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import Auxiliary.CoordinateMap;
+import Auxiliary.MicroJoules;
+import Auxiliary.Orientation;
+import Auxiliary.StateHeap;
+import Commands.BasicCommand;
+import Commands.Command;
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Immutable;
+import be.kuleuven.cs.som.annotate.Model;
+
+/**
+ * A class of path finders, computing the least energy a robot needs to reach the squares of its board.
+ * The search runs over states (square, orientation): going from one state to the next means turning towards an adjacent
+ * square and moving onto it, which costs getEnergyToMove() plus getEnergyToTurn() for each quarter turn.
+ * Squares get consecutive numbers as they are discovered, and a state is numbered 4*square + orientation, so that all
+ * costs and predecessors are kept in arrays of primitives. States are settled in order of cost, using a binary heap.
+ * When the path finder searches for a single target square, states are settled in order of their cost plus an estimate
+ * of the cost still needed to reach the target (A*), so that the search stops as soon as the target is settled.
+ *
+ * @invar	The cost of each reached state is not higher than the budget of the path finder.
+ * 			|for each state in 0..4*getNbSquares()-1 :
+ * 			|	!isSettled(state) || getCost(state) <= getBudget()
+ *
+ * @author 	Brecht Gossel & William Mauclet
+ * 			2BiR: wtk-cws (Gossel) en cws-elt(Mauclet)
+ * @version	3.0
+ */
+public class PathFinder {
+
+	private final Board board;
+	private final Robot robot;
+	private final BoardSnapshot snapshot;
+	private final double energyToMove;
+	private final double energyToTurn;
+	private final double budget;
+	private final long nbBoardModifications;
+
+	private final CoordinateMap<Integer> squareNumbers = new CoordinateMap<Integer>();
+	private long[] xs = new long[64];
+	private long[] ys = new long[64];
+	private int nbSquares = 0;
+
+	private double[] costs = new double[256];
+	private int[] predecessors = new int[256];
+	private boolean[] settled = new boolean[256];
+	private final StateHeap open = new StateHeap();
+	private final int start;
+	private int nbSettled = 0;
+
+	private boolean hasTarget = false;
+	private long targetX;
+	private long targetY;
+	private long radius = Long.MAX_VALUE;
+
+	private static final Orientation[] orientations = new Orientation[4];
+	private static final int[][] nbTurns = new int[4][4];
+	static {
+		for(int i = 0; i < 4; i++)
+			orientations[i] = Orientation.getOrientation(i);
+		for(int i = 0; i < 4; i++)
+			for(int j = 0; j < 4; j++)
+				nbTurns[i][j] = Orientation.getNbTurnsNecessary(orientations[i], orientations[j]);
+	}
+
+	/**
+	 * Initialize this new path finder for the given robot, in its current state.
+	 *
+	 * @param 	robot
+	 * 			...
+	 * @pre		...
+	 * 			|robot != null && robot.getBoard() != null
+	 * @effect	...
+	 * 			|this(robot.getBoard(), robot, robot.getPosition().getX(), robot.getPosition().getY(), robot.getOrientation(),
+	 * 			|		MicroJoules.toJoules(robot.getEnergyToMoveInMicroJoules()),
+	 * 			|		MicroJoules.toJoules(Robot.getEnergyToTurnInMicroJoules()),
+	 * 			|		MicroJoules.toJoules(robot.getEnergyInMicroJoules()))
+	 */
+	public PathFinder(Robot robot) {
+		this(robot.getBoard(), robot, robot.getPosition().getX(), robot.getPosition().getY(), robot.getOrientation(),
+				MicroJoules.toJoules(robot.getEnergyToMoveInMicroJoules()),
+				MicroJoules.toJoules(Robot.getEnergyToTurnInMicroJoules()),
+				MicroJoules.toJoules(robot.getEnergyInMicroJoules()));
+	}
+
+	/**
+	 * Initialize this new path finder on the given board, for the given robot starting on the given square in the given orientation.
+	 *
+	 * @param 	board
+	 * 			...
+	 * @param 	robot
+	 * 			The robot for which the obstacles on the board are checked.
+	 * @param 	x
+	 * 			...
+	 * @param 	y
+	 * 			...
+	 * @param 	orientation
+	 * 			...
+	 * @param 	energyToMove
+	 * 			The energy in Ws needed for one move.
+	 * @param 	energyToTurn
+	 * 			The energy in Ws needed for one quarter turn.
+	 * @param 	budget
+	 * 			The maximal energy in Ws a path may cost.
+	 * @pre		...
+	 * 			|board.isValidPosition(x, y)
+	 * @post	...
+	 * 			|new.getCost(x, y) == 0
+	 */
+	public PathFinder(Board board, Robot robot, long x, long y, Orientation orientation, double energyToMove, double energyToTurn, double budget) {
+		assert board.isValidPosition(x, y);
+		this.board = board;
+		this.robot = robot;
+		this.snapshot = null;
+		this.energyToMove = energyToMove;
+		this.energyToTurn = energyToTurn;
+		this.budget = budget;
+		this.nbBoardModifications = board.getNbModifications();
+		start = 4 * getSquareNumber(x, y) + orientation.getIntOrientation();
+		costs[start] = 0;
+		predecessors[start] = -1;
+		open.put(start, 0);
+	}
+
+	/**
+	 * Initialize this new path finder on the given snapshot of a board, for a robot starting on the given square in the given
+	 * orientation. Each wall and each robot in the snapshot is an obstacle, except on the starting square itself.
+	 * The path finder never looks at the board itself, so path finders on the same snapshot can search in different threads.
+	 *
+	 * @param 	snapshot
+	 * 			...
+	 * @param 	x
+	 * 			...
+	 * @param 	y
+	 * 			...
+	 * @param 	orientation
+	 * 			...
+	 * @param 	energyToMove
+	 * 			The energy in Ws needed for one move.
+	 * @param 	energyToTurn
+	 * 			The energy in Ws needed for one quarter turn.
+	 * @param 	budget
+	 * 			The maximal energy in Ws a path may cost.
+	 * @pre		...
+	 * 			|snapshot.isValidPosition(x, y)
+	 * @post	...
+	 * 			|new.getBoard() == null && new.getCost(x, y) == 0
+	 */
+	public PathFinder(BoardSnapshot snapshot, long x, long y, Orientation orientation, double energyToMove, double energyToTurn, double budget) {
+		assert snapshot.isValidPosition(x, y);
+		this.board = null;
+		this.robot = null;
+		this.snapshot = snapshot;
+		this.energyToMove = energyToMove;
+		this.energyToTurn = energyToTurn;
+		this.budget = budget;
+		this.nbBoardModifications = -1;
+		start = 4 * getSquareNumber(x, y) + orientation.getIntOrientation();
+		costs[start] = 0;
+		predecessors[start] = -1;
+		open.put(start, 0);
+	}
+
+	/**
+	 * Return the board of this path finder, or null if it searches a snapshot.
+	 */
+	@Basic @Immutable
+	public Board getBoard() {
+		return board;
+	}
+
+	/**
+	 * ...
+	 */
+	@Basic @Immutable
+	public double getEnergyToMove() {
+		return energyToMove;
+	}
+
+	/**
+	 * ...
+	 */
+	@Basic @Immutable
+	public double getEnergyToTurn() {
+		return energyToTurn;
+	}
+
+	/**
+	 * ...
+	 */
+	@Basic @Immutable
+	public double getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Check whether the board of this path finder has not changed since this path finder was made.
+	 *
+	 * @return	...
+	 * 			|result == (getBoard() != null && getBoard().getNbModifications() == nbBoardModifications)
+	 */
+	public boolean isUpToDate() {
+		return getBoard() != null && getBoard().getNbModifications() == nbBoardModifications;
+	}
+
+	/**
+	 * Check whether the costs of this path finder are the costs for the given robot in its current state.
+	 *
+	 * @param 	robot
+	 * 			...
+	 * @return	...
+	 * 			|result == (isUpToDate() && robot.getBoard() == getBoard()
+	 * 			|		&& robot.getPosition().getX() == getX(0) && robot.getPosition().getY() == getY(0)
+	 * 			|		&& robot.getOrientation() == getStartOrientation()
+	 * 			|		&& MicroJoules.toJoules(robot.getEnergyToMoveInMicroJoules()) == getEnergyToMove()
+	 * 			|		&& MicroJoules.toJoules(robot.getEnergyInMicroJoules()) == getBudget())
+	 */
+	public boolean isValidFor(Robot robot) {
+		return isUpToDate() && robot.getBoard() == getBoard()
+				&& robot.getPosition().getX() == getX(0) && robot.getPosition().getY() == getY(0)
+				&& robot.getOrientation() == getStartOrientation()
+				&& MicroJoules.toJoules(robot.getEnergyToMoveInMicroJoules()) == getEnergyToMove()
+				&& MicroJoules.toJoules(robot.getEnergyInMicroJoules()) == getBudget();
+	}
+
+	/**
+	 * Return the orientation in which the robot of this path finder starts.
+	 */
+	public Orientation getStartOrientation() {
+		return getOrientation(start);
+	}
+
+	/**
+	 * Check whether this path finder has settled all states it can reach within its budget.
+	 * A path finder that searched towards a target is never complete, because it skipped all states that don't lead
+	 * to its target within its budget.
+	 */
+	public boolean isComplete() {
+		return !hasTarget && open.isEmpty();
+	}
+
+	/**
+	 * Return the number of squares discovered by this path finder so far.
+	 */
+	@Basic
+	public int getNbSquares() {
+		return nbSquares;
+	}
+
+	/**
+	 * Return the x-coordinate of the square with the given number.
+	 */
+	public long getX(int square) {
+		return xs[square];
+	}
+
+	/**
+	 * Return the y-coordinate of the square with the given number.
+	 */
+	public long getY(int square) {
+		return ys[square];
+	}
+
+	/**
+	 * Settle all states this path finder can reach within its budget.
+	 *
+	 * @post	...
+	 * 			|for each state reachable within getBudget() :
+	 * 			|	new.isSettled(state)
+	 */
+	public void searchAll() {
+		while(!open.isEmpty())
+			settle(open.removeMin());
+	}
+
+	/**
+	 * Return the cost of the next state this path finder would settle, or positive infinity if there is none.
+	 * Unless this path finder searches towards a target, no state that is not settled yet can be reached for less.
+	 */
+	public double getFrontierCost() {
+		return open.isEmpty() ? Double.POSITIVE_INFINITY : open.getMinKey();
+	}
+
+	/**
+	 * Settle the next state with the least cost and return it.
+	 *
+	 * @pre		...
+	 * 			|getFrontierCost() != Double.POSITIVE_INFINITY
+	 * @post	...
+	 * 			|new.isSettled(result) && new.getCost(result) == getFrontierCost()
+	 */
+	public int settleNext() {
+		assert !open.isEmpty();
+		int state = open.removeMin();
+		settle(state);
+		return state;
+	}
+
+	/**
+	 * Settle states until the least cost to reach the square with the given coordinates is known, and return that cost,
+	 * or -1 if the square can not be reached within the budget of this path finder.
+	 * States are taken in order of their cost plus estimateCostToTarget(state), so that only states that may lie on a
+	 * cheapest path to the target are ever settled.
+	 *
+	 * @param 	x
+	 * 			...
+	 * @param 	y
+	 * 			...
+	 * @pre		No state has been settled yet.
+	 * 			|for each state in 0..4*getNbSquares()-1 :
+	 * 			|	!isSettled(state)
+	 * @return	...
+	 * 			|result == new.getCost(x, y)
+	 */
+	public double searchTo(long x, long y) {
+		assert nbSettled == 0;
+		hasTarget = true;
+		targetX = x;
+		targetY = y;
+		open.put(start, estimateCostToTarget(start));
+		while(!open.isEmpty()) {
+			int state = open.removeMin();
+			settle(state);
+			int square = getSquare(state);
+			if(xs[square] == x && ys[square] == y)
+				return costs[state];
+		}
+		return -1;
+	}
+
+	/**
+	 * Settle states in order of their cost until each of the given target squares is settled, until no state within
+	 * the given budget is left, or until nothing is left at all, and return the number of target squares that are settled.
+	 * From then on, this path finder only enters squares within the given Manhattan distance of its starting square,
+	 * so its costs are those of the paths that stay within that distance.
+	 * The search can be resumed by a later call, with a higher budget or other targets.
+	 *
+	 * @param 	budget
+	 * 			The highest cost of the states to settle in this call.
+	 * @param 	radius
+	 * 			The largest Manhattan distance from the starting square of the squares to enter.
+	 * @param 	targetXs
+	 * 			The x coordinates of the target squares, or null to settle every state within the budget.
+	 * @param 	targetYs
+	 * 			The y coordinates of the target squares, in the same order, or null.
+	 * @pre		This path finder does not search towards a single target, and the radius does not grow.
+	 * 			|!(searchTo was called) && radius >= 0 && radius <= (the radius of a previous call)
+	 * @pre		...
+	 * 			|(targetXs == null) == (targetYs == null) && (targetXs == null || targetXs.length == targetYs.length)
+	 * @post	...
+	 * 			|for each state that can be reached for at most budget without leaving the radius :
+	 * 			|	new.isSettled(state) || (targetXs != null && result == targetXs.length)
+	 * @return	...
+	 * 			|result == |{j | new.getBestState(targetXs[j], targetYs[j]) != -1}|
+	 */
+	public int searchWithin(double budget, long radius, long[] targetXs, long[] targetYs) {
+		assert !hasTarget && radius >= 0 && radius <= this.radius;
+		this.radius = radius;
+		//The target squares that are not settled yet, each counted once.
+		CoordinateMap<Boolean> waiting = new CoordinateMap<Boolean>();
+		int nbTargets = (targetXs == null) ? 0 : targetXs.length;
+		int nbReached = 0;
+		for(int j = 0; j < nbTargets; j++)
+			if(getBestState(targetXs[j], targetYs[j]) != -1)
+				nbReached++;
+			else
+				waiting.put(targetXs[j], targetYs[j], Boolean.TRUE);
+		while(!open.isEmpty() && open.getMinKey() <= budget && (targetXs == null || nbReached < nbTargets)) {
+			int square = getSquare(settleNext());
+			if(waiting.remove(xs[square], ys[square]) != null)
+				for(int j = 0; j < nbTargets; j++)
+					if(targetXs[j] == xs[square] && targetYs[j] == ys[square])
+						nbReached++;
+		}
+		return nbReached;
+	}
+
+	/**
+	 * Return an estimate of the energy still needed to get from the given state to the target of this path finder,
+	 * which is never higher than the real cost: each remaining move costs getEnergyToMove(), and the robot must at least
+	 * turn until it has faced each direction in which it still has to move.
+	 * The estimate never drops by more than the cost of a transition, because turning never costs more than moving;
+	 * a state settled while searching for a target therefore has its least cost.
+	 *
+	 * @return	...
+	 * 			|if(!hasTarget) then result == 0
+	 */
+	@Model
+	private double estimateCostToTarget(int state) {
+		if(!hasTarget)
+			return 0;
+		int square = getSquare(state);
+		return getLeastCost(xs[square], ys[square], getOrientation(state), targetX, targetY, getEnergyToMove(), getEnergyToTurn());
+	}
+
+	/**
+	 * Return a lower bound on the energy needed to get from the first square with the given coordinates, in the given orientation,
+	 * to the second one, whatever is on the board: each move costs the given energy to move, and the robot must at least turn
+	 * until it has faced each direction in which it has to move.
+	 * No search is needed to see that a square is out of reach if this bound is higher than the energy of a robot.
+	 *
+	 * @param 	x
+	 * 			...
+	 * @param 	y
+	 * 			...
+	 * @param 	orientation
+	 * 			...
+	 * @param 	targetX
+	 * 			...
+	 * @param 	targetY
+	 * 			...
+	 * @param 	energyToMove
+	 * 			...
+	 * @param 	energyToTurn
+	 * 			...
+	 * @return	...
+	 * 			|result >= (Math.abs(targetX - x) + Math.abs(targetY - y)) * energyToMove
+	 */
+	public static double getLeastCost(long x, long y, Orientation orientation, long targetX, long targetY, double energyToMove, double energyToTurn) {
+		long dx = targetX - x;
+		long dy = targetY - y;
+		int facing = orientation.getIntOrientation();
+		int nbTurnsNeeded;
+		if(dx == 0 && dy == 0)
+			nbTurnsNeeded = 0;
+		else if(dx == 0)
+			nbTurnsNeeded = nbTurns[facing][dy < 0 ? 0 : 2];
+		else if(dy == 0)
+			nbTurnsNeeded = nbTurns[facing][dx > 0 ? 1 : 3];
+		else
+			nbTurnsNeeded = (facing == (dy < 0 ? 0 : 2) || facing == (dx > 0 ? 1 : 3)) ? 1 : 2;
+		return ((double) Math.abs(dx) + (double) Math.abs(dy)) * energyToMove + nbTurnsNeeded * energyToTurn;
+	}
+
+	/**
+	 * Check whether the least cost of the given state is known.
+	 */
+	public boolean isSettled(int state) {
+		return state < 4 * nbSquares && settled[state];
+	}
+
+	/**
+	 * Return the least cost to reach the given state, which must be settled.
+	 *
+	 * @pre		...
+	 * 			|isSettled(state)
+	 */
+	public double getCost(int state) {
+		assert isSettled(state);
+		return costs[state];
+	}
+
+	/**
+	 * Return the least cost of all settled states on the square with the given coordinates, or -1 if there are none.
+	 *
+	 * @param 	x
+	 * 			...
+	 * @param 	y
+	 * 			...
+	 * @return	...
+	 * 			|if(getBestState(x,y) == -1) then result == -1
+	 * 			|else result == getCost(getBestState(x,y))
+	 */
+	public double getCost(long x, long y) {
+		int state = getBestState(x, y);
+		return (state == -1) ? -1 : costs[state];
+	}
+
+	/**
+	 * Return the settled state with the least cost on the square with the given coordinates, or -1 if there is none.
+	 */
+	public int getBestState(long x, long y) {
+		Integer square = squareNumbers.get(x, y);
+		return (square == null) ? -1 : getBestState(square);
+	}
+
+	/**
+	 * Return the settled state with the least cost on the square with the given number, or -1 if there is none.
+	 */
+	public int getBestState(int square) {
+		int best = -1;
+		for(int state = 4 * square; state < 4 * square + 4; state++)
+			if(settled[state] && (best == -1 || costs[state] < costs[best]))
+				best = state;
+		return best;
+	}
+
+	/**
+	 * Return the orientation of the given state.
+	 */
+	public static Orientation getOrientation(int state) {
+		return orientations[state & 3];
+	}
+
+	/**
+	 * Return the number of the square of the given state.
+	 */
+	public static int getSquare(int state) {
+		return state >>> 2;
+	}
+
+	/**
+	 * Return the basic commands that bring the robot from its starting state to the given settled state, at the least cost.
+	 *
+	 * @pre		...
+	 * 			|isSettled(state)
+	 * @return	...
+	 * 			|executing result from the start state ends in the given state and costs getCost(state)
+	 */
+	public ArrayList<Command> getCommands(int state) {
+		assert isSettled(state);
+		ArrayList<Command> commands = new ArrayList<Command>();
+		while(predecessors[state] != -1) {
+			int previous = predecessors[state];
+			commands.add(BasicCommand.MOVE);
+			Orientation from = getOrientation(previous);
+			Orientation to = getOrientation(state);
+			if(to == Orientation.turnLeft(from))
+				commands.add(BasicCommand.TURN_COUNTERCLOCKWISE);
+			else if(to == Orientation.turnRight(from))
+				commands.add(BasicCommand.TURN_CLOCKWISE);
+			else if(to == Orientation.opposite(from)) {
+				commands.add(BasicCommand.TURN_CLOCKWISE);
+				commands.add(BasicCommand.TURN_CLOCKWISE);
+			}
+			state = previous;
+		}
+		Collections.reverse(commands);
+		return commands;
+	}
+
+	/**
+	 * Mark the given state as settled and relax the transitions towards its four adjacent squares.
+	 */
+	@Model
+	private void settle(int state) {
+		settled[state] = true;
+		nbSettled++;
+		int square = getSquare(state);
+		for(int direction = 0; direction < 4; direction++) {
+			long x = xs[square] + orientations[direction].getXStep();
+			long y = ys[square] + orientations[direction].getYStep();
+			if(isBlocked(x, y) || !isWithinRadius(x, y))
+				continue;
+			double cost = costs[state] + getEnergyToMove() + getEnergyToTurn() * nbTurns[state & 3][direction];
+			if(cost > getBudget())
+				continue;
+			int next = 4 * getSquareNumber(x, y) + direction;
+			if(settled[next])
+				continue;
+			if(!open.contains(next) || cost < costs[next]) {
+				double estimate = cost + estimateCostToTarget(next);
+				if(estimate > getBudget())
+					continue;
+				costs[next] = cost;
+				predecessors[next] = state;
+				open.put(next, estimate);
+			}
+		}
+	}
+
+	/**
+	 * Check whether the square with the given coordinates lies within the Manhattan distance this path finder is limited to.
+	 */
+	@Model
+	private boolean isWithinRadius(long x, long y) {
+		if(radius == Long.MAX_VALUE)
+			return true;
+		long dx = Math.abs(x - xs[0]);
+		long dy = Math.abs(y - ys[0]);
+		return dx <= radius && dy <= radius - dx;
+	}
+
+	/**
+	 * Check whether the square with the given coordinates is off the board or holds an obstacle for the robot.
+	 */
+	@Model
+	private boolean isBlocked(long x, long y) {
+		if(snapshot != null)
+			return !snapshot.isValidPosition(x, y) || (snapshot.containsWallOrRobot(x, y) && (x != xs[0] || y != ys[0]));
+		return !getBoard().isValidPosition(x, y) || getBoard().containsObstacle(x, y, robot);
+	}
+
+	/**
+	 * Return the number of the square with the given coordinates, numbering it if it is discovered now.
+	 */
+	@Model
+	private int getSquareNumber(long x, long y) {
+		Integer square = squareNumbers.get(x, y);
+		if(square != null)
+			return square;
+		if(nbSquares == xs.length) {
+			xs = Arrays.copyOf(xs, 2 * nbSquares);
+			ys = Arrays.copyOf(ys, 2 * nbSquares);
+			costs = Arrays.copyOf(costs, 8 * nbSquares);
+			predecessors = Arrays.copyOf(predecessors, 8 * nbSquares);
+			settled = Arrays.copyOf(settled, 8 * nbSquares);
+		}
+		xs[nbSquares] = x;
+		ys[nbSquares] = y;
+		squareNumbers.put(x, y, nbSquares);
+		return nbSquares++;
+	}
+
+}
@@ -0,0 +1,115 @@
+package core;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import Auxiliary.EnergyAmount;
+import Auxiliary.EnergyUnit;
+import Auxiliary.Orientation;
+import Auxiliary.Position;
+import Commands.BasicCommand;
+import Commands.Sequence;
+
+public class PathFinderTest {
+
+	private Board boardH10W10;
+	private Robot robotUP;
+
+	@Before
+	public void setUp() throws Exception {
+		boardH10W10 = new Board(10, 10);
+		robotUP = new Robot(Orientation.UP, new EnergyAmount(10000, EnergyUnit.WATTSECOND));
+		boardH10W10.putEntity(Position.returnUniquePosition(5, 5), robotUP);
+	}
+
+	@Test
+	public void getCost_countsMovesAndTurns() {
+		PathFinder finder = new PathFinder(robotUP);
+		finder.searchAll();
+		assertEquals(0, finder.getCost(5, 5), 0);
+		assertEquals(500, finder.getCost(5, 4), 0);
+		assertEquals(600, finder.getCost(6, 5), 0);
+		assertEquals(700, finder.getCost(5, 6), 0);
+		assertEquals(2100, finder.getCost(7, 3), 0);
+	}
+
+	@Test
+	public void getCost_goesAroundWalls() {
+		boardH10W10.putEntity(Position.returnUniquePosition(5, 4), new Wall());
+		PathFinder finder = new PathFinder(robotUP);
+		finder.searchAll();
+		assertEquals(-1, finder.getCost(5, 4), 0);
+		// Four moves and three quarter turns around the wall.
+		assertEquals(2300, finder.getCost(5, 3), 0);
+	}
+
+	@Test
+	public void getCost_limitedByBudget() {
+		PathFinder finder = new PathFinder(boardH10W10, robotUP, 5, 5, Orientation.UP, 500, 100, 1000);
+		finder.searchAll();
+		assertEquals(1000, finder.getCost(5, 3), 0);
+		assertEquals(-1, finder.getCost(5, 2), 0);
+		assertEquals(-1, finder.getCost(6, 4), 0);
+	}
+
+	@Test
+	public void searchTo_sameCostAsSearchAll() {
+		boardH10W10.putEntity(Position.returnUniquePosition(5, 4), new Wall());
+		boardH10W10.putEntity(Position.returnUniquePosition(4, 3), new Wall());
+		PathFinder all = new PathFinder(robotUP);
+		all.searchAll();
+		for(long x = 0; x <= 10; x++)
+			for(long y = 0; y <= 10; y++)
+				assertEquals(all.getCost(x, y), new PathFinder(robotUP).searchTo(x, y), 0);
+	}
+
+	@Test
+	public void searchTo_settlesFewerSquares() {
+		PathFinder all = new PathFinder(robotUP);
+		all.searchAll();
+		PathFinder towards = new PathFinder(robotUP);
+		assertEquals(1000, towards.searchTo(5, 3), 0);
+		assertTrue(towards.getNbSquares() < all.getNbSquares());
+	}
+
+	@Test
+	public void searchWithin_stopsWhenTargetsSettled() {
+		PathFinder all = new PathFinder(robotUP);
+		all.searchAll();
+		PathFinder targets = new PathFinder(robotUP);
+		assertEquals(3, targets.searchWithin(10000, Long.MAX_VALUE, new long[] {5, 6, 5}, new long[] {4, 5, 4}));
+		assertEquals(500, targets.getCost(5, 4), 0);
+		assertEquals(600, targets.getCost(6, 5), 0);
+		assertTrue(targets.getNbSquares() < all.getNbSquares());
+		assertEquals(1, targets.searchWithin(10000, Long.MAX_VALUE, new long[] {7, 11}, new long[] {3, 3}));
+		assertEquals(all.getCost(7, 3), targets.getCost(7, 3), 0);
+	}
+
+	@Test
+	public void searchWithin_limitedByBudgetAndRadius() {
+		PathFinder finder = new PathFinder(robotUP);
+		assertEquals(0, finder.searchWithin(1000, 2, null, null));
+		assertEquals(1000, finder.getCost(5, 3), 0);
+		assertEquals(-1, finder.getCost(6, 4), 0);
+		finder.searchWithin(10000, 2, null, null);
+		assertEquals(1100, finder.getCost(6, 4), 0);
+		assertEquals(-1, finder.getCost(5, 2), 0);
+		assertEquals(-1, finder.getCost(7, 4), 0);
+		assertTrue(finder.isComplete());
+	}
+
+	@Test
+	public void getCommands_leadToSquareAtCost() {
+		boardH10W10.putEntity(Position.returnUniquePosition(5, 4), new Wall());
+		PathFinder finder = new PathFinder(robotUP);
+		finder.searchAll();
+		int state = finder.getBestState(5, 3);
+		assertEquals(BasicCommand.MOVE, finder.getCommands(state).get(finder.getCommands(state).size() - 1));
+		new Sequence(finder.getCommands(state)).execute(robotUP);
+		assertEquals(Position.returnUniquePosition(5, 3), robotUP.getPosition());
+		assertEquals(new EnergyAmount(10000 - finder.getCost(state), EnergyUnit.WATTSECOND), robotUP.getEnergy());
+	}
+
+}
@@ -0,0 +1,254 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import Commands.Command;
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Model;
+
+/**
+ * A class of rendezvous, finding the squares two robots should move to in order to end up as close as possible to each other,
+ * with the least energy spent by both robots together for that distance.
+ * The searches of both robots grow together, always settling the cheaper frontier first. Each newly settled square is joined
+ * with the settled squares of the other robot next to it, so that the search stops as soon as no adjacent pair can be cheaper
+ * than the best one found. Only if the ranges of both robots never touch are both ranges searched completely, after which the
+ * closest pair is found by looking around the squares of the smaller range at growing distances.
+ *
+ * @invar	Both robots of a rendezvous end on different squares.
+ * 			|getDistance() > 0
+ *
+ * @author 	Brecht Gossel & William Mauclet
+ * 			2BiR: wtk-cws (Gossel) en cws-elt(Mauclet)
+ * @version	3.0
+ */
+class Rendezvous {
+
+	private final PathFinder finder1;
+	private final PathFinder finder2;
+	private long distance = Long.MAX_VALUE;
+	private double energy = Double.POSITIVE_INFINITY;
+	private int state1 = -1;
+	private int state2 = -1;
+
+	/**
+	 * Initialize this new rendezvous for the given robots, in their current state.
+	 *
+	 * @param 	robot1
+	 * 			...
+	 * @param 	robot2
+	 * 			...
+	 * @pre		...
+	 * 			|robot1.getBoard() != null && robot1.getBoard() == robot2.getBoard() && robot1 != robot2
+	 * @post	...
+	 * 			|for each square1 in the range of robot1 :
+	 * 			|	for each square2 in the range of robot2 :
+	 * 			|		Position.getDistance(square1, square2) == 0 || new.getDistance() < Position.getDistance(square1, square2)
+	 * 			|		|| (new.getDistance() == Position.getDistance(square1, square2)
+	 * 			|			&& new.getEnergy() <= robot1.getEnergyRequiredToReach(square1) + robot2.getEnergyRequiredToReach(square2))
+	 */
+	Rendezvous(Robot robot1, Robot robot2) {
+		finder1 = new PathFinder(robot1);
+		finder2 = new PathFinder(robot2);
+		if(getLeastDistance() <= 1)
+			searchAdjacent();
+		else {
+			finder1.searchAll();
+			finder2.searchAll();
+		}
+		if(state1 == -1)
+			searchClosest();
+	}
+
+	/**
+	 * Return a lower bound on the distance between both robots after they moved, whatever is on the board.
+	 * Each robot makes at most as many moves as its energy pays for, so on a large board, robots far apart are known
+	 * not to meet without joining their searches square by square.
+	 *
+	 * @return	...
+	 * 			|result == max(0, getDistance(finder1.getX(0), finder1.getY(0), finder2.getX(0), finder2.getY(0))
+	 * 			|		- (long) (finder1.getBudget() / finder1.getEnergyToMove()) - (long) (finder2.getBudget() / finder2.getEnergyToMove()))
+	 */
+	@Model
+	private long getLeastDistance() {
+		long distance = getDistance(finder1.getX(0), finder1.getY(0), finder2.getX(0), finder2.getY(0));
+		long nbMoves1 = (long) (finder1.getBudget() / finder1.getEnergyToMove());
+		long nbMoves2 = (long) (finder2.getBudget() / finder2.getEnergyToMove());
+		//The distance and both numbers of moves lie between 0 and Long.MAX_VALUE, so subtracting them one at a time cannot wrap around.
+		return Math.max(0, Math.max(0, distance - nbMoves1) - nbMoves2);
+	}
+
+	/**
+	 * Return the distance between the squares both robots move to.
+	 */
+	@Basic
+	public long getDistance() {
+		return distance;
+	}
+
+	/**
+	 * Return the energy in Ws both robots spend together to get to their squares.
+	 */
+	@Basic
+	public double getEnergy() {
+		return energy;
+	}
+
+	/**
+	 * Return the basic commands that bring the first robot to its square.
+	 */
+	public ArrayList<Command> getCommands1() {
+		return finder1.getCommands(state1);
+	}
+
+	/**
+	 * Return the basic commands that bring the second robot to its square.
+	 */
+	public ArrayList<Command> getCommands2() {
+		return finder2.getCommands(state2);
+	}
+
+	/**
+	 * Grow both searches together, joining each newly settled square with the settled squares of the other search next to it,
+	 * until no adjacent pair can be cheaper than the best one found.
+	 * A pair with a square that isn't settled yet costs at least the frontier cost of that search, because costs are never negative.
+	 */
+	@Model
+	private void searchAdjacent() {
+		while(true) {
+			double frontier1 = finder1.getFrontierCost();
+			double frontier2 = finder2.getFrontierCost();
+			if(Math.min(frontier1, frontier2) >= energy)
+				return;
+			if(frontier1 <= frontier2)
+				joinAdjacent(finder1.settleNext(), true);
+			else
+				joinAdjacent(finder2.settleNext(), false);
+		}
+	}
+
+	/**
+	 * Join the given newly settled state of the first or the second search with the settled squares of the other search next to it.
+	 */
+	@Model
+	private void joinAdjacent(int state, boolean first) {
+		PathFinder finder = first ? finder1 : finder2;
+		PathFinder other = first ? finder2 : finder1;
+		int square = PathFinder.getSquare(state);
+		for(int direction = 0; direction < 4; direction++)
+			joinAt(other, state, finder.getX(square) + PathFinder.getOrientation(direction).getXStep(),
+					finder.getY(square) + PathFinder.getOrientation(direction).getYStep(), 1, first);
+	}
+
+	/**
+	 * Find the closest pair of squares of both complete ranges, none of which are adjacent.
+	 * The squares at each distance around the squares of the smaller range are looked up in the larger one, starting from the
+	 * least distance both robots could get to, as long as that takes fewer look-ups than comparing each square of the smaller
+	 * range to each square of the larger one. Robots further apart than that are compared pair by pair right away.
+	 */
+	@Model
+	private void searchClosest() {
+		assert finder1.isComplete() && finder2.isComplete();
+		int[] squares1 = getReachedSquares(finder1);
+		int[] squares2 = getReachedSquares(finder2);
+		boolean firstIsSmaller = squares1.length <= squares2.length;
+		PathFinder small = firstIsSmaller ? finder1 : finder2;
+		PathFinder large = firstIsSmaller ? finder2 : finder1;
+		int[] smallSquares = firstIsSmaller ? squares1 : squares2;
+		int[] largeSquares = firstIsSmaller ? squares2 : squares1;
+		long nbLookUps = 0;
+		//Testing d first keeps 4 * d and the sum of the look-ups far from overflowing.
+		for(long d = Math.max(2, getLeastDistance()); d <= largeSquares.length / 4 && (nbLookUps += 4 * d) <= largeSquares.length; d++) {
+			for(int square : smallSquares)
+				joinAtDistance(small, large, small.getBestState(square), d, firstIsSmaller);
+			if(state1 != -1)
+				return;
+		}
+		for(int square : smallSquares) {
+			int state = small.getBestState(square);
+			for(int otherSquare : largeSquares) {
+				long d = getDistance(small.getX(square), small.getY(square), large.getX(otherSquare), large.getY(otherSquare));
+				int otherState = large.getBestState(otherSquare);
+				if(firstIsSmaller)
+					consider(state, otherState, d);
+				else
+					consider(otherState, state, d);
+			}
+		}
+	}
+
+	/**
+	 * Join the given state of the given search with the settled squares of the other search at the given distance.
+	 */
+	@Model
+	private void joinAtDistance(PathFinder finder, PathFinder other, int state, long d, boolean first) {
+		int square = PathFinder.getSquare(state);
+		long x = finder.getX(square);
+		long y = finder.getY(square);
+		for(long i = 0; i < d; i++) {
+			joinAt(other, state, x + i, y - (d - i), d, first);
+			joinAt(other, state, x + (d - i), y + i, d, first);
+			joinAt(other, state, x - i, y + (d - i), d, first);
+			joinAt(other, state, x - (d - i), y - i, d, first);
+		}
+	}
+
+	/**
+	 * Join the given state with the settled square of the other search with the given coordinates, if there is one.
+	 */
+	@Model
+	private void joinAt(PathFinder other, int state, long x, long y, long d, boolean first) {
+		int otherState = other.getBestState(x, y);
+		if(otherState == -1)
+			return;
+		if(first)
+			consider(state, otherState, d);
+		else
+			consider(otherState, state, d);
+	}
+
+	/**
+	 * Keep the given pair of states at the given distance if it is closer, or as close and cheaper, than the best pair so far.
+	 */
+	@Model
+	private void consider(int state1, int state2, long distance) {
+		if(distance == 0 || distance > this.distance)
+			return;
+		double energy = finder1.getCost(state1) + finder2.getCost(state2);
+		if(distance < this.distance || energy < this.energy) {
+			this.distance = distance;
+			this.energy = energy;
+			this.state1 = state1;
+			this.state2 = state2;
+		}
+	}
+
+	/**
+	 * Return the Manhattan-distance between the squares with the given coordinates, or Long.MAX_VALUE if it is larger.
+	 *
+	 * @pre		...
+	 * 			|x1 >= 0 && y1 >= 0 && x2 >= 0 && y2 >= 0
+	 * @return	...
+	 * 			|result == Math.min((BigInteger) Math.abs(x1 - x2) + Math.abs(y1 - y2), Long.MAX_VALUE)
+	 */
+	@Model
+	private static long getDistance(long x1, long y1, long x2, long y2) {
+		long dx = Math.abs(x1 - x2);
+		long dy = Math.abs(y1 - y2);
+		return (dx > Long.MAX_VALUE - dy) ? Long.MAX_VALUE : dx + dy;
+	}
+
+	/**
+	 * Return the numbers of all squares the given search has settled.
+	 */
+	@Model
+	private static int[] getReachedSquares(PathFinder finder) {
+		int[] squares = new int[finder.getNbSquares()];
+		int nbReached = 0;
+		for(int square = 0; square < finder.getNbSquares(); square++)
+			if(finder.getBestState(square) != -1)
+				squares[nbReached++] = square;
+		return Arrays.copyOf(squares, nbReached);
+	}
+
+}
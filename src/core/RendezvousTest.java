@@ -0,0 +1,136 @@
+package core;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import Auxiliary.EnergyAmount;
+import Auxiliary.EnergyUnit;
+import Auxiliary.Orientation;
+import Auxiliary.Position;
+
+public class RendezvousTest {
+
+	private Board boardH20W20;
+
+	@Before
+	public void setUp() throws Exception {
+		boardH20W20 = new Board(20, 20);
+	}
+
+	@Test
+	public void constructor_adjacentRobotsDontMove() {
+		Robot robot1 = new Robot(Orientation.UP, new EnergyAmount(5000, EnergyUnit.WATTSECOND));
+		Robot robot2 = new Robot(Orientation.DOWN, new EnergyAmount(5000, EnergyUnit.WATTSECOND));
+		boardH20W20.putEntity(Position.returnUniquePosition(3, 3), robot1);
+		boardH20W20.putEntity(Position.returnUniquePosition(4, 3), robot2);
+		Rendezvous rendezvous = new Rendezvous(robot1, robot2);
+		assertEquals(1, rendezvous.getDistance());
+		assertEquals(0, rendezvous.getEnergy(), 0);
+		assertTrue(rendezvous.getCommands1().isEmpty());
+		assertTrue(rendezvous.getCommands2().isEmpty());
+	}
+
+	@Test
+	public void constructor_rangesDontTouch() {
+		Robot robot1 = new Robot(Orientation.RIGHT, new EnergyAmount(1000, EnergyUnit.WATTSECOND));
+		Robot robot2 = new Robot(Orientation.LEFT, new EnergyAmount(600, EnergyUnit.WATTSECOND));
+		boardH20W20.putEntity(Position.returnUniquePosition(0, 10), robot1);
+		boardH20W20.putEntity(Position.returnUniquePosition(15, 10), robot2);
+		Rendezvous rendezvous = new Rendezvous(robot1, robot2);
+		assertEquals(12, rendezvous.getDistance());
+		assertEquals(1500, rendezvous.getEnergy(), 0);
+	}
+
+	@Test
+	public void constructor_farApartOnHugeBoard() {
+		Board board = new Board(Long.MAX_VALUE, Long.MAX_VALUE);
+		Robot robot1 = new Robot(Orientation.RIGHT, new EnergyAmount(5000, EnergyUnit.WATTSECOND));
+		Robot robot2 = new Robot(Orientation.LEFT, new EnergyAmount(5000, EnergyUnit.WATTSECOND));
+		board.putEntity(Position.returnUniquePosition(0, 5), robot1);
+		board.putEntity(Position.returnUniquePosition(1000000000000L, 5), robot2);
+		Rendezvous rendezvous = new Rendezvous(robot1, robot2);
+		assertEquals(1000000000000L - 20, rendezvous.getDistance());
+		assertEquals(10000, rendezvous.getEnergy(), 0);
+	}
+
+	@Test
+	public void constructor_oppositeCornersOfHugeBoard() {
+		Board board = new Board(Long.MAX_VALUE, Long.MAX_VALUE);
+		Robot robot1 = new Robot(Orientation.RIGHT, new EnergyAmount(5000, EnergyUnit.WATTSECOND));
+		Robot robot2 = new Robot(Orientation.LEFT, new EnergyAmount(5000, EnergyUnit.WATTSECOND));
+		board.putEntity(Position.returnUniquePosition(0, 0), robot1);
+		board.putEntity(Position.returnUniquePosition(Long.MAX_VALUE, Long.MAX_VALUE), robot2);
+		Rendezvous rendezvous = new Rendezvous(robot1, robot2);
+		assertEquals(Long.MAX_VALUE, rendezvous.getDistance());
+		assertEquals(0, rendezvous.getEnergy(), 0);
+	}
+
+	@Test
+	public void constructor_oppositeEdgesOfHugeBoard() {
+		Board board = new Board(Long.MAX_VALUE, Long.MAX_VALUE);
+		Robot robot1 = new Robot(Orientation.RIGHT, new EnergyAmount(5000, EnergyUnit.WATTSECOND));
+		Robot robot2 = new Robot(Orientation.LEFT, new EnergyAmount(5000, EnergyUnit.WATTSECOND));
+		board.putEntity(Position.returnUniquePosition(0, 0), robot1);
+		board.putEntity(Position.returnUniquePosition(Long.MAX_VALUE, 0), robot2);
+		Rendezvous rendezvous = new Rendezvous(robot1, robot2);
+		assertEquals(Long.MAX_VALUE - 20, rendezvous.getDistance());
+		assertEquals(10000, rendezvous.getEnergy(), 0);
+	}
+
+	@Test
+	public void constructor_sumOfDifferencesOverflows() {
+		Board board = new Board(Long.MAX_VALUE, Long.MAX_VALUE);
+		Robot robot1 = new Robot(Orientation.RIGHT, new EnergyAmount(5000, EnergyUnit.WATTSECOND));
+		Robot robot2 = new Robot(Orientation.LEFT, new EnergyAmount(5000, EnergyUnit.WATTSECOND));
+		board.putEntity(Position.returnUniquePosition(0, 0), robot1);
+		board.putEntity(Position.returnUniquePosition(Long.MAX_VALUE / 2 + 10, Long.MAX_VALUE / 2 + 10), robot2);
+		Rendezvous rendezvous = new Rendezvous(robot1, robot2);
+		//The robots start Long.MAX_VALUE + 19 apart, and get 20 squares closer.
+		assertEquals(Long.MAX_VALUE - 1, rendezvous.getDistance());
+		assertEquals(10000, rendezvous.getEnergy(), 0);
+	}
+
+	@Test
+	public void constructor_sameOptimumAsAllPairs() {
+		Random random = new Random(42);
+		for(int i = 0; i < 20; i++) {
+			Board board = new Board(12, 12);
+			for(int j = 0; j < 30; j++) {
+				Position position = Position.returnUniquePosition(random.nextInt(13), random.nextInt(13));
+				if(!board.containsEntity(position))
+					board.putEntity(position, new Wall());
+			}
+			Robot robot1 = new Robot(Orientation.getOrientation(random.nextInt(4)), new EnergyAmount(500 + random.nextInt(6000), EnergyUnit.WATTSECOND));
+			Robot robot2 = new Robot(Orientation.getOrientation(random.nextInt(4)), new EnergyAmount(500 + random.nextInt(6000), EnergyUnit.WATTSECOND));
+			board.putEntity(board.getRandomFreePosition(robot1, random), robot1);
+			board.putEntity(board.getRandomFreePosition(robot2, random), robot2);
+
+			PathFinder finder1 = new PathFinder(robot1);
+			finder1.searchAll();
+			PathFinder finder2 = new PathFinder(robot2);
+			finder2.searchAll();
+			long distance = Long.MAX_VALUE;
+			double energy = Double.POSITIVE_INFINITY;
+			for(int square1 = 0; square1 < finder1.getNbSquares(); square1++)
+				for(int square2 = 0; square2 < finder2.getNbSquares(); square2++) {
+					if(finder1.getBestState(square1) == -1 || finder2.getBestState(square2) == -1)
+						continue;
+					long d = Math.abs(finder1.getX(square1) - finder2.getX(square2)) + Math.abs(finder1.getY(square1) - finder2.getY(square2));
+					double e = finder1.getCost(finder1.getBestState(square1)) + finder2.getCost(finder2.getBestState(square2));
+					if(d != 0 && (d < distance || (d == distance && e < energy))) {
+						distance = d;
+						energy = e;
+					}
+				}
+
+			Rendezvous rendezvous = new Rendezvous(robot1, robot2);
+			assertEquals(distance, rendezvous.getDistance());
+			assertEquals(energy, rendezvous.getEnergy(), 0);
+		}
+	}
+
+}
@@ -0,0 +1,368 @@
+package core;
+
+import java.util.Arrays;
+
+import Auxiliary.CoordinateMap;
+import Auxiliary.MicroJoules;
+import Auxiliary.Orientation;
+import Auxiliary.StateHeap;
+import Commands.BasicCommand;
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Immutable;
+import be.kuleuven.cs.som.annotate.Model;
+
+/**
+ * A class of replanners, guiding a robot to a target square while the board changes under it (D* Lite).
+ * The search runs backwards, from the target to the robot, over the same states (square, orientation) as a PathFinder, and
+ * keeps its search tree between questions: a replanner listens to the board of its robot, and when an entity is put on or
+ * removed from a square, only the states around that square are brought up to date. The next question repairs the part of
+ * the tree that depends on them, instead of searching everything again.
+ * Each state has the least cost g to the target found so far, and a look-ahead rhs computed from the costs of its successors;
+ * states where both differ wait in a heap, ordered by [min(g, rhs) + h + km ; min(g, rhs)], with h the least cost from the
+ * robot to the state and km the sum of the least costs of all moves the robot made since the search started.
+ * No state that costs more than the energy of the robot is expanded.
+ *
+ * @invar	The robot of a replanner is never null.
+ * 			|getRobot() != null
+ *
+ * @author 	Brecht Gossel & William Mauclet
+ * 			2BiR: wtk-cws (Gossel) en cws-elt(Mauclet)
+ * @version	3.0
+ */
+public class Replanner extends Deletable implements BoardListener {
+
+	private final Board board;
+	private final Robot robot;
+	private final long targetX;
+	private final long targetY;
+	private double energyToMove;
+	private double energyToTurn;
+
+	private final CoordinateMap<Integer> squareNumbers = new CoordinateMap<Integer>();
+	private long[] xs = new long[64];
+	private long[] ys = new long[64];
+	private int nbSquares = 0;
+	private double[] g = new double[256];
+	private double[] rhs = new double[256];
+	private final StateHeap open = new StateHeap();
+	private double km = 0;
+	private long lastX;
+	private long lastY;
+
+	private static final Orientation[] orientations = new Orientation[4];
+	private static final int[][] nbTurns = new int[4][4];
+	static {
+		for(int i = 0; i < 4; i++)
+			orientations[i] = Orientation.getOrientation(i);
+		for(int i = 0; i < 4; i++)
+			for(int j = 0; j < 4; j++)
+				nbTurns[i][j] = Orientation.getNbTurnsNecessary(orientations[i], orientations[j]);
+	}
+
+	/**
+	 * Initialize this new replanner for the given robot and the target square with the given coordinates, and register it
+	 * as a listener of the board of the robot.
+	 *
+	 * @param 	robot
+	 * 			...
+	 * @param 	targetX
+	 * 			...
+	 * @param 	targetY
+	 * 			...
+	 * @pre		...
+	 * 			|robot != null && robot.getBoard() != null
+	 * @throws	IllegalArgumentException
+	 * 			...
+	 * 			|!robot.getBoard().isValidPosition(targetX, targetY)
+	 * @post	...
+	 * 			|robot.getBoard().hasAsListener(new)
+	 */
+	public Replanner(Robot robot, long targetX, long targetY) throws IllegalArgumentException {
+		super();
+		if(!robot.getBoard().isValidPosition(targetX, targetY))
+			throw new IllegalArgumentException("Given position is out of bounds!");
+		this.board = robot.getBoard();
+		this.robot = robot;
+		this.targetX = targetX;
+		this.targetY = targetY;
+		restart();
+		board.addListener(this);
+	}
+
+	/**
+	 * ...
+	 */
+	@Basic @Immutable
+	public Robot getRobot() {
+		return robot;
+	}
+
+	/**
+	 * ...
+	 */
+	@Basic @Immutable
+	public Board getBoard() {
+		return board;
+	}
+
+	/**
+	 * Return the least energy in Ws the robot of this replanner needs to get from its current state to the target,
+	 * or -1 if it can't get there with its energy.
+	 *
+	 * @return	...
+	 * 			|if(getRobot().getBoard() != getBoard() || isTerminated()) then result == -1
+	 * 			|else result == new PathFinder(getRobot()).searchTo(targetX, targetY)
+	 */
+	public double getCost() {
+		if(isTerminated() || robot.getBoard() != board)
+			return -1;
+		int start = update();
+		double cost = Math.min(g[start], rhs[start]);
+		return (cost > getBudget()) ? -1 : cost;
+	}
+
+	/**
+	 * Return the first basic command the robot of this replanner should execute to get to the target with the least energy,
+	 * or null if it is on the target or can't get there.
+	 *
+	 * @return	...
+	 * 			|if(getCost() <= 0) then result == null
+	 * 			|else executing result and then following the least energy-consumptive way costs getCost()
+	 */
+	public BasicCommand getNextCommand() {
+		if(getCost() <= 0)
+			return null;
+		int start = getState(robot.getPosition().getX(), robot.getPosition().getY(), robot.getOrientation().getIntOrientation());
+		int best = -1;
+		double bestCost = Double.POSITIVE_INFINITY;
+		for(int direction = 0; direction < 4; direction++) {
+			double cost = getCost(start, direction);
+			int next = getSuccessor(start, direction);
+			if(next != -1 && cost + g[next] < bestCost) {
+				bestCost = cost + g[next];
+				best = direction;
+			}
+		}
+		Orientation orientation = orientations[start & 3];
+		if(orientations[best] == orientation)
+			return BasicCommand.MOVE;
+		if(orientations[best] == Orientation.turnLeft(orientation))
+			return BasicCommand.TURN_COUNTERCLOCKWISE;
+		return BasicCommand.TURN_CLOCKWISE;
+	}
+
+	/**
+	 * Bring the states around the given square up to date, if the given board is the board of this replanner.
+	 * The states on the square get new outgoing costs, and the states on the adjacent squares get a new cost to move onto it.
+	 */
+	@Override
+	public void squareChanged(Board board, long x, long y) {
+		if(board != this.board || isTerminated())
+			return;
+		Integer square = squareNumbers.get(x, y);
+		if(square != null)
+			for(int orientation = 0; orientation < 4; orientation++)
+				updateState(4 * square + orientation);
+		for(int direction = 0; direction < 4; direction++) {
+			Integer neighbour = squareNumbers.get(x - orientations[direction].getXStep(), y - orientations[direction].getYStep());
+			if(neighbour != null)
+				for(int orientation = 0; orientation < 4; orientation++)
+					updateState(4 * neighbour + orientation);
+		}
+	}
+
+	/**
+	 * Stop listening to the board of this replanner, and terminate this replanner.
+	 *
+	 * @post	...
+	 * 			|!getBoard().hasAsListener(this)
+	 * @effect	...
+	 * 			|super.terminate()
+	 */
+	@Override
+	public void terminate() {
+		board.removeListener(this);
+		super.terminate();
+	}
+
+	/**
+	 * Return the energy of the robot of this replanner, in Ws.
+	 */
+	@Model
+	private double getBudget() {
+		return MicroJoules.toJoules(robot.getEnergyInMicroJoules());
+	}
+
+	/**
+	 * Forget the whole search tree, and start again from the target.
+	 */
+	@Model
+	private void restart() {
+		energyToMove = MicroJoules.toJoules(robot.getEnergyToMoveInMicroJoules());
+		energyToTurn = MicroJoules.toJoules(Robot.getEnergyToTurnInMicroJoules());
+		squareNumbers.clear();
+		nbSquares = 0;
+		Arrays.fill(g, Double.POSITIVE_INFINITY);
+		Arrays.fill(rhs, Double.POSITIVE_INFINITY);
+		open.clear();
+		km = 0;
+		lastX = robot.getPosition().getX();
+		lastY = robot.getPosition().getY();
+		int target = getSquareNumber(targetX, targetY);
+		for(int orientation = 0; orientation < 4; orientation++) {
+			rhs[4 * target + orientation] = 0;
+			open.put(4 * target + orientation, getHeuristic(4 * target + orientation), 0);
+		}
+	}
+
+	/**
+	 * Take the moves of the robot since the last question into account, and repair the search tree until the state of the robot
+	 * is up to date, or until all states that are not up to date cost more than the energy of the robot. Return the state of the robot.
+	 */
+	@Model
+	private int update() {
+		if(MicroJoules.toJoules(robot.getEnergyToMoveInMicroJoules()) != energyToMove)
+			restart();
+		long x = robot.getPosition().getX();
+		long y = robot.getPosition().getY();
+		km += (Math.abs(x - lastX) + Math.abs(y - lastY)) * energyToMove;
+		lastX = x;
+		lastY = y;
+		int start = getState(x, y, robot.getOrientation().getIntOrientation());
+		while(!open.isEmpty() && open.getMinKey() <= getBudget() + km
+				&& (precedes(open.getMinKey(), open.getMinSecondKey(), getKey(start), getSecondKey(start)) || rhs[start] != g[start])) {
+			double oldKey = open.getMinKey();
+			double oldSecondKey = open.getMinSecondKey();
+			int state = open.removeMin();
+			if(precedes(oldKey, oldSecondKey, getKey(state), getSecondKey(state)))
+				open.put(state, getKey(state), getSecondKey(state));
+			else if(g[state] > rhs[state]) {
+				g[state] = rhs[state];
+				updatePredecessors(state);
+			}
+			else {
+				g[state] = Double.POSITIVE_INFINITY;
+				updateState(state);
+				updatePredecessors(state);
+			}
+		}
+		return start;
+	}
+
+	/**
+	 * Compute the look-ahead of the given state again from its successors, and put it in the heap if it is not up to date.
+	 */
+	@Model
+	private void updateState(int state) {
+		int square = state >>> 2;
+		if(xs[square] != targetX || ys[square] != targetY) {
+			double best = Double.POSITIVE_INFINITY;
+			for(int direction = 0; direction < 4; direction++) {
+				int next = getSuccessor(state, direction);
+				if(next != -1)
+					best = Math.min(best, getCost(state, direction) + g[next]);
+			}
+			rhs[state] = best;
+		}
+		if(g[state] != rhs[state])
+			open.put(state, getKey(state), getSecondKey(state));
+		else
+			open.remove(state);
+	}
+
+	/**
+	 * Update all states from which the given state is reached with one move.
+	 */
+	@Model
+	private void updatePredecessors(int state) {
+		int square = state >>> 2;
+		Orientation direction = orientations[state & 3];
+		long x = xs[square] - direction.getXStep();
+		long y = ys[square] - direction.getYStep();
+		if(!board.isValidPosition(x, y))
+			return;
+		int previous = getSquareNumber(x, y);
+		for(int orientation = 0; orientation < 4; orientation++)
+			updateState(4 * previous + orientation);
+	}
+
+	/**
+	 * Return the state reached from the given state by moving in the given direction, or -1 if that move is impossible.
+	 */
+	@Model
+	private int getSuccessor(int state, int direction) {
+		int square = state >>> 2;
+		if(board.containsObstacle(xs[square], ys[square], robot))
+			return -1;
+		long x = xs[square] + orientations[direction].getXStep();
+		long y = ys[square] + orientations[direction].getYStep();
+		if(!board.isValidPosition(x, y) || board.containsObstacle(x, y, robot))
+			return -1;
+		return 4 * getSquareNumber(x, y) + direction;
+	}
+
+	/**
+	 * Return the energy needed to move from the given state in the given direction.
+	 */
+	@Model
+	private double getCost(int state, int direction) {
+		return energyToMove + energyToTurn * nbTurns[state & 3][direction];
+	}
+
+	/**
+	 * Return the least energy needed for the robot to get from its last known square to the square of the given state.
+	 */
+	@Model
+	private double getHeuristic(int state) {
+		int square = state >>> 2;
+		return (Math.abs(xs[square] - lastX) + Math.abs(ys[square] - lastY)) * energyToMove;
+	}
+
+	@Model
+	private double getKey(int state) {
+		return Math.min(g[state], rhs[state]) + getHeuristic(state) + km;
+	}
+
+	@Model
+	private double getSecondKey(int state) {
+		return Math.min(g[state], rhs[state]);
+	}
+
+	@Model
+	private static boolean precedes(double key1, double secondKey1, double key2, double secondKey2) {
+		return key1 < key2 || (key1 == key2 && secondKey1 < secondKey2);
+	}
+
+	/**
+	 * Return the state on the square with the given coordinates in the given orientation, numbering the square if needed.
+	 */
+	@Model
+	private int getState(long x, long y, int orientation) {
+		return 4 * getSquareNumber(x, y) + orientation;
+	}
+
+	/**
+	 * Return the number of the square with the given coordinates, numbering it if it is discovered now.
+	 */
+	@Model
+	private int getSquareNumber(long x, long y) {
+		Integer square = squareNumbers.get(x, y);
+		if(square != null)
+			return square;
+		if(4 * nbSquares == g.length) {
+			g = Arrays.copyOf(g, 2 * g.length);
+			rhs = Arrays.copyOf(rhs, 2 * rhs.length);
+			Arrays.fill(g, 4 * nbSquares, g.length, Double.POSITIVE_INFINITY);
+			Arrays.fill(rhs, 4 * nbSquares, rhs.length, Double.POSITIVE_INFINITY);
+		}
+		if(nbSquares == xs.length) {
+			xs = Arrays.copyOf(xs, 2 * nbSquares);
+			ys = Arrays.copyOf(ys, 2 * nbSquares);
+		}
+		xs[nbSquares] = x;
+		ys[nbSquares] = y;
+		squareNumbers.put(x, y, nbSquares);
+		return nbSquares++;
+	}
+
+}
@@ -0,0 +1,90 @@
+package core;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import Auxiliary.EnergyAmount;
+import Auxiliary.EnergyUnit;
+import Auxiliary.Orientation;
+import Auxiliary.Position;
+import Commands.BasicCommand;
+
+public class ReplannerTest {
+
+	private Board boardH10W10;
+	private Robot robotUP;
+
+	@Before
+	public void setUp() throws Exception {
+		boardH10W10 = new Board(10, 10);
+		robotUP = new Robot(Orientation.UP, new EnergyAmount(10000, EnergyUnit.WATTSECOND));
+		boardH10W10.putEntity(Position.returnUniquePosition(5, 5), robotUP);
+	}
+
+	@Test
+	public void getCost_sameAsPathFinder() {
+		Replanner replanner = new Replanner(robotUP, 5, 1);
+		assertEquals(2000, replanner.getCost(), 0);
+		boardH10W10.putEntity(Position.returnUniquePosition(5, 3), new Wall());
+		assertEquals(new PathFinder(robotUP).searchTo(5, 1), replanner.getCost(), 0);
+	}
+
+	@Test
+	public void getNextCommand_followsChangingBoard() {
+		Replanner replanner = new Replanner(robotUP, 5, 0);
+		Wall wall = new Wall();
+		for(int step = 0; step < 40 && replanner.getNextCommand() != null; step++) {
+			if(step == 1)
+				boardH10W10.putEntity(Position.returnUniquePosition(5, 2), wall);
+			if(step == 6)
+				boardH10W10.removeEntity(wall);
+			double cost = replanner.getCost();
+			assertEquals(new PathFinder(robotUP).searchTo(5, 0), cost, 0);
+			double energy = robotUP.getEnergy().getAmountInSpecifiedUnit(EnergyUnit.WATTSECOND);
+			BasicCommand command = replanner.getNextCommand();
+			command.execute(robotUP);
+			double spent = energy - robotUP.getEnergy().getAmountInSpecifiedUnit(EnergyUnit.WATTSECOND);
+			assertEquals(cost - spent, replanner.getCost(), 0);
+		}
+		assertEquals(Position.returnUniquePosition(5, 0), robotUP.getPosition());
+	}
+
+	@Test
+	public void getCost_unreachableTarget() {
+		boardH10W10.putEntity(Position.returnUniquePosition(0, 1), new Wall());
+		boardH10W10.putEntity(Position.returnUniquePosition(1, 0), new Wall());
+		Replanner replanner = new Replanner(robotUP, 0, 0);
+		assertEquals(-1, replanner.getCost(), 0);
+		assertNull(replanner.getNextCommand());
+	}
+
+	@Test
+	public void getCost_sameAsPathFinderWhileRobotsMove() {
+		Random random = new Random(3);
+		Robot[] others = new Robot[6];
+		for(int i = 0; i < others.length; i++) {
+			others[i] = new Robot(Orientation.UP, new EnergyAmount(100, EnergyUnit.WATTSECOND));
+			boardH10W10.putEntity(boardH10W10.getRandomFreePosition(others[i], random), others[i]);
+		}
+		Replanner replanner = new Replanner(robotUP, 9, 9);
+		for(int step = 0; step < 100; step++) {
+			Robot other = others[random.nextInt(others.length)];
+			boardH10W10.putEntity(boardH10W10.getRandomFreePosition(other, random), other);
+			assertEquals(new PathFinder(robotUP).searchTo(9, 9), replanner.getCost(), 0);
+		}
+	}
+
+	@Test
+	public void terminate_stopsListening() {
+		Replanner replanner = new Replanner(robotUP, 5, 1);
+		assertTrue(boardH10W10.hasAsListener(replanner));
+		replanner.terminate();
+		assertFalse(boardH10W10.hasAsListener(replanner));
+		assertEquals(-1, replanner.getCost(), 0);
+	}
+
+}
@@ -2,15 +2,15 @@ package core;
 
 
 import java.io.FileNotFoundException;
-import java.math.BigInteger;
-import java.util.ArrayList;
-import java.util.HashMap;
+
 import java.util.HashSet;
 
 import Auxiliary.EnergyAmount;
 import Auxiliary.EnergyUnit;
+import Auxiliary.MicroJoules;
 import Auxiliary.Orientation;
 import Auxiliary.Position;
+import Auxiliary.Ray;
 import Commands.*;
 import Items.Item;
 import Readers.FileReader;
@@ -45,14 +45,25 @@ public class Robot extends Entity implements EnergyRelated{
     private static final EnergyAmount energyToTurn = new EnergyAmount(100, getStandardUnit());
     private static final EnergyAmount energyToShoot = new EnergyAmount(1000, getStandardUnit());
     private static final EnergyAmount maxCapacity = new EnergyAmount(20000, getStandardUnit());
+    private static final long capacityLossWhenHitInMicroJoules = MicroJoules.valueOf(capacityLossWhenHit);
+    private static final long minimalEnergyToMoveInMicroJoules = MicroJoules.valueOf(minimalEnergyToMove);
+    private static final long energyToTurnInMicroJoules = MicroJoules.valueOf(energyToTurn);
+    private static final long energyToShootInMicroJoules = MicroJoules.valueOf(energyToShoot);
+    private static final long maxCapacityInMicroJoules = MicroJoules.valueOf(maxCapacity);
     
-    private EnergyAmount capacity;
-    private EnergyAmount energy;
+    //The energy of a robot is kept in micro-joules: moving, turning, shooting and charging only add and subtract longs, and
+    // an EnergyAmount is only made when one is asked for.
+    private long capacity;
+    private long energy;
     private Orientation orientation;    
-    private EnergyAmount energyToMove = getMinimalEnergyToMove();
-    private ArrayList<Item> load = new ArrayList<Item>();    
+    private long energyToMove = minimalEnergyToMoveInMicroJoules;
+    private final Load load = new Load();
     private Command program = null;
     private int progressInProgram = 0;
+    private PathFinder costMap = null;
+    //A robot in a fleet keeps its energy, capacity, energy to move and orientation in the arrays of that fleet instead.
+    private Fleet fleet = null;
+    private int idInFleet = -1;
 
     /**
      * Initialize this new robot with given orientation and given energy-amount.
@@ -84,20 +95,24 @@ public class Robot extends Entity implements EnergyRelated{
      * @effect	If the robot was carrying items, terminate these items. 
      * 			|for each item in getLoad() :
      * 			|	item.terminate()
+     * @effect	If the robot was in a fleet, remove it from that fleet.
+     * 			|if(getFleet() != null) then getFleet().removeAsRobot(this)
      * @effect	Summon the method terminate() of the superclass.
      * 			|super.terminate()
      */
     public void terminate() {
         for(Item item : getLoad())
             item.terminate();
+        if(getFleet() != null)
+            getFleet().removeAsRobot(this);
         super.terminate();
     }
 
     /**
-     * Return a copy of this robot with the exact same attributes, the same position and with a copy of the ArrayList load containing 
+     * Return a copy of this robot with the exact same attributes, the same position and with a copy of the load containing 
      * copies of the items stored in it.
      * 
-     * @return	A copy of this robot with the exact same attributes with a copy of the ArrayList load containing copies of the items
+     * @return	A copy of this robot with the exact same attributes with a copy of the load containing copies of the items
      * 			stored in it.
      * 			|let
      * 			|	Robot clone = new Robot(getOrientation(), getEnergy())
@@ -150,6 +165,14 @@ public class Robot extends Entity implements EnergyRelated{
         return energyToTurn;
     }
 
+    /**	
+     * Return the energy needed to turn in micro-joules.
+     */
+    @Immutable
+    public static long getEnergyToTurnInMicroJoules() {
+        return energyToTurnInMicroJoules;
+    }
+
     /**
      * Return the energy needed to shoot (in Ws).
      */
@@ -158,27 +181,56 @@ public class Robot extends Entity implements EnergyRelated{
         return energyToShoot;
     }
 
+    /**
+     * Return the energy needed to shoot in micro-joules.
+     */
+    @Immutable
+    public static long getEnergyToShootInMicroJoules() {
+        return energyToShootInMicroJoules;
+    }
+
     /**
      * Return the energy needed to move one position forward (in Ws).
+     * 
+     * @return	...
+     * 			|result.hasSameValueAs(MicroJoules.toEnergyAmount(getEnergyToMoveInMicroJoules(), EnergyUnit.WATTSECOND))
      */
-    @Basic
     public EnergyAmount getEnergyToMove() {
+        return MicroJoules.toEnergyAmount(getEnergyToMoveInMicroJoules(), getStandardUnit());
+    }
+
+    /**
+     * Return the energy needed to move one position forward in micro-joules.
+     */
+    @Basic
+    public long getEnergyToMoveInMicroJoules() {
+        if(fleet != null)
+            return fleet.getEnergyToMoveAt(idInFleet);
         return energyToMove;
     }
 
     /**
-     * Return the array containing the items that the robot is carrying.
+     * Return the load of items that the robot is carrying, ordered from heaviest to lightest.
      */
     @Basic @Model
-    private ArrayList<Item> getLoad() {
+    private Load getLoad() {
         return load;
     }
 
     /**
      * Return the capacity of this robot. The capacity is the maximum energy-level of a robot (in Ws).
      */
-    @Basic
     public EnergyAmount getCapacity() {
+        return MicroJoules.toEnergyAmount(getCapacityInMicroJoules(), getStandardUnit());
+    }
+
+    /**
+     * Return the capacity of this robot in micro-joules.
+     */
+    @Basic
+    public long getCapacityInMicroJoules() {
+        if(fleet != null)
+            return fleet.getCapacityAt(idInFleet);
         return capacity;
     }
     
@@ -195,7 +247,24 @@ public class Robot extends Entity implements EnergyRelated{
     @Raw 
     public void setCapacity(EnergyAmount capacity) {
     	assert(isValidCapacity(capacity));
-    	this.capacity = capacity;
+    	setCapacity(MicroJoules.valueOf(capacity));
+    }
+
+    /**
+     * Set the capacity of this robot to the given number of micro-joules.
+     * 
+     * @pre		...
+     * 			|capacity > 0 && capacity <= getMaxCapacityInMicroJoules()
+     * @post	...
+     * 			|new.getCapacityInMicroJoules() == capacity
+     */
+    @Raw
+    public void setCapacity(long capacity) {
+    	assert capacity > 0 && capacity <= getMaxCapacityInMicroJoules();
+    	if(fleet != null)
+    		fleet.setCapacityAt(idInFleet, capacity);
+    	else
+    		this.capacity = capacity;
     }
     
     /**
@@ -206,11 +275,31 @@ public class Robot extends Entity implements EnergyRelated{
     	return maxCapacity;
     }
 
+    /**
+     * Return the maximal capacity of a robot in micro-joules.
+     */
+    @Immutable
+    public static long getMaxCapacityInMicroJoules(){
+    	return maxCapacityInMicroJoules;
+    }
+
     /**
      * Return the energy-level of this robot (in Ws).
+     * 
+     * @return	...
+     * 			|result.hasSameValueAs(MicroJoules.toEnergyAmount(getEnergyInMicroJoules(), EnergyUnit.WATTSECOND))
      */
-    @Basic
     public EnergyAmount getEnergy() {
+        return MicroJoules.toEnergyAmount(getEnergyInMicroJoules(), getStandardUnit());
+    }
+
+    /**
+     * Return the energy-level of this robot in micro-joules.
+     */
+    @Basic
+    public long getEnergyInMicroJoules() {
+        if(fleet != null)
+            return fleet.getEnergyAt(idInFleet);
         return energy;
     }
 
@@ -221,7 +310,7 @@ public class Robot extends Entity implements EnergyRelated{
      * 			|result == ((getEnergy().getAmountInSI_unit())/(getCapacity().getAmountInSI_unit())
      */
     public double getFractionEnergy() {
-        return (getEnergy().getAmountInSI_unit())/(getCapacity().getAmountInSI_unit());
+        return (double) getEnergyInMicroJoules() / getCapacityInMicroJoules();
     }
 
     /**
@@ -238,23 +327,86 @@ public class Robot extends Entity implements EnergyRelated{
     @Raw  @Model
     private void setEnergy(EnergyAmount energy) {
         assert canHaveAsEnergy(energy);
-        this.energy = energy;
+        setEnergy(MicroJoules.valueOf(energy));
+    }
+
+    /**
+     * Set the energy to the given number of micro-joules.
+     * 
+     * @pre		...
+     * 			|canHaveAsEnergy(energy)
+     * @post	...
+     * 			|new.getEnergyInMicroJoules() == energy
+     */
+    @Raw  @Model
+    private void setEnergy(long energy) {
+        assert canHaveAsEnergy(energy);
+        if(fleet != null)
+            fleet.setEnergyAt(idInFleet, energy);
+        else
+            this.energy = energy;
     }
     
     /**
      * Set the energy required to move to the given value of energyToMove.
      * 
      * @pre		The given energyToMove must be bigger than or equal to the minimal energy to move.
-     * 			|energyToMove.compareTo(getMinimalEnergyToMove()) >= 0
+     * 			|energyToMove >= MicroJoules.valueOf(getMinimalEnergyToMove())
      * @param 	energyToMove
      * 			The new value of the energy required to move.
      * @post	The new value of the energy required to move is the given value energyToMove.
      * 			|new.getEnergyToMove() == energyToMove
      */
     @Model
-    private void setEnergyToMove(EnergyAmount energyToMove) {
-    	assert(energyToMove.compareTo(getMinimalEnergyToMove()) >= 0);
-    	this.energyToMove = energyToMove;
+    private void setEnergyToMove(long energyToMove) {
+    	assert(energyToMove >= minimalEnergyToMoveInMicroJoules);
+    	if(fleet != null)
+    		fleet.setEnergyToMoveAt(idInFleet, energyToMove);
+    	else
+    		this.energyToMove = energyToMove;
+    }
+
+    /**
+     * Return the fleet this robot is in, or null if this robot is in no fleet.
+     */
+    @Basic
+    public Fleet getFleet() {
+        return fleet;
+    }
+
+    /**
+     * Return the id of this robot in its fleet, or -1 if this robot is in no fleet.
+     */
+    @Basic
+    public int getIdInFleet() {
+        return idInFleet;
+    }
+
+    /**
+     * Register the given fleet and id as the fleet of this robot and its id in it.
+     * 
+     * @post	...
+     * 			|new.getFleet() == fleet && new.getIdInFleet() == id
+     */
+    @Raw
+    void setFleet(Fleet fleet, int id) {
+        this.fleet = fleet;
+        this.idInFleet = id;
+    }
+
+    /**
+     * Store the given attributes in this robot itself, after it has left its fleet.
+     * 
+     * @pre		...
+     * 			|getFleet() == null
+     */
+    @Raw
+    void restoreFrom(long energy, long capacity, long energyToMove, Orientation orientation) {
+        assert getFleet() == null;
+        this.energy = energy;
+        this.capacity = capacity;
+        this.energyToMove = energyToMove;
+        this.orientation = orientation;
     }
 
     /**
@@ -268,8 +420,20 @@ public class Robot extends Entity implements EnergyRelated{
      * 			|setEnergy(getEnergy().add(energyAmount))
      */
     public void charge(EnergyAmount energyAmount) {
-    	assert canHaveAsEnergy(energyAmount.add(getEnergy()));
-    	setEnergy(getEnergy().add(energyAmount));
+    	charge(MicroJoules.valueOf(energyAmount));
+    }
+
+    /**
+     * Add the given number of micro-joules to the robot's energy.
+     * 
+     * @pre		...
+     * 			|canHaveAsEnergy(MicroJoules.add(getEnergyInMicroJoules(), microJoules))
+     * @effect	...
+     * 			|setEnergy(MicroJoules.add(getEnergyInMicroJoules(), microJoules))
+     */
+    public void charge(long microJoules) {
+    	assert canHaveAsEnergy(MicroJoules.add(getEnergyInMicroJoules(), microJoules));
+    	setEnergy(MicroJoules.add(getEnergyInMicroJoules(), microJoules));
     }
 
     /**
@@ -280,7 +444,7 @@ public class Robot extends Entity implements EnergyRelated{
      */
     @Model 
     private void rechargeToCapacity() {
-        setEnergy(getCapacity());
+        setEnergy(getCapacityInMicroJoules());
     }
 
     /**
@@ -304,7 +468,17 @@ public class Robot extends Entity implements EnergyRelated{
      * 			|result == (energy.isPositive() && energy.compareTo(getCapacity()) <= 0)
      */
     public boolean canHaveAsEnergy(EnergyAmount energy){
-    	return energy.compareTo(getCapacity()) <= 0;
+    	return canHaveAsEnergy(MicroJoules.valueOf(energy));
+    }
+
+    /**
+     * Check whether the given number of micro-joules is not higher than this robot's capacity.
+     * 
+     * @return	...
+     * 			|result == (energy >= 0 && energy <= getCapacityInMicroJoules())
+     */
+    public boolean canHaveAsEnergy(long energy){
+    	return energy >= 0 && energy <= getCapacityInMicroJoules();
     }
     
     /**
@@ -355,6 +529,8 @@ public class Robot extends Entity implements EnergyRelated{
      */
     @Basic
     public Orientation getOrientation() {
+        if(fleet != null)
+            return fleet.getOrientationAt(idInFleet);
         return orientation;
     }
 
@@ -373,8 +549,11 @@ public class Robot extends Entity implements EnergyRelated{
     @Raw @Model
     private void setOrientation(Orientation orientation) {
         if(!Orientation.class.isInstance(orientation))
-            this.orientation = Orientation.UP;
-        this.orientation = orientation;
+            orientation = Orientation.UP;
+        if(fleet != null)
+            fleet.setOrientationAt(idInFleet, orientation);
+        else
+            this.orientation = orientation;
     }
 
     /**
@@ -407,7 +586,7 @@ public class Robot extends Entity implements EnergyRelated{
      * 			The item for the robot to pick up.
      * @effect	The item is removed from the board on which this robot and item are.
      * 			|getBoard().removeEntity(item)
-     * @effect	The item is added to this robot's ArrayList load.
+     * @effect	The item is added to this robot's load.
      * 			|addToLoad(item)
      * @throws	NullPointerException
      * 			The given item is null.	
@@ -433,23 +612,22 @@ public class Robot extends Entity implements EnergyRelated{
     }
 
     /**
-     * Add the given item to the robot's ArrayList load.
+     * Add the given item to the robot's load, which stays sorted from heaviest (index 0) to lightest.
      * 
      * @pre		The given item is not null.
      * 			|item != null
+     * @pre		The given item is not yet carried by this robot.
+     * 			|!carriesItem(item)
      * @param 	item
      * 			The item to be added to the robot's load.
-     * @effect	The item is added to the ArrayList load.
+     * @effect	The item is added to the load, after all items that are at least as heavy.
      * 			|getLoad().add(item)
-     * @effect	The ArrayList load is sorted from heaviest (index 0) to lightest.
-     * 			|sortLoad()
      * @effect	The value of the energy required to move of this robot is updated.
      * 			|updateEnergyToMove()
      */
     public void addToLoad(Item item) {
     	assert item!= null;
         getLoad().add(item);
-        sortLoad();
         updateEnergyToMove();
     }
 
@@ -459,7 +637,7 @@ public class Robot extends Entity implements EnergyRelated{
      * 
      * @param 	item
      * 			The item to be dropped.
-     * @effect	The given item is removed from this robot's ArrayList load. 
+     * @effect	The given item is removed from this robot's load. 
      * 			|getLoad().remove(item)
      * @effect	The energyToMove of the robot is updated.
      * 			|updateEnergyToMove()
@@ -499,42 +677,15 @@ public class Robot extends Entity implements EnergyRelated{
      * 			|	result == trueOrFalse
      */
     public boolean carriesItem(Item item){
-    	for(Item other : getLoad())
-    		if(other == item)
-    			return true;
-    	return false;
-    }
-    
-    
-    /**
-     * This method sorts the ArrayList load of the robot in order to have the items sorted from heaviest to lightest, 
-     * with the heaviest item stored on index 0.
-     * 
-     * @post	The items are sorted from heaviest to lightest, with the heaviest item stored on index 0.
-     * 			|for each index in getLoad().size() :
-     * 			|	(new.getLoad().get(index + 1) == null) || (new.getLoad().get(index).getWeight() >= new.getLoad().get(index + 1).getWeight())
-     */
-    @Model
-    private void sortLoad() {
-        int i,j,newValue;
-        for(i = load.size() - 2 ; i >= 0 ; i--) {
-            newValue = load.get(i).getWeight();
-            j = i;
-            Item temp = load.get(i);
-            while(j < load.size() - 1 && load.get(j + 1).getWeight() > newValue){
-                load.set(j, load.get(j + 1));
-                j++;
-            }
-            load.set(j,temp);
-        }
+    	return getLoad().contains(item);
     }
 
     /**
-     * Return the i'th heaviest item in the robot's ArrayList load.
+     * Return the i'th heaviest item in the robot's load.
      * 
      * @param 	i
      * 			The degree of relative heaviness of the seeked item in the robot's load.
-     * @return	The i'th heaviest item in the robot's ArrayList load.
+     * @return	The i'th heaviest item in the robot's load.
      * 			|let
      * 			|	int strictBigger = 0
      * 			|	for each item in getLoad() :
@@ -568,7 +719,7 @@ public class Robot extends Entity implements EnergyRelated{
      * 			The given item is terminated.
      * 			|item.isTerminated()
      * @throws	IllegalArgumentException
-     * 			The given  item is not in this robot's ArrayList load.
+     * 			The given  item is not in this robot's load.
      * 			|!getLoad().contains(item)
      */
     public void use(Item item) throws IllegalArgumentException{
@@ -616,22 +767,12 @@ public class Robot extends Entity implements EnergyRelated{
      */
     public Position getSquareInDirection(int i, Orientation orientation){
         assert getBoard() != null;
-        Position newSquare = getPosition();
-        if(orientation == Orientation.UP) {
-            newSquare = Position.returnUniquePosition(getPosition().getX(),getPosition().getY() - i);
-        }
-        if(orientation == Orientation.RIGHT) {
-            newSquare = Position.returnUniquePosition(getPosition().getX() + i,getPosition().getY());
-        }
-        if(orientation == Orientation.DOWN) {
-            newSquare = Position.returnUniquePosition(getPosition().getX(),getPosition().getY() + i);
-        }
-        if(orientation == Orientation.LEFT) {
-            newSquare = Position.returnUniquePosition(getPosition().getX() - i,getPosition().getY());
-        }
-        if(!getBoard().isValidPosition(newSquare))
-            newSquare = null;
-        return newSquare;
+        long x = getPosition().getX() + (long) i * orientation.getXStep();
+        long y = getPosition().getY() + (long) i * orientation.getYStep();
+        //Only valid squares are looked up as a position.
+        if(!getBoard().isValidPosition(x, y))
+            return null;
+        return Position.returnUniquePosition(x, y);
     }
     
     /**
@@ -639,38 +780,22 @@ public class Robot extends Entity implements EnergyRelated{
      * 
      * @pre		The robot is placed on a board.
      * 			|getBoard() != null
-     * @return	An ArrayList containing all the positions in front of the robot.
+     * @return	A ray over all the positions in front of the robot, nearest first. The positions are only looked up
+     * 			while iterating, and the coordinates on the ray can be asked without looking up any position.
      * 			|let
-     * 			|	ArrayList<Position> allPositions = new ArrayList<Position>()
-     * 			|	int index = 0
-     * 			|	if(robot.getOrientation() == Orientation.UP) 	 then index = (int) robot.getPosition().getY()
-     * 			|	if(robot.getOrientation() == Orientation.RIGHT)	 then index = (int) (robot.getBoard().getWidth() - robot.getPosition().getX())
-     * 			|	if(robot.getOrientation() == Orientation.DOWN) 	 then index = (int) (robot.getBoard().getHeight() - robot.getPosition().getY())
-     * 			|	if(robot.getOrientation() == Orientation.LEFT) 	 then index = (int) robot.getPosition().getX()
-     * 			|
-     * 			|	for each i in 1..index-1 :
-     * 			|		allPositions.add(getSquareInDirection(i, robot.getOrientation()))
+     * 			|	long index = 0
+     * 			|	if(robot.getOrientation() == Orientation.UP) 	 then index = robot.getPosition().getY()
+     * 			|	if(robot.getOrientation() == Orientation.RIGHT)	 then index = robot.getBoard().getWidth() - robot.getPosition().getX()
+     * 			|	if(robot.getOrientation() == Orientation.DOWN) 	 then index = robot.getBoard().getHeight() - robot.getPosition().getY()
+     * 			|	if(robot.getOrientation() == Orientation.LEFT) 	 then index = robot.getPosition().getX()
      * 			|in
-     * 			|	result == allPositions
-     */
-    public ArrayList<Position> getAllSquaresInDirection() {
-    	assert getBoard() != null;    	
-    	ArrayList<Position> allPositions = new ArrayList<Position>();
-    	int index = 0;
-    	
-    	if(getOrientation() == Orientation.UP)
-    		index = (int) getPosition().getY();
-    	if(getOrientation() == Orientation.RIGHT)
-    		index = (int) (getBoard().getWidth() - getPosition().getX());
-    	if(getOrientation() == Orientation.DOWN)
-    		index = (int) (getBoard().getHeight() - getPosition().getY());
-    	if(getOrientation() == Orientation.LEFT)
-    		index = (int) getPosition().getX();
-    	
-    	for(int i = 1; i <= index ; i++) {
-    		allPositions.add(getSquareInDirection(i, getOrientation()));
-    	}
-    	return allPositions;
+     * 			|	result.getLength() == index
+     * 			|	for each i in 1..index :
+     * 			|		the i'th element of result == getSquareInDirection(i, robot.getOrientation())
+     */
+    public Ray getAllSquaresInDirection() {
+    	assert getBoard() != null;
+    	return new Ray(getPosition().getX(), getPosition().getY(), getOrientation(), getBoard().getWidth(), getBoard().getHeight());
     }
 
     /**
@@ -686,11 +811,8 @@ public class Robot extends Entity implements EnergyRelated{
      */
     @Model
     private int getLoadInKg() {
-        BigInteger loadInG = BigInteger.ZERO;
-        for(Item item : getLoad()) {
-            loadInG = BigInteger.valueOf(item.getWeight() + loadInG.longValue());
-        }
-        return (int) Math.floor(loadInG.doubleValue()/1000); 
+        //The load keeps the total weight of its items, so nothing needs to be summed here.
+        return (int) Math.min(getLoad().getTotalWeight() / 1000, Integer.MAX_VALUE);
     }
     
     /**
@@ -698,11 +820,11 @@ public class Robot extends Entity implements EnergyRelated{
      * 
      * @post	The value of energyToMove is updated, i.e. let it be equal to the minimal energy to move plus 50 Ws per
      * 			kilogram of items carried by the robot.
-     * 			|new.getEnergyToMove() == getMinimalEnergyToMove().add(new EnergyAmount(getLoadInKg() * 50, EnergyUnit.WATTSECOND)).getAmountInSpecifiedUnit(getStandardUnit())
+     * 			|new.getEnergyToMoveInMicroJoules() == MicroJoules.add(MicroJoules.valueOf(getMinimalEnergyToMove()), MicroJoules.fromJoules(getLoadInKg() * 50))
      */
     @Model
     private void updateEnergyToMove() {
-        setEnergyToMove(getMinimalEnergyToMove().add(new EnergyAmount(getLoadInKg() * 50, EnergyUnit.WATTSECOND)));
+        setEnergyToMove(MicroJoules.add(minimalEnergyToMoveInMicroJoules, MicroJoules.fromJoules(getLoadInKg() * 50.0)));
     }
     
     /**
@@ -755,14 +877,14 @@ public class Robot extends Entity implements EnergyRelated{
      *          |getBoard().containsObstacle(getSquareInDirection(1,getOrientation()),this)
      */
     public void move() throws NullPointerException, IllegalStateException, IllegalArgumentException{
-        assert (getEnergy().compareTo(getEnergyToMove()) != -1);
+        assert (getEnergyInMicroJoules() >= getEnergyToMoveInMicroJoules());
         if(getBoard() == null)
             throw new NullPointerException("404: no board found!");
         Position target = getSquareInDirection(1,getOrientation());
         if(target == null)
             throw new IllegalStateException("Position in front of the robot is out-of-bounds!");
         getBoard().putEntity(target, this);
-        setEnergy(getEnergy().substract(getEnergyToMove()));
+        setEnergy(MicroJoules.subtract(getEnergyInMicroJoules(), getEnergyToMoveInMicroJoules()));
     }
 
     /**
@@ -777,9 +899,9 @@ public class Robot extends Entity implements EnergyRelated{
      * 			|new.getEnergy() == getEnergy().substract(getEnergyToTurn()).getAmountInSpecifiedUnit(getStandardUnit())
      */
     public void turnClockwise() {
-        assert (getEnergy().compareTo(getEnergyToTurn()) != -1);
+        assert (getEnergyInMicroJoules() >= getEnergyToTurnInMicroJoules());
         setOrientation(Orientation.turnRight(getOrientation()));
-        setEnergy(getEnergy().substract(getEnergyToTurn()));
+        setEnergy(MicroJoules.subtract(getEnergyInMicroJoules(), getEnergyToTurnInMicroJoules()));
     }
 
     /**
@@ -794,9 +916,9 @@ public class Robot extends Entity implements EnergyRelated{
      * 			|new.getEnergy() == getEnergy().substract(getEnergyToTurn()).getAmountInSpecifiedUnit(getStandardUnit())
      */
     public void turnCounterclockwise() {
-    	assert (getEnergy().compareTo(getEnergyToTurn()) != -1);
+    	assert (getEnergyInMicroJoules() >= getEnergyToTurnInMicroJoules());
         setOrientation(Orientation.turnLeft(getOrientation()));
-        setEnergy(getEnergy().substract(getEnergyToTurn()));
+        setEnergy(MicroJoules.subtract(getEnergyInMicroJoules(), getEnergyToTurnInMicroJoules()));
     }
     
     /**
@@ -807,8 +929,12 @@ public class Robot extends Entity implements EnergyRelated{
      * @throws	NullPointerException 
      * 			The robot isn't placed on a board.
      * 			|getBoard() == null
+     * @throws	IllegalStateException
+     * 			There is no other square on the board the robot can stand on.
+     * 			|for each position in Position :
+     * 			|	!getBoard().isValidPosition(position) || getBoard().containsObstacle(position, this) || position == getPosition()
      */
-    public void teleport() throws NullPointerException{
+    public void teleport() throws NullPointerException, IllegalStateException {
     	if(getBoard() == null)
     		throw new NullPointerException("Robot tried to teleport, but wasn't placed on a board. Too bad! ");
     	getBoard().putEntity(getBoard().getRandomFreePosition(this), this);
@@ -857,8 +983,8 @@ public class Robot extends Entity implements EnergyRelated{
      * 			|	!position.containsEntity()
      */
     public void shoot() throws NullPointerException {
-        assert (getEnergy().compareTo(getEnergyToShoot()) != -1);
-        setEnergy(getEnergy().substract(getEnergyToShoot()));
+        assert (getEnergyInMicroJoules() >= getEnergyToShootInMicroJoules());
+        setEnergy(MicroJoules.subtract(getEnergyInMicroJoules(), getEnergyToShootInMicroJoules()));
         if(getBoard() != null) {
         	getBoard().hitRandomEntity(getBoard().returnFirstOccupiedPositionInDirection(this));
         }        
@@ -878,12 +1004,12 @@ public class Robot extends Entity implements EnergyRelated{
      */
     @Raw
     public void hit(){
-    	if(getCapacity().compareTo(getCapacityLossWhenHit()) <= 0)
+    	if(getCapacityInMicroJoules() <= capacityLossWhenHitInMicroJoules)
     		terminate();
     	else
-    		setCapacity(getCapacity().substract(getCapacityLossWhenHit()));
-    	if(!canHaveAsEnergy(getEnergy()))
-    		setEnergy(getCapacity());
+    		setCapacity(MicroJoules.subtract(getCapacityInMicroJoules(), capacityLossWhenHitInMicroJoules));
+    	if(!canHaveAsEnergy(getEnergyInMicroJoules()))
+    		setEnergy(getCapacityInMicroJoules());
     }
     
     /**
@@ -894,50 +1020,73 @@ public class Robot extends Entity implements EnergyRelated{
      * 			consumption.
      * @return	If the robot does have enough energy to reach the given position, the returned result is the minimal energy required for the 
      *  		robot to reach that position.
-     * 			|let 
-     * 			|	ArrayList<Robot> range = getExtendedRange(this, null)
-     * 			|in
-     * 			|	for each robot in range :
-     * 			|		if(robot.getPosition() == position)
-     * 			|			returnValue.hasSameValueAs(getEnergy().substract(robot.getEnergy())
-     * 			|
-     * 			|	result == returnValue 
+     * 			|result.hasSameValueAs(new EnergyAmount(new PathFinder(this).searchTo(position.getX(), position.getY()), getStandardUnit()))
      * @throws	IllegalStateException
      * 			The robot is not placed on a board. The message of the IllegalStateException is "-1".
      * 			|getBoard() == null
      * @throws	IllegalStateException
-     * 			The given position is theoretically not reachable because of obstacles. The message of the IllegalStateException is "-1".
-     * 			|!getBoard().isPositionReachableForRobot(position, this)
-     * @throws	IllegalStateException
-     * 			The robot hasn't got enough energy to reach the given position. The message of the IllegalStateException is "-1".
-     * 			|let 
-     * 			|	ArrayList<Robot> range = getExtendedRange(this, null)
-     * 			|in
-     * 			|	!range.contains(position
+     * 			The given position is not reachable because of obstacles, or the robot hasn't got enough energy to reach it. 
+     * 			The message of the IllegalStateException is "-1".
+     * 			|new PathFinder(this).searchTo(position.getX(), position.getY()) == -1
      * @throws	IllegalArgumentException
      * 			The given position if out of the robot's board's bounds.
      * 			|!getBoard().isValidPosition(position)
+     * @note	A first position is looked for with a search towards that position only. When a second position is asked before this robot
+     * 			or its board changes, the costs of all squares are computed once (see getCostMap()) and each further question is a look-up.
      */
     public EnergyAmount getEnergyRequiredToReach(Position position) throws IllegalStateException, IllegalArgumentException{
         if(getBoard() == null) 
             throw new IllegalStateException("-1");
-        if(!getBoard().isPositionReachableForRobot(position, this))
+        if(!getBoard().isValidPosition(position))
+        	throw new IllegalArgumentException("Given position is out of bounds!");
+        //A robot only gets a few dozen squares far on its energy: a position further away is out of reach without any search.
+        if(PathFinder.getLeastCost(getPosition().getX(), getPosition().getY(), getOrientation(), position.getX(), position.getY(),
+        		MicroJoules.toJoules(getEnergyToMoveInMicroJoules()), MicroJoules.toJoules(getEnergyToTurnInMicroJoules()))
+        		> MicroJoules.toJoules(getEnergyInMicroJoules()))
         	throw new IllegalStateException("-1");
-        	
-        //Find the total range of this robot.
-        ArrayList<Robot> range = getExtendedRange(this, null);
 
-        //Find out whether the given position is within the range of this robot, if so, return how much energy it would minimally 
-        // cost this robot to get there.
-        for(Robot robot : range){
-            if(robot.getPosition() == position) {
-                return getEnergy().substract(robot.getEnergy());
-            }
+        double cost;
+        if(costMap != null && costMap.isValidFor(this))
+        	//This robot is asked for a second position in the same state: compute the costs of all squares once, and keep 
+        	// answering from them until this robot or its board changes.
+        	cost = getCostMap().getCost(position.getX(), position.getY());
+        else {
+        	//Search towards the given position only: the search stops as soon as the least energy to get there is known, and finds
+        	// no path if obstacles or the energy of this robot keep it from getting there.
+        	costMap = new PathFinder(this);
+        	cost = costMap.searchTo(position.getX(), position.getY());
         }
-        //The robot hasn't got energy to reach the given position (=> the given position is not within the range of this robot).
+        if(cost >= 0)
+        	return new EnergyAmount(cost, getStandardUnit());
         throw new IllegalStateException("-1");
     }
 
+    /**
+     * Return the least energy this robot needs to reach each square of its board, as computed for its current state.
+     * The costs are kept until this robot moves, turns, changes its energy or the energy it needs to move, or an entity is put on or 
+     * removed from its board; until then, they are not computed again.
+     * 
+     * @pre		...
+     * 			|getBoard() != null
+     * @return	...
+     * 			|result.isValidFor(this) && result.isComplete()
+     */
+    @Model
+    private PathFinder getCostMap() {
+        if(costMap == null || !costMap.isValidFor(this) || !costMap.isComplete()) {
+        	costMap = new PathFinder(this);
+        	costMap.searchAll();
+        }
+        return costMap;
+    }
+
+    /**
+     * Check whether this robot keeps the costs of a search for its current state or an earlier one.
+     */
+    boolean hasCostMap() {
+        return costMap != null;
+    }
+
     /**
      * Move both given robots the closest possible to each other.
      * If both robots haven't got enough energy to end up next to each other, a best effort should be made so that the final distance is minimal. 
@@ -947,22 +1096,14 @@ public class Robot extends Entity implements EnergyRelated{
      * 			One of the two robots that need to move next to each other.
      * @param 	robot2
      * 			One of the two robots that need to move next to each other.
-     * @effect	Combinations of positions robot1 and robot2 can respectively reach with their current energy-level are made. Each position, and the state 
-     * 			wherein robot1 or robot2 would be if they reached this position via the least energy-consumptive ways, are stored in a new robot. Within the 
-     * 			collection of combinations, a selection has been made so as to keep (one of) the combination with the smallest end-distance between positions 
-     * 			and sum of energy-consumptions, in that order. The robots are then moved to their respective positions in the selection.
+     * @effect	The searches of both robots grow together, and the squares they reach are joined, so that a pair of squares with the 
+     * 			smallest end-distance between them and the smallest sum of energy-consumptions, in that order, is found. The robots are 
+     * 			then moved to their respective squares of that pair, via their least energy-consumptive ways.
      * 			|let
-     * 			|	HashMap<Robot, ArrayList<BasicCommand>> commandsRange = new HashMap<Robot, ArrayList<BasicCommand>>()
-     * 			|	commandsRange.put(robot1, new ArrayList<BasicCommand>())
-     * 			|	commandsRange.put(robot2, new ArrayList<BasicCommand>())
-     * 			|	ArrayList<Robot> range1 = getExtendedRange(robot1,commandsRange)
-     * 			|	ArrayList<Robot> range2 = getExtendedRange(robot2, commandsRange)
-     * 			|	ArrayList<Robot> optimalCombination = findOptimalCombination(range1, range2, robot1, robot2)
+     * 			|	Rendezvous rendezvous = new Rendezvous(robot1, robot2)
      * 			|in
-     * 			|	Sequence ordersRobot1 = new Sequence(commandsRange.get(optimalCombination.get(0)));
-     *   		|	Sequence ordersRobot2 = new Sequence(commandsRange.get(optimalCombination.get(1)));
-     *   		|	ordersRobot1.execute(robot1);
-     *  		|	ordersRobot2.execute(robot2);
+     * 			|	new Sequence(rendezvous.getCommands1()).execute(robot1)
+     * 			|	new Sequence(rendezvous.getCommands2()).execute(robot2)
      * @throws	NullPointerException
      * 			At least one of the given robots is null.
      * 			|robot1 == null || robot2 == null
@@ -978,302 +1119,17 @@ public class Robot extends Entity implements EnergyRelated{
         if(robot2.getBoard()  != robot1.getBoard() || robot1.getBoard() == null || robot2.getBoard() == null)
             throw new IllegalArgumentException("Robots are not on the same board!");
 
-        //Make a new HashMap linking robots (with different positions) to an ArrayList of basic commands.
-        HashMap<Robot, ArrayList<Command>> commandsRange = new HashMap<Robot, ArrayList<Command>>();
-        commandsRange.put(robot1, new ArrayList<Command>());
-        commandsRange.put(robot2, new ArrayList<Command>());
-
-        //Get the (extended) ranges of both robots.
-        ArrayList<Robot> range1 = getExtendedRange(robot1, commandsRange);
-        ArrayList<Robot> range2 = getExtendedRange(robot2, commandsRange);
-
-        //Get an ArrayList containing destinations for respectively robot1 and robot2. This ArrayList shall be already selected/minimized
-        //for a minimal distance between the destinations and a minimal sum of energy-consumptions for robot1 and robot2 to get to their respective 
-        //destinations. (see documentation of findOptimalCombination() for more information.)
-        ArrayList<Robot> optimalCombination = findOptimalCombination(range1, range2, robot1, robot2);
+        //Find the squares both robots should end on. (see documentation of Rendezvous for more information.)
+        Rendezvous rendezvous = new Rendezvous(robot1, robot2);
 
-        //Execute the command linked to the found robots.
-        Sequence ordersRobot1 = new Sequence(commandsRange.get(optimalCombination.get(0)));
-        Sequence ordersRobot2 = new Sequence(commandsRange.get(optimalCombination.get(1)));
+        //Execute the commands leading both robots to their squares.
+        Sequence ordersRobot1 = new Sequence(rendezvous.getCommands1());
+        Sequence ordersRobot2 = new Sequence(rendezvous.getCommands2());
         ordersRobot1.execute(robot1);
         ordersRobot2.execute(robot2);
     }
 
-    /**
-     *  This method calculates the range of this robot with new robots that correspond to new positions within (energetical) reach of this robot. Each of these new robots has
-     *  an orientation and an energy-level, corresponding to the orientation and energy-level this robot would have if it moved to the position of the new robot.
-     * 
-     * @param 	robot
-     * 			The robot for which this method calculates the extended range.
-     * @param 	commandsRange
-     * 			A HashMap that links the robots in range, to a list of basic commands that the given robot would need to perform in order to get to the positions of the 
-     * 			robots in range.
-     * @return	An ArrayList with robots, whose positions are all the positions the given robot can attain with the given robot's energy-level.
-     * 			|let
-     * 			|	ArrayList<Robot> range = new ArrayList<Robot>()
-     * 			|in
-     * 			|	for each otherRobot1 in range :
-     * 			|		robot.getEnergyRequiredToReach(otherRobot.getPosition()) != -1 && robot.getEnergyRequiredToReach(otherRobot.getPosition()) != -2
-     * 			|
-     * 			|	result == range
-     * @note	IMPORTANT: The size of the range of the robot is expected and meant to be smaller than Integer.MAX_VALUE.
-     */
-    @Model
-    private static ArrayList<Robot> getExtendedRange(Robot robot, HashMap<Robot, ArrayList<Command>> commandsRange){
-        ArrayList<Robot> range = new ArrayList<Robot>();
-        range.add(robot);
-        int oldSize = 0;
-        while(range.size() != oldSize) {
-            int actualSize = range.size();
-            for(int i = oldSize; i < actualSize; i++) {
-                range.addAll(getFreeAdjacentSquares(range.get(i),range,commandsRange));
-            }
-            oldSize = actualSize;
-        }
-        return range;
-    }
-    
-    /**
-     * This method returns a selection of the least distanced and least energy-consumptive (to attain for the respective robots) combinations of all possible
-     * combinations of positions from the given range1 and range2.
-     * 
-     * @param 	robot1
-     * 			One of the two robots that need to move next to each other. (see moveNextToWithObstacles(Robot robot1, Robot robot2))
-     * @param 	robot2
-     * 			One of the two robots that need to move next to each other. (see moveNextToWithObstacles(Robot robot1, Robot robot2))
-     * @param 	range1
-     * 			The range of robot1 expressed in robots.
-     * @param 	range2
-     * 			The range of robot2 expressed in robots.
-     * @return	The result of this method is an ArrayList containing on memory-place "0" a robot whose position is in range of robot1 and on memory-place "1" a robot whose
-     * 			position is in range of robot2.
-     *			|result == optimalCombination
-     * @return	This ArrayList contains a combination of robots with a minimal distance in-between and a minimal sum of energy-consumptions for both robots robot1 and robot2
-     * 			to attain the positions of their respective robots in their respective ranges, in that order.
-     * 			|result == optimalCombination
-     * 			|	&&
-     *			|let
-     *			|	double minimalEnergy = robot1.getEnergyRequiredToReach(optimalCombination.get(0).getPosition()) 
-     *			|							+robot2.getEnergyRequiredToReach(optimalCombination.get(1).getPosition())
-     *			|	double minimalDistance = Position.getDistance(optimalCombination.get(0),optimalCombination.get(1))
-	 *			|in
-     *			|	for each robotRange1 in range1 :
-     *			|		for each robotRange2 in range2 :
-     *			|			long distance = Position.getDistance(robotRange1.getPosition(), robotRange2.getPosition())
-     *			|			double energy == (robot1.getEnergy() - robotRange1.getEnergy()) + (robot2.getEnergy() - robotRange2.getEnergy())
-     *          |
-     *         	|			(minimalDistance < distance) || (minimalDistance == distance && minimalEnergy <= energy)
-     */
-    @Model
-    private static ArrayList<Robot>  findOptimalCombination(ArrayList<Robot> range1, ArrayList<Robot> range2, Robot robot1, Robot robot2){
-    	long minimalDistance = Long.MAX_VALUE;
-    	EnergyAmount minimalEnergy = new EnergyAmount(Double.MAX_VALUE, getStandardUnit());
-    	ArrayList<Robot> optimalCombination = new ArrayList<Robot>();
-        for(Robot robotRange1 : range1){
-            for(Robot robotRange2 : range2){
-                long distance = Position.getDistance(robotRange1.getPosition(), robotRange2.getPosition());
-                if(distance != 0 && distance <= minimalDistance) {
-                	EnergyAmount energy = (robot1.getEnergy().substract(robotRange1.getEnergy())).add((robot2.getEnergy().substract(robotRange2.getEnergy())));
-                	if(distance < minimalDistance) {
-                		minimalDistance = distance;
-                		minimalEnergy = energy;
-                		updateOptimalCombination(optimalCombination,robotRange1, robotRange2);
-                	}
-                	if((distance == minimalDistance) && (energy.compareTo(minimalEnergy) == -1)) {
-                			minimalEnergy = energy;
-                			updateOptimalCombination(optimalCombination, robotRange1, robotRange2);
-                	}
-                }
-            }
-        }
-        return optimalCombination;
-    }
-    
-
-	/**
-	 * This method clears the ArrayList optimalCombination and adds the two given robots to it.
-	 * 
-	 * @param 	optimalCombination
-	 * 			The ArrayList that need be updated.
-	 * @param 	robotRange1
-	 * 			A robot that must be added to the ArrayList.
-	 * @param 	robotRange2
-	 * 			A robot that must be added to the ArrayList.
-	 * @post	The ArrayList optimalCombination contains robotRange1 on its first memory-place and robotRange2 on its second.
-	 * 			|(new optimalCombination).get(0) == robotRange1 && (new optimalCombination).get(1) == robotRange2
-	 */
-	private static void updateOptimalCombination(ArrayList<Robot> optimalCombination, Robot robotRange1,Robot robotRange2) {
-		optimalCombination.clear();
-		optimalCombination.add(robotRange1);
-		optimalCombination.add(robotRange2);
-	}
  
-    /**
-     * For a given robot, return which of the squares adjacent to that robot can be reached by the given robot. Return an ArrayList containing new robots, which
-     * have the values the given robot would have if it reached the position of the new robot. Also, if the formal argument commandsRange isn't null, update it.
-     * 
-     * @param 	robot
-     * 			The robot whose adjacent squares we want to know are reachable by robot, and in what state would robot than be if it reached one of them.
-     * @param 	range
-     * 			An ArrayList of robots that needs to be updated with the eventual new robots on the adjacent squares.
-     * @param 	commandsRange
-     * 			A HashMap that links the new robots to the ArrayList of basic commands the original robot must follow in order to get to the position of the new robot.
-     * 			(see moveNextToWithObstacles(Robot robot1, Robot robot2))
-     * @return	An ArrayList wherein the new robots positioned on free adjacent squares of the given robot, are stored.
-     * 			|let
-     * 			|	ArrayList<Robot> robotsOnFreeAdjacentSquares = new ArrayList<Robot>()
-     * 			|	getOneSquareAndUpdateRobotsOnFreeAdjacentSquaresAndUpdateCommandsRange(robot, range, commandsRange, robotsOnFreeAdjacentSquares, robot.getOrientation());
-     *	 		|	getOneSquareAndUpdateRobotsOnFreeAdjacentSquaresAndUpdateCommandsRange(robot, range, commandsRange, robotsOnFreeAdjacentSquares, Orientation.turnLeft(robot.getOrientation()));
-     *   		|	getOneSquareAndUpdateRobotsOnFreeAdjacentSquaresAndUpdateCommandsRange(robot, range, commandsRange, robotsOnFreeAdjacentSquares, Orientation.turnRight(robot.getOrientation()));
-     *   		|	getOneSquareAndUpdateRobotsOnFreeAdjacentSquaresAndUpdateCommandsRange(robot, range, commandsRange, robotsOnFreeAdjacentSquares, Orientation.opposite(robot.getOrientation()));
-     * 			|in
-     * 			|	for each robot1 in robotsOnFreeAdjacentSquares :
-     * 			|		for each robot2 in range :
-     * 			|			robot1.getPosition() != robot2.getPosition()
-     * 			|	&&
-     * 			|	result == robotsOnFreeAdjacentSquares
-     * @note	The order in which the method getOneSquareAndUpdateRobotsOnFreeAdjacentSquaresAndUpdateCommandsRange( ) is used multiple times is of importance in order to get
-     * 			the most efficient path, as it takes less energy for the robot to go the the square in front than to the square left, right or behind.
-     */
-    @Model
-    private static ArrayList<Robot> getFreeAdjacentSquares(Robot robot, ArrayList<Robot> range, HashMap<Robot, ArrayList<Command>> commandsRange) {
-
-        ArrayList<Robot> robotsOnFreeAdjacentSquares = new ArrayList<Robot>();
-        
-        //The order of the summons is deliberate, as it takes less energy for the robot to go the the square in front than to the square left, right or behind.
-        getOneSquareAndUpdateRobotsOnFreeAdjacentSquaresAndUpdateCommandsRange(robot, range, commandsRange, robotsOnFreeAdjacentSquares, robot.getOrientation());
-        getOneSquareAndUpdateRobotsOnFreeAdjacentSquaresAndUpdateCommandsRange(robot, range, commandsRange, robotsOnFreeAdjacentSquares, Orientation.turnLeft(robot.getOrientation()));
-        getOneSquareAndUpdateRobotsOnFreeAdjacentSquaresAndUpdateCommandsRange(robot, range, commandsRange, robotsOnFreeAdjacentSquares, Orientation.turnRight(robot.getOrientation()));
-        getOneSquareAndUpdateRobotsOnFreeAdjacentSquaresAndUpdateCommandsRange(robot, range, commandsRange, robotsOnFreeAdjacentSquares, Orientation.opposite(robot.getOrientation()));
-        
-        //If there are two new robots on the same position, remove the last created robot on that position.
-        ArrayList<Robot> redundancies = new ArrayList<Robot>();
-        for(Robot robot1 : robotsOnFreeAdjacentSquares){
-            for(Robot robot2 : range){
-                if(robot1.getPosition() == robot2.getPosition()){
-                    redundancies.add(robot1);
-                    if(commandsRange != null)
-                        commandsRange.remove(robot1);
-                }
-            }
-        }
-        for(Robot robot1: redundancies){
-            robotsOnFreeAdjacentSquares.remove(robot1);
-        }
-        return robotsOnFreeAdjacentSquares;
-    }
-
-    /**
-     * This method is summoned in getFreeAdjacentSquares( ). This method calculates which square is adjacent to the given robot in the given direction and the new energy-
-     * level of the given robot if it would go to that square. If possible, a new robot is created and added to the given range. This new robot's position is the calculated 
-     * adjacent square and it's energy-level is the calculated new energy-level.
-     * 
-     * @param 	robot
-     * 			The given robot whose adjacent squares must be checked (see general description above).
-     * @param 	range
-     * 			The range of the original robot (see documentation getExtendedRange()).
-     * @param 	commandsRange
-     * 			Either null, or a HashMap mapping new robots to an ArrayList of basic commands the original robot would have to execute to get to the position of the new
-     * 			robot (see documentation getExtendedRange()).
-     * @param 	robotsOnFreeAdjacentSquares
-     * 			The ArrayList to which the result of this method must be added in getFreeAdjacentSquares( ).
-     * @param 	orientation
-     * 			The orientation in which getFreeAdjacentSquares( ) wants the square adjacent to the given robot.
-     * @effect	The new position and energy-level are calculated and a new robot on that position and with that energy-level is tried to be made and to be added to range.
-     * 			|let
-     * 			|	Position newPosition = robot.getSquareInDirection(1, orientation)
-     * 			|	EnergyAmount usedEnergy = getEnergyToTurn().rescale(Orientation.getNbTurnsNecessary(orientation, robot.getOrientation())).add(robot.getEnergyToMove())
-   	 *			|in
-   	 *			|	EnergyAmount newEnergy = robot.getEnergy().substract(usedEnergy)
-   	 *			|	makeNewRobotInRange(robot, commandsRange, robotsOnFreeAdjacentSquares,orientation, newPosition, newEnergy)
-     */
-    @Model
-    private static void getOneSquareAndUpdateRobotsOnFreeAdjacentSquaresAndUpdateCommandsRange(Robot robot, ArrayList<Robot> range, HashMap<Robot, ArrayList<Command>> commandsRange ,
-    ArrayList<Robot> robotsOnFreeAdjacentSquares, Orientation orientation){
-    	Position newPosition = robot.getSquareInDirection(1, orientation);
-    	EnergyAmount usedEnergy = getEnergyToTurn().rescale(Orientation.getNbTurnsNecessary(orientation, robot.getOrientation())).add(robot.getEnergyToMove());
-    	if(usedEnergy.compareTo(robot.getEnergy()) != 1){
-    		EnergyAmount newEnergy = robot.getEnergy().substract(usedEnergy);
-    		makeNewRobotInRange(robot, commandsRange, robotsOnFreeAdjacentSquares,orientation, newPosition, newEnergy);
-    	}
-    }
-
-	/**
-	 * This method is summoned in getOneSquareAndUpdateRobotsOnFreeAdjacentSquaresAndUpdateCommandsRange( ).
-     * Given a robot and a given orientation, this method checks whether the square adjacent to the given robot in the given orientation is free, isn't out of bounds and if 
-     * the given newEnergy is a valid value for a robot's energy-level. If those conditions are met, a new robot is added to the ArrayList range. 
-     * The variables of the new robot are equal to what the variables of the given robot would be if it moved to the said adjacent square, its new position included. 
-     * If the formal argument commandsRange isn't null, the new robot is added as a key and the mapped value  of this new key is an ArrayList containing the orders that the given
-     * robot would have to execute to get to the new robot's position.
-     * 
-	 * @param 	robot
-	 * 			The given robot whose adjacent squares must be checked (see documentation getOneSquareAndUpdateRobotsOnFreeAdjacentSquaresAndUpdateCommandsRange( ).
-	 * @param 	commandsRange
-	 * 			Either null, or a HashMap mapping new robots to a list of orders the original robot would have to execute to get to the position of the new
-     * 			robot (see documentation getExtendedRange()).
-	 * @param 	robotsOnFreeAdjacentSquares
-	 * 			The ArrayList to which the result of this method must be added.
-	 * @param 	orientation
-	 * 			The orientation of the new robot.
-	 * @param 	newPosition
-	 * 			The position of the new robot.
-	 * @param 	newEnergy
-	 * 			The energy-level of the new robot.
-	 * @effect	If the given robot would accept the given newEnergy as energy-level, if the given newPosition is valid and there is no obstacle to a robot on that position,
-     *   		add a new robot storing the given newPosition and with the given newEnergy in robotsOnFreeAdjacentSquares.
-     *   		|if(robot.canHaveAsEnergy(newEnergy) && newPosition != null && !robot.getBoard().containsObstacle(newPosition, robot))
-     *   		|then let
-     *   		|		  Robot newRobot = new Robot(orientation, newEnergy)
-     *   		|	  	  newRobot.setPosition(robot.getBoard(), newPosition)
-     *   		|	  in
-     *   		|		  robotsOnFreeAdjacentSquares.add(newRobot)
-     * @effect	If the given HashMap<Robot, ArrayList<Command>> commandsRange is not null, add the new robot as key with as mapped value the appropriate orders for the 
-     *   		original robot to reach the new robot's position. (see documentation getExtendedRange())
-     *   		|if(newPosition != null && !robot.getBoard().containsObstacle(newPosition, robot) && commandsRange != null)
-     *   		|then let
-     *   		|		  Robot newRobot = new Robot(orientation, newEnergy)
-     *   		|		  newRobot.setEnergyToMove(robot.getEnergyToMove())
-     *   		|	  	  newRobot.setPosition(robot.getBoard(), newPosition)
-     *   		|		  ArrayList<Command> newOrders = (ArrayList<Command>)commandsRange.get(robot).clone()
-     *   		|		  if(orientation ==  Orientation.turnLeft(robot.getOrientation())) then  newOrders.add(Order.LEFT)
-     *   		|		  if(orientation ==  Orientation.turnRight(robot.getOrientation())) then newOrders.add(Order.RIGHT)
-     *   		|		  if(orientation ==  Orientation.opposite(robot.getOrientation())) then newOrders.add(Order.RIGHT);  newOrders.add(Order.RIGHT);
-     *   		|	 in 
-     *   		|		  newOrders.add(Order.MOVE)
-     *   		|		  commandsRange.put(newRobot, newOrders)
- 	 */
-    @Model
-	private static void makeNewRobotInRange(Robot robot, HashMap<Robot, ArrayList<Command>> commandsRange, ArrayList<Robot> robotsOnFreeAdjacentSquares, Orientation orientation,
-											Position newPosition, EnergyAmount newEnergy) {
-		
-		//If the given robot would accept the given newEnergy as energy-level, if the given newPosition is valid and there is no obstacle to a robot on that position,
-		//add a new robot storing the given newPosition and with the given newEnergy in robotsOnFreeAdjacentSquares.
-        if(newPosition != null && !robot.getBoard().containsObstacle(newPosition, robot)){
-            Robot newRobot = new Robot(orientation, newEnergy);
-            newRobot.setEnergyToMove(robot.getEnergyToMove());
-            newRobot.setPosition(robot.getBoard(), newPosition);
-            robotsOnFreeAdjacentSquares.add(newRobot);
-
-            //If the given HashMap<Robot, ArrayList<Command>> commandsRange is not null, add the new robot as key with as mapped value the appropriate orders for the 
-            // original robot to reach the new robot's position. (see documentation getExtendedRange())
-            if(commandsRange != null){
-				@SuppressWarnings("unchecked")
-				ArrayList<Command> newOrders = (ArrayList<Command>)commandsRange.get(robot).clone();
-                if(orientation ==  Orientation.turnLeft(robot.getOrientation())) 
-                    newOrders.add(BasicCommand.TURN_COUNTERCLOCKWISE);
-                if(orientation ==  Orientation.turnRight(robot.getOrientation())) 
-                    newOrders.add(BasicCommand.TURN_CLOCKWISE);
-                if(orientation ==  Orientation.opposite(robot.getOrientation())) {
-                    newOrders.add(BasicCommand.TURN_CLOCKWISE);
-                    newOrders.add(BasicCommand.TURN_CLOCKWISE);
-                }
-                newOrders.add(BasicCommand.MOVE);
-                commandsRange.put(newRobot, newOrders);
-            }	
-        }
-	}
-    
-    
     /**
      * This method makes the robot execute a given program (or instance of the class Command).
      * 
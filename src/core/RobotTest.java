@@ -55,6 +55,17 @@ public class RobotTest {
 		assertEquals(robot.getEnergy(),new EnergyAmount(9000, EnergyUnit.WATTSECOND));
 	}
 		
+	@Test
+	public void charge_otherUnitKeptExactly() {
+		Robot robot = new Robot(Orientation.UP, new EnergyAmount(0.1, EnergyUnit.KJOULE));
+		for(int i = 0; i < 999; i++)
+			robot.charge(new EnergyAmount(0.01, EnergyUnit.KJOULE));
+		assertEquals(10090 * MicroJoules.PER_JOULE, robot.getEnergyInMicroJoules());
+		for(int i = 0; i < 100; i++)
+			robot.turnClockwise();
+		assertEquals(new EnergyAmount(90, EnergyUnit.WATTSECOND), robot.getEnergy());
+	}
+		
 	@Test
 	public void getOrientation_negativeOrientation(){
 		Robot bot = new Robot(Orientation.getOrientation(-5),new EnergyAmount(10000, EnergyUnit.WATTSECOND));
@@ -108,6 +119,23 @@ public class RobotTest {
 		assertEquals(batteryE2500W2500.getEnergy(),EnergyAmount.WATTS_0);
 	}
 	
+	@Test
+	public void useRepairKit_partlyUsedThenEmpty(){
+		Robot robot = new Robot(Orientation.UP,new EnergyAmount(5000, EnergyUnit.WATTSECOND));
+		robot.hit();
+		RepairKit kit = new RepairKit(new EnergyAmount(10000, EnergyUnit.WATTSECOND), 100);
+		boardH500W500.putEntity(Position.returnUniquePosition(2,2), robot);
+		boardH500W500.putEntity(Position.returnUniquePosition(2,2), kit);
+		robot.pickUp(kit);
+		robot.use(kit);
+		assertEquals(robot.getCapacity(),new EnergyAmount(20000, EnergyUnit.WATTSECOND));
+		assertEquals(kit.getEnergy(),new EnergyAmount(2000, EnergyUnit.WATTSECOND));
+		robot.hit();
+		robot.use(kit);
+		assertEquals(robot.getCapacity(),new EnergyAmount(17000, EnergyUnit.WATTSECOND));
+		assertTrue(kit.isTerminated());
+	}
+	
 	@Test
 	public void useBattery_CorrectCaseMoreEnergyInBatteryThanNeeded(){
 		Robot robot = new Robot(Orientation.UP,new EnergyAmount(18000, EnergyUnit.WATTSECOND));
@@ -355,6 +383,40 @@ public class RobotTest {
 		}
 	}
 	
+	@Test
+	public void getEnergyRequiredToReach_repeatedUntilBoardChanges(){
+		boardH500W500.putEntity(Position.returnUniquePosition(2,2), robotOrientationUPEnergy10000);
+		assertEquals(new EnergyAmount(500, EnergyUnit.WATTSECOND),robotOrientationUPEnergy10000.getEnergyRequiredToReach(Position.returnUniquePosition(2, 1)));
+		assertEquals(new EnergyAmount(1000, EnergyUnit.WATTSECOND),robotOrientationUPEnergy10000.getEnergyRequiredToReach(Position.returnUniquePosition(2, 0)));
+		assertEquals(new EnergyAmount(500, EnergyUnit.WATTSECOND),robotOrientationUPEnergy10000.getEnergyRequiredToReach(Position.returnUniquePosition(2, 1)));
+		boardH500W500.putEntity(Position.returnUniquePosition(2,1), new Wall());
+		assertEquals(new EnergyAmount(2300, EnergyUnit.WATTSECOND),robotOrientationUPEnergy10000.getEnergyRequiredToReach(Position.returnUniquePosition(2, 0)));
+		assertEquals(new EnergyAmount(2300, EnergyUnit.WATTSECOND),robotOrientationUPEnergy10000.getEnergyRequiredToReach(Position.returnUniquePosition(2, 0)));
+	}
+	
+	@Test (expected = IllegalStateException.class)
+	public void getEnergyRequiredToReach_farAwayOnHugeBoard(){
+		Board board = new Board(Long.MAX_VALUE, Long.MAX_VALUE);
+		board.putEntity(Position.returnUniquePosition(Long.MAX_VALUE / 2, Long.MAX_VALUE / 2), robotOrientationUPEnergy10000);
+		robotOrientationUPEnergy10000.getEnergyRequiredToReach(Position.returnUniquePosition(0, Long.MAX_VALUE));
+	}
+	
+	@Test
+	public void getEnergyRequiredToReach_farAwayRejectedWithoutSearch(){
+		Board board = new Board(Long.MAX_VALUE, Long.MAX_VALUE);
+		board.putEntity(Position.returnUniquePosition(Long.MAX_VALUE / 2, Long.MAX_VALUE / 2), robotOrientationUPEnergy10000);
+		try{
+			robotOrientationUPEnergy10000.getEnergyRequiredToReach(Position.returnUniquePosition(0, Long.MAX_VALUE));
+			fail("A position out of reach must be rejected.");
+		}
+		catch (IllegalStateException exc){
+			assertEquals(Double.parseDouble(exc.getMessage()), -1, 0);
+		}
+		assertFalse(robotOrientationUPEnergy10000.hasCostMap());
+		assertEquals(new EnergyAmount(10000, EnergyUnit.WATTSECOND),robotOrientationUPEnergy10000.getEnergyRequiredToReach(Position.returnUniquePosition(Long.MAX_VALUE / 2, Long.MAX_VALUE / 2 - 20)));
+		assertTrue(robotOrientationUPEnergy10000.hasCostMap());
+	}
+	
 	@Test
 	public void moveNextTo_SufficientEnergy(){
 		Board board = new Board(200,200);
@@ -544,6 +606,26 @@ public class RobotTest {
 		assertTrue(robotOrientationUPEnergy6000.getEnergy().add(Robot.getEnergyToShoot().rescale(3)).hasSameValueAs(oldEnergy));
 	}
 	
+	@Test
+	public void getAllSquaresInDirection_lazyRay() {
+		Board board = new Board(Long.MAX_VALUE, 500);
+		board.putEntity(Position.returnUniquePosition(4, 3), robotOrientationLEFTEnergy10000);
+		Ray ray = robotOrientationLEFTEnergy10000.getAllSquaresInDirection();
+		assertEquals(4, ray.getLength());
+		long distance = 0;
+		for(Position position : ray) {
+			distance++;
+			assertEquals(robotOrientationLEFTEnergy10000.getSquareInDirection((int) distance, Orientation.LEFT), position);
+		}
+		assertEquals(4, distance);
+		robotOrientationLEFTEnergy10000.turnClockwise();
+		robotOrientationLEFTEnergy10000.turnClockwise();
+		ray = robotOrientationLEFTEnergy10000.getAllSquaresInDirection();
+		assertEquals(Long.MAX_VALUE - 4, ray.getLength());
+		assertEquals(Long.MAX_VALUE, ray.getX(ray.getLength()));
+		assertEquals(3, ray.getY(ray.getLength()));
+	}
+	
 	@After
 	public void tearDown() throws Exception {
 		System.err.close();
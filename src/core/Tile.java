@@ -0,0 +1,480 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Immutable;
+
+/**
+ * A class of square tiles of getSize() by getSize() squares, in which a board stores its entities.
+ * A board only creates a tile once an entity is put in the region the tile covers.
+ * Each square of a tile holds either nothing, a single entity, or an array of entities.
+ * A tile with few occupied squares only keeps those squares, in two small arrays sorted on the index of the square, so a
+ * tile holding a single wall takes about as much memory as that wall. Once more than getDenseThreshold() squares are occupied,
+ * the tile switches to one slot for each of its squares, together with a bitmap of the squares holding a wall and of the squares
+ * holding a robot, with one long per row of squares, so that most obstacle checks on a crowded region come down to testing
+ * a single bit. A tile switches back once fewer than half that number of squares are occupied.
+ *
+ * @invar	The number of entities of a tile equals the number of entities on its squares.
+ * 			|getNbEntities() == sum of getNbEntitiesOnSquare(index) for each index in 0..getSize()*getSize()-1
+ * @invar	A square is marked as holding a wall if and only if it holds a wall.
+ * 			|for each index in 0..getSize()*getSize()-1 :
+ * 			|	containsWall(index) == (for some rank in 0..getNbEntitiesOnSquare(index)-1 : getEntity(index, rank) instanceof Wall)
+ * @invar	A square is marked as holding a robot if and only if it holds a robot.
+ * 			|for each index in 0..getSize()*getSize()-1 :
+ * 			|	containsRobot(index) == (for some rank in 0..getNbEntitiesOnSquare(index)-1 : getEntity(index, rank) instanceof Robot)
+ *
+ * @author 	Brecht Gossel & William Mauclet
+ * 			2Bir: wtk-cws (Gossel) en cws-elt(Mauclet)
+ * @version	3.0
+ */
+class Tile {
+
+	static final int SHIFT = 6;
+	private static final int SIZE = 1 << SHIFT;
+	private static final int MASK = SIZE - 1;
+	private static final int DENSE_THRESHOLD = 128;
+
+	private final long tileX;
+	private final long tileY;
+	//While the tile is sparse, only the occupied squares are kept, sorted on their index; the dense arrays are null.
+	private short[] occupiedIndexes = new short[2];
+	private Object[] occupiedContents = new Object[2];
+	private int nbOccupied = 0;
+	private Object[] squares = null;
+	private long[] walls = null;
+	private long[] robots = null;
+	private int nbEntities = 0;
+
+	/**
+	 * Initialize this new tile as the empty tile with the given tile coordinates.
+	 *
+	 * @param 	tileX
+	 * 			...
+	 * @param 	tileY
+	 * 			...
+	 * @post	...
+	 * 			|new.getTileX() == tileX && new.getTileY() == tileY
+	 * @post	...
+	 * 			|new.getNbEntities() == 0
+	 */
+	Tile(long tileX, long tileY) {
+		this.tileX = tileX;
+		this.tileY = tileY;
+	}
+
+	/**
+	 * Return the number of squares on each side of a tile.
+	 */
+	@Basic @Immutable
+	static int getSize() {
+		return SIZE;
+	}
+
+	/**
+	 * Return the number of occupied squares above which a tile keeps a slot for each of its squares.
+	 */
+	@Basic @Immutable
+	static int getDenseThreshold() {
+		return DENSE_THRESHOLD;
+	}
+
+	/**
+	 * Return the tile coordinate covering the given (non-negative) board coordinate.
+	 *
+	 * @return	...
+	 * 			|result == coordinate / getSize()
+	 */
+	static long toTileCoordinate(long coordinate) {
+		return coordinate >>> SHIFT;
+	}
+
+	/**
+	 * Return the index within its tile of the square with the given coordinates.
+	 *
+	 * @return	...
+	 * 			|result == (y % getSize()) * getSize() + (x % getSize())
+	 */
+	static int toIndex(long x, long y) {
+		return (int) (((y & MASK) << SHIFT) | (x & MASK));
+	}
+
+	/**
+	 * ...
+	 */
+	@Basic @Immutable
+	long getTileX() {
+		return tileX;
+	}
+
+	/**
+	 * ...
+	 */
+	@Basic @Immutable
+	long getTileY() {
+		return tileY;
+	}
+
+	/**
+	 * Return the x-coordinate on the board of the square with the given index.
+	 */
+	long getX(int index) {
+		return (tileX << SHIFT) | (index & MASK);
+	}
+
+	/**
+	 * Return the y-coordinate on the board of the square with the given index.
+	 */
+	long getY(int index) {
+		return (tileY << SHIFT) | (index >>> SHIFT);
+	}
+
+	/**
+	 * ...
+	 */
+	@Basic
+	int getNbEntities() {
+		return nbEntities;
+	}
+
+	/**
+	 * ...
+	 *
+	 * @return	...
+	 * 			|result == (getNbEntities() == 0)
+	 */
+	boolean isEmpty() {
+		return nbEntities == 0;
+	}
+
+	/**
+	 * Check whether this tile keeps a slot for each of its squares.
+	 */
+	boolean isDense() {
+		return squares != null;
+	}
+
+	/**
+	 * ...
+	 *
+	 * @return	...
+	 * 			|result == (getNbEntitiesOnSquare(index) > 0)
+	 */
+	boolean isOccupied(int index) {
+		return getContent(index) != null;
+	}
+
+	/**
+	 * Check whether the square with the given index holds a wall.
+	 */
+	boolean containsWall(int index) {
+		if(isDense())
+			return isMarked(walls, index);
+		return containsEntityOfKind(index, Wall.class);
+	}
+
+	/**
+	 * Check whether the square with the given index holds a robot.
+	 */
+	boolean containsRobot(int index) {
+		if(isDense())
+			return isMarked(robots, index);
+		return containsEntityOfKind(index, Robot.class);
+	}
+
+	/**
+	 * Return a new bitmap, one long for each row, marking the squares of this tile that hold a wall or a robot.
+	 */
+	long[] getWallsAndRobots() {
+		long[] bitmap = new long[SIZE];
+		if(isDense())
+			for(int row = 0; row < SIZE; row++)
+				bitmap[row] = walls[row] | robots[row];
+		else
+			for(int i = 0; i < nbOccupied; i++)
+				if(containsWall(occupiedIndexes[i]) || containsRobot(occupiedIndexes[i]))
+					mark(bitmap, occupiedIndexes[i], true);
+		return bitmap;
+	}
+
+	/**
+	 * Check whether the square with the given index is marked in the given bitmap.
+	 */
+	static boolean isMarked(long[] bitmap, int index) {
+		return (bitmap[index >>> SHIFT] & (1L << (index & MASK))) != 0;
+	}
+
+	/**
+	 * Mark or unmark the square with the given index in the given bitmap.
+	 */
+	private static void mark(long[] bitmap, int index, boolean marked) {
+		if(marked)
+			bitmap[index >>> SHIFT] |= 1L << (index & MASK);
+		else
+			bitmap[index >>> SHIFT] &= ~(1L << (index & MASK));
+	}
+
+	/**
+	 * Return the position of the square with the given index among the occupied squares of this sparse tile, or
+	 * -(insertion point) - 1 if that square is not occupied.
+	 */
+	private int findOccupied(int index) {
+		return Arrays.binarySearch(occupiedIndexes, 0, nbOccupied, (short) index);
+	}
+
+	/**
+	 * Return the content of the square with the given index: null, an entity or an array of entities.
+	 */
+	private Object getContent(int index) {
+		if(isDense())
+			return squares[index];
+		int position = findOccupied(index);
+		return (position < 0) ? null : occupiedContents[position];
+	}
+
+	/**
+	 * Set the content of the square with the given index to the given content, switching this tile to one slot per square
+	 * when too many squares get occupied, and back when few enough remain.
+	 */
+	private void setContent(int index, Object content) {
+		if(isDense()) {
+			if(squares[index] == null && content != null)
+				nbOccupied++;
+			else if(squares[index] != null && content == null)
+				nbOccupied--;
+			squares[index] = content;
+			if(nbOccupied < DENSE_THRESHOLD / 2)
+				makeSparse();
+			return;
+		}
+		int position = findOccupied(index);
+		if(position >= 0) {
+			if(content != null)
+				occupiedContents[position] = content;
+			else {
+				System.arraycopy(occupiedIndexes, position + 1, occupiedIndexes, position, nbOccupied - position - 1);
+				System.arraycopy(occupiedContents, position + 1, occupiedContents, position, nbOccupied - position - 1);
+				occupiedContents[--nbOccupied] = null;
+			}
+		}
+		else if(content != null) {
+			if(nbOccupied == DENSE_THRESHOLD) {
+				makeDense();
+				setContent(index, content);
+				return;
+			}
+			position = -position - 1;
+			if(nbOccupied == occupiedIndexes.length) {
+				occupiedIndexes = Arrays.copyOf(occupiedIndexes, 2 * nbOccupied);
+				occupiedContents = Arrays.copyOf(occupiedContents, 2 * nbOccupied);
+			}
+			System.arraycopy(occupiedIndexes, position, occupiedIndexes, position + 1, nbOccupied - position);
+			System.arraycopy(occupiedContents, position, occupiedContents, position + 1, nbOccupied - position);
+			occupiedIndexes[position] = (short) index;
+			occupiedContents[position] = content;
+			nbOccupied++;
+		}
+	}
+
+	/**
+	 * Move the occupied squares of this sparse tile into one slot per square, and mark its walls and robots.
+	 */
+	private void makeDense() {
+		squares = new Object[SIZE * SIZE];
+		walls = new long[SIZE];
+		robots = new long[SIZE];
+		for(int i = 0; i < nbOccupied; i++) {
+			int index = occupiedIndexes[i];
+			squares[index] = occupiedContents[i];
+			mark(walls, index, containsEntityOfKind(index, Wall.class));
+			mark(robots, index, containsEntityOfKind(index, Robot.class));
+		}
+		occupiedIndexes = null;
+		occupiedContents = null;
+	}
+
+	/**
+	 * Move the occupied squares of this dense tile into the sorted arrays of a sparse tile.
+	 */
+	private void makeSparse() {
+		int length = Math.max(2, Integer.highestOneBit(Math.max(1, nbOccupied)) << 1);
+		occupiedIndexes = new short[length];
+		occupiedContents = new Object[length];
+		int i = 0;
+		for(int index = 0; index < squares.length; index++)
+			if(squares[index] != null) {
+				occupiedIndexes[i] = (short) index;
+				occupiedContents[i++] = squares[index];
+			}
+		squares = null;
+		walls = null;
+		robots = null;
+	}
+
+	/**
+	 * Return the number of entities on the square with the given index.
+	 */
+	int getNbEntitiesOnSquare(int index) {
+		Object content = getContent(index);
+		if(content == null)
+			return 0;
+		if(content instanceof Entity)
+			return 1;
+		return ((Entity[]) content).length;
+	}
+
+	/**
+	 * Return the entity with the given rank on the square with the given index.
+	 *
+	 * @pre		...
+	 * 			|rank >= 0 && rank < getNbEntitiesOnSquare(index)
+	 */
+	Entity getEntity(int index, int rank) {
+		Object content = getContent(index);
+		if(content instanceof Entity) {
+			assert rank == 0;
+			return (Entity) content;
+		}
+		return ((Entity[]) content)[rank];
+	}
+
+	/**
+	 * Return a new list containing the entities on the square with the given index, or null if there are none.
+	 *
+	 * @return	...
+	 * 			|if(!isOccupied(index)) then result == null
+	 * 			|else for each rank in 0..getNbEntitiesOnSquare(index)-1 :
+	 * 			|		result.get(rank) == getEntity(index, rank)
+	 */
+	ArrayList<Entity> getEntities(int index) {
+		int nb = getNbEntitiesOnSquare(index);
+		if(nb == 0)
+			return null;
+		ArrayList<Entity> entities = new ArrayList<Entity>(nb);
+		for(int rank = 0; rank < nb; rank++)
+			entities.add(getEntity(index, rank));
+		return entities;
+	}
+
+	/**
+	 * Add the given entity to the square with the given index.
+	 *
+	 * @pre		...
+	 * 			|entity != null
+	 * @post	...
+	 * 			|new.getEntity(index, getNbEntitiesOnSquare(index)) == entity
+	 * @post	...
+	 * 			|new.getNbEntities() == getNbEntities() + 1
+	 */
+	void addEntity(int index, Entity entity) {
+		assert entity != null;
+		Object content = getContent(index);
+		if(content == null)
+			setContent(index, entity);
+		else if(content instanceof Entity)
+			setContent(index, new Entity[] {(Entity) content, entity});
+		else {
+			Entity[] old = (Entity[]) content;
+			Entity[] entities = new Entity[old.length + 1];
+			System.arraycopy(old, 0, entities, 0, old.length);
+			entities[old.length] = entity;
+			setContent(index, entities);
+		}
+		if(isDense() && entity instanceof Wall)
+			mark(walls, index, true);
+		if(isDense() && entity instanceof Robot)
+			mark(robots, index, true);
+		nbEntities++;
+	}
+
+	/**
+	 * Remove the given entity from the square with the given index.
+	 *
+	 * @return	...
+	 * 			|result == (for some rank in 0..getNbEntitiesOnSquare(index)-1 : getEntity(index, rank) == entity)
+	 * @post	...
+	 * 			|if(result) then new.getNbEntities() == getNbEntities() - 1
+	 */
+	boolean removeEntity(int index, Entity entity) {
+		Object content = getContent(index);
+		if(content == null)
+			return false;
+		if(content instanceof Entity) {
+			if(content != entity)
+				return false;
+			setContent(index, null);
+		}
+		else {
+			Entity[] old = (Entity[]) content;
+			int rank = 0;
+			while(rank < old.length && old[rank] != entity)
+				rank++;
+			if(rank == old.length)
+				return false;
+			if(old.length == 2)
+				setContent(index, old[1 - rank]);
+			else {
+				Entity[] entities = new Entity[old.length - 1];
+				System.arraycopy(old, 0, entities, 0, rank);
+				System.arraycopy(old, rank + 1, entities, rank, old.length - rank - 1);
+				setContent(index, entities);
+			}
+		}
+		if(isDense() && entity instanceof Wall)
+			mark(walls, index, containsEntityOfKind(index, Wall.class));
+		if(isDense() && entity instanceof Robot)
+			mark(robots, index, containsEntityOfKind(index, Robot.class));
+		nbEntities--;
+		return true;
+	}
+
+	/**
+	 * Check whether the square with the given index holds an entity of the given class.
+	 */
+	private boolean containsEntityOfKind(int index, Class<? extends Entity> clazz) {
+		int nb = getNbEntitiesOnSquare(index);
+		for(int rank = 0; rank < nb; rank++)
+			if(clazz.isInstance(getEntity(index, rank)))
+				return true;
+		return false;
+	}
+
+	/**
+	 * Return the index of the first occupied square with an index not below the given index, or -1 if there is none.
+	 */
+	int nextOccupiedIndex(int index) {
+		if(!isDense()) {
+			if(index >= SIZE * SIZE)
+				return -1;
+			int position = findOccupied(index);
+			if(position < 0)
+				position = -position - 1;
+			return (position < nbOccupied) ? occupiedIndexes[position] : -1;
+		}
+		while(index < squares.length) {
+			if(squares[index] != null)
+				return index;
+			index++;
+		}
+		return -1;
+	}
+
+	/**
+	 * Add all entities on this tile to the given collection.
+	 *
+	 * @post	...
+	 * 			|for each index in 0..getSize()*getSize()-1 :
+	 * 			|	for each rank in 0..getNbEntitiesOnSquare(index)-1 :
+	 * 			|		new.result.contains(getEntity(index, rank))
+	 */
+	void collectEntities(Collection<Entity> result) {
+		for(int index = nextOccupiedIndex(0); index != -1; index = nextOccupiedIndex(index + 1)) {
+			int nb = getNbEntitiesOnSquare(index);
+			for(int rank = 0; rank < nb; rank++)
+				result.add(getEntity(index, rank));
+		}
+	}
+
+}
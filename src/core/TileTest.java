@@ -0,0 +1,92 @@
+package core;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import Auxiliary.EnergyAmount;
+import Auxiliary.EnergyUnit;
+import Auxiliary.Orientation;
+import Items.Battery;
+
+public class TileTest {
+
+	private Tile tile;
+
+	@Before
+	public void setUp() throws Exception {
+		tile = new Tile(3, 4);
+	}
+
+	@Test
+	public void addEntity_fewSquaresStaySparse() {
+		Wall wall = new Wall();
+		tile.addEntity(Tile.toIndex(5, 7), wall);
+		assertFalse(tile.isDense());
+		assertTrue(tile.containsWall(Tile.toIndex(5, 7)));
+		assertFalse(tile.containsRobot(Tile.toIndex(5, 7)));
+		assertFalse(tile.isOccupied(Tile.toIndex(7, 5)));
+		assertEquals(Tile.toIndex(5, 7), tile.nextOccupiedIndex(0));
+		assertEquals(-1, tile.nextOccupiedIndex(Tile.toIndex(5, 7) + 1));
+		assertTrue(Tile.isMarked(tile.getWallsAndRobots(), Tile.toIndex(5, 7)));
+	}
+
+	@Test
+	public void addAndRemoveEntity_sameInSparseAndDenseTiles() {
+		Random random = new Random(9);
+		int nbSquares = Tile.getSize() * Tile.getSize();
+		ArrayList<ArrayList<Entity>> expected = new ArrayList<ArrayList<Entity>>();
+		for(int index = 0; index < nbSquares; index++)
+			expected.add(new ArrayList<Entity>());
+		boolean wasDense = false;
+		for(int step = 0; step < 3000; step++) {
+			// First fill a quarter of the squares, then remove part of the entities again.
+			int index = random.nextInt(nbSquares / 4);
+			if(step < 1500) {
+				Entity entity;
+				int kind = random.nextInt(3);
+				if(kind == 0)
+					entity = new Wall();
+				else if(kind == 1)
+					entity = new Robot(Orientation.UP, new EnergyAmount(100, EnergyUnit.WATTSECOND));
+				else
+					entity = new Battery(new EnergyAmount(100, EnergyUnit.WATTSECOND), 10);
+				tile.addEntity(index, entity);
+				expected.get(index).add(entity);
+			}
+			else if(!expected.get(index).isEmpty())
+				assertTrue(tile.removeEntity(index, expected.get(index).remove(random.nextInt(expected.get(index).size()))));
+			wasDense |= tile.isDense();
+		}
+		assertTrue(wasDense);
+		long[] bitmap = tile.getWallsAndRobots();
+		int nbEntities = 0;
+		for(int index = 0; index < nbSquares; index++) {
+			ArrayList<Entity> entities = expected.get(index);
+			nbEntities += entities.size();
+			assertEquals(entities.size(), tile.getNbEntitiesOnSquare(index));
+			boolean wall = false;
+			boolean robot = false;
+			for(int rank = 0; rank < entities.size(); rank++) {
+				assertTrue(entities.get(rank) == tile.getEntity(index, rank));
+				wall |= entities.get(rank) instanceof Wall;
+				robot |= entities.get(rank) instanceof Robot;
+			}
+			assertEquals(wall, tile.containsWall(index));
+			assertEquals(robot, tile.containsRobot(index));
+			assertEquals(wall || robot, Tile.isMarked(bitmap, index));
+		}
+		assertEquals(nbEntities, tile.getNbEntities());
+		for(int index = 0; index < nbSquares; index++)
+			for(Entity entity : expected.get(index))
+				assertTrue(tile.removeEntity(index, entity));
+		assertTrue(tile.isEmpty());
+		assertFalse(tile.isDense());
+		assertEquals(-1, tile.nextOccupiedIndex(0));
+	}
+
+}